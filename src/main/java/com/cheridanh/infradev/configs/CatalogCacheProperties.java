@@ -0,0 +1,24 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration du cache du catalogue pédagogique.
+ *
+ * @param maximumWeight nombre maximal de DTO retenus, toutes entrées confondues
+ * @param ttl durée de vie (ms) d'une entrée
+ */
+@Validated
+@ConfigurationProperties(prefix = "catalog.cache")
+public record CatalogCacheProperties(
+
+        @Positive(message = "Le poids maximal du cache du catalogue doit être positif")
+        long maximumWeight,
+
+        @Positive(message = "La durée de vie du cache du catalogue doit être positive")
+        long ttl
+
+) {
+}
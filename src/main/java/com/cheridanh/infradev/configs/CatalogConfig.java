@@ -0,0 +1,15 @@
+package com.cheridanh.infradev.configs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Paramètres des caches du catalogue (DTO et arbre) et des contenus des cours, exercices et quiz.
+ */
+@Configuration
+@EnableConfigurationProperties({
+        CatalogCacheProperties.class,
+        ContentCacheProperties.class
+})
+public class CatalogConfig {
+}
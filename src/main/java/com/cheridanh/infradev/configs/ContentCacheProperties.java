@@ -0,0 +1,28 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration du cache des contenus décompressés (cours, exercices, quiz).
+ *
+ * @param maximumWeight nombre maximal d'octets décompressés retenus, toutes entrées confondues
+ * @param maxEntrySize taille maximale (octets) d'un contenu mis en cache ; au-delà, il est décompressé en flux
+ * @param ttl durée (ms) de conservation d'une entrée depuis son dernier accès
+ */
+@Validated
+@ConfigurationProperties(prefix = "content.cache")
+public record ContentCacheProperties(
+
+        @Positive(message = "Le poids maximal du cache des contenus doit être positif")
+        long maximumWeight,
+
+        @Positive(message = "La taille maximale d'un contenu en cache doit être positive")
+        int maxEntrySize,
+
+        @Positive(message = "La durée de vie du cache des contenus doit être positive")
+        long ttl
+
+) {
+}
@@ -0,0 +1,33 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "security.login-throttle")
+public record LoginThrottleProperties(
+
+        @Positive(message = "La capacité par email doit être positive")
+        int emailCapacity,
+
+        @Positive(message = "Le nombre de tentatives rechargées par minute et par email doit être positif")
+        double emailRefillPerMinute,
+
+        @Positive(message = "La capacité par adresse IP doit être positive")
+        int ipCapacity,
+
+        @Positive(message = "Le nombre de tentatives rechargées par minute et par adresse IP doit être positif")
+        double ipRefillPerMinute,
+
+        @Positive(message = "Le seuil de verrouillage doit être positif")
+        int lockoutThreshold,
+
+        @Positive(message = "La fenêtre de comptage des échecs doit être positive")
+        long failureWindow,
+
+        @Positive(message = "La durée de verrouillage doit être positive")
+        long lockoutDuration
+
+) {
+}
@@ -0,0 +1,45 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "security.password-hashing")
+public record PasswordHashingProperties(
+
+        @PositiveOrZero(message = "Le nombre de threads de hachage ne peut pas être négatif")
+        int threads,
+
+        @Positive(message = "La capacité de la file de hachage doit être positive")
+        int queueCapacity,
+
+        @Positive(message = "Le délai Retry-After doit être positif")
+        long retryAfter,
+
+        @Positive(message = "La durée cible du hachage doit être positive")
+        long targetHashTime,
+
+        @Min(value = 10, message = "Le coût BCrypt minimal ne peut pas être inférieur à 10")
+        int minStrength,
+
+        @Max(value = 31, message = "Le coût BCrypt maximal ne peut pas dépasser 31")
+        int maxStrength,
+
+        @PositiveOrZero(message = "La tolérance de coût BCrypt ne peut pas être négative")
+        int strengthTolerance
+
+) {
+
+    /**
+     * @return true si le coût minimal ne dépasse pas le coût maximal
+     */
+    @AssertTrue(message = "Le coût BCrypt minimal ne peut pas dépasser le coût maximal")
+    public boolean isStrengthRangeValid() {
+        return minStrength <= maxStrength;
+    }
+}
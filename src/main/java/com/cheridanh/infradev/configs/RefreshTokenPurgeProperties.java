@@ -0,0 +1,22 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "jwt.refresh-purge")
+public record RefreshTokenPurgeProperties(
+
+        @Positive(message = "La taille des lots de purge doit être positive")
+        int chunkSize,
+
+        @PositiveOrZero(message = "La pause entre deux lots de purge ne peut pas être négative")
+        long pause,
+
+        @Positive(message = "Le budget de temps de la purge doit être positif")
+        long timeBudget
+
+) {
+}
@@ -0,0 +1,17 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "security.stateless")
+public record StatelessAuthProperties(
+
+        boolean enabled,
+
+        @Positive(message = "La fenêtre de vérification de révocation doit être positive")
+        long revocationCheckWindow
+
+) {
+}
@@ -0,0 +1,18 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "security.user-cache")
+public record UserCacheProperties(
+
+        @Positive(message = "La taille maximale du cache utilisateur doit être positive")
+        long maximumSize,
+
+        @Positive(message = "La durée de vie du cache utilisateur doit être positive")
+        long ttl
+
+) {
+}
@@ -0,0 +1,12 @@
+package com.cheridanh.infradev.configs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Paramètres de l'import d'utilisateurs en masse : taille maximale d'un fichier et file des imports en arrière-plan.
+ */
+@Configuration
+@EnableConfigurationProperties(UserImportProperties.class)
+public class UserImportConfig {
+}
@@ -0,0 +1,21 @@
+package com.cheridanh.infradev.configs;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "users.import")
+public record UserImportProperties(
+
+        @Positive(message = "La taille maximale d'un fichier d'import doit être positive")
+        long maxFileSize,
+
+        @Positive(message = "La capacité de la file des imports doit être positive")
+        int queueCapacity,
+
+        @Positive(message = "Le délai Retry-After doit être positif")
+        long retryAfter
+
+) {
+}
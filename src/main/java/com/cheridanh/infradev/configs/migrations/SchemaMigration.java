@@ -0,0 +1,85 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import com.cheridanh.infradev.entities.IdGenerators;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+/**
+ * Migration de schéma exécutée par Flyway avant le démarrage de JPA, donc avant que l'application
+ * ne serve des requêtes. Flyway verrouille la table d'historique : une seule instance migre, les autres
+ * attendent puis trouvent la migration appliquée.
+ * <p>
+ * Le schéma reste créé et complété par Hibernate ({@code ddl-auto}) après les migrations : sur une base neuve,
+ * les tables n'existent pas encore et les migrations ne font rien. Elles ne portent que sur les données et
+ * les colonnes existantes qu'Hibernate ne sait pas faire évoluer. Les requêtes visent MySQL : sur H2, les
+ * tests ne trouvent aucune table et les migrations ne font rien. Elles sont vérifiées sur MySQL par
+ * {@code SchemaMigrationsTest}.
+ */
+abstract class SchemaMigration extends BaseJavaMigration {
+
+    private static final String TABLE_EXISTS_SQL = """
+            SELECT COUNT(*) FROM information_schema.tables
+            WHERE table_schema = DATABASE() AND table_name = ?
+            """;
+
+    private static final String COLUMN_TYPE_SQL = """
+            SELECT column_type FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?
+            """;
+
+    private static final String INDEX_EXISTS_SQL = """
+            SELECT COUNT(*) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?
+            """;
+
+    private static final String CREATE_ID_GENERATORS_SQL = "CREATE TABLE " + IdGenerators.TABLE
+            + " (" + IdGenerators.PK_COLUMN + " VARCHAR(255) NOT NULL PRIMARY KEY, "
+            + IdGenerators.VALUE_COLUMN + " BIGINT)";
+
+    @Override
+    public void migrate(Context context) {
+        migrate(new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true)));
+    }
+
+    /**
+     * Applique la migration sur la connexion fournie par Flyway.
+     *
+     * @param jdbcTemplate l'accès à la base, dans la transaction de la migration
+     */
+    protected abstract void migrate(JdbcTemplate jdbcTemplate);
+
+    protected static boolean tableExists(JdbcTemplate jdbcTemplate, String table) {
+        Integer tables = jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Integer.class, table);
+        return tables != null && tables > 0;
+    }
+
+    /**
+     * Crée la table {@value IdGenerators#TABLE} si elle n'existe pas encore, avec la structure attendue par Hibernate.
+     */
+    protected static void createIdGeneratorsTableIfMissing(JdbcTemplate jdbcTemplate) {
+        if (!tableExists(jdbcTemplate, IdGenerators.TABLE)) {
+            jdbcTemplate.execute(CREATE_ID_GENERATORS_SQL);
+        }
+    }
+
+    protected static boolean indexExists(JdbcTemplate jdbcTemplate, String table, String index) {
+        Integer columns = jdbcTemplate.queryForObject(INDEX_EXISTS_SQL, Integer.class, table, index);
+        return columns != null && columns > 0;
+    }
+
+    protected static boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        return columnType(jdbcTemplate, table, column) != null;
+    }
+
+    /**
+     * @return le type MySQL complet de la colonne ({@code varchar(255)}…), ou {@code null} si elle n'existe pas
+     */
+    protected static String columnType(JdbcTemplate jdbcTemplate, String table, String column) {
+        List<String> types = jdbcTemplate.queryForList(COLUMN_TYPE_SQL, String.class, table, column);
+        return types.isEmpty() ? null : types.getFirst();
+    }
+}
@@ -0,0 +1,45 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remplace les refresh tokens stockés en clair (colonne {@code token}) par leur empreinte SHA-256
+ * (colonne {@code token_hash}), rendue obligatoire. Les tokens déjà émis restent valides : le client présente
+ * la même valeur, dont l'empreinte est comparée.
+ * <p>
+ * L'ancienne colonne est vidée et rendue facultative plutôt que supprimée, pour que les insertions qui
+ * ne la renseignent plus réussissent ; elle sera supprimée par une version ultérieure.
+ * Sans effet si la table ou la colonne {@code token} n'existe pas.
+ */
+@Slf4j
+@Component
+public class V1__HashRefreshTokens extends SchemaMigration {
+
+    private static final String TABLE = "refresh_tokens";
+
+    @Override
+    protected void migrate(JdbcTemplate jdbcTemplate) {
+        String legacyType = columnType(jdbcTemplate, TABLE, "token");
+        if (legacyType == null) {
+            log.debug("Aucune migration des refresh tokens nécessaire");
+            return;
+        }
+
+        log.info("Migration des refresh tokens vers leur empreinte SHA-256");
+
+        if (!columnExists(jdbcTemplate, TABLE, "token_hash")) {
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD COLUMN token_hash BINARY(32) NULL");
+        }
+
+        int migrated = jdbcTemplate.update(
+                "UPDATE refresh_tokens SET token_hash = UNHEX(SHA2(token, 256)) WHERE token_hash IS NULL AND token IS NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens MODIFY token " + legacyType + " NULL");
+        jdbcTemplate.update("UPDATE refresh_tokens SET token = NULL WHERE token IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE token_hash IS NULL");
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens MODIFY token_hash BINARY(32) NOT NULL");
+
+        log.info("{} refresh token(s) migré(s), colonne token vidée", migrated);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import com.cheridanh.infradev.entities.IdGenerators;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Aligne la table {@value IdGenerators#TABLE} sur les identifiants existants, attribués jusqu'ici
+ * par {@code AUTO_INCREMENT}.
+ * <p>
+ * Exécutée avant le démarrage de JPA, elle garantit qu'aucun identifiant n'est réservé avant l'alignement.
+ * Avec l'optimiseur {@code pooled}, la valeur stockée est la borne haute du prochain bloc : elle est portée
+ * à au moins {@code MAX(id) + allocationSize} pour que le premier bloc commence après le plus grand
+ * identifiant existant. La mise à jour ne fait qu'augmenter la valeur.
+ * Sans effet sur une base neuve, dont les tables n'existent pas encore.
+ */
+@Slf4j
+@Component
+public class V2__SeedIdGenerators extends SchemaMigration {
+
+    private static final List<String> TABLES = List.of(
+            "users", "promotions", "blocks", "modules", "courses", "exercises", "quizzes", "refresh_tokens",
+            "content_bodies"
+    );
+
+    private static final String SELECT_NEXT_VAL_SQL = "SELECT " + IdGenerators.VALUE_COLUMN
+            + " FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.PK_COLUMN + " = ?";
+
+    private static final String INSERT_NEXT_VAL_SQL = "INSERT INTO " + IdGenerators.TABLE
+            + " (" + IdGenerators.PK_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private static final String RAISE_NEXT_VAL_SQL = "UPDATE " + IdGenerators.TABLE
+            + " SET " + IdGenerators.VALUE_COLUMN + " = ?"
+            + " WHERE " + IdGenerators.PK_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?";
+
+    @Override
+    protected void migrate(JdbcTemplate jdbcTemplate) {
+        List<String> tables = TABLES.stream()
+                .filter(table -> tableExists(jdbcTemplate, table))
+                .toList();
+        if (tables.isEmpty()) {
+            log.debug("Aucun générateur d'identifiants à initialiser");
+            return;
+        }
+
+        createIdGeneratorsTableIfMissing(jdbcTemplate);
+
+        for (String table : tables) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long floor = (maxId != null ? maxId : 0L) + IdGenerators.ALLOCATION_SIZE;
+
+            if (jdbcTemplate.queryForList(SELECT_NEXT_VAL_SQL, Long.class, table).isEmpty()) {
+                jdbcTemplate.update(INSERT_NEXT_VAL_SQL, table, floor);
+                log.info("Générateur d'identifiants initialisé pour {} à {}", table, floor);
+            } else if (jdbcTemplate.update(RAISE_NEXT_VAL_SQL, floor, table, floor) > 0) {
+                log.info("Générateur d'identifiants de {} avancé à {}", table, floor);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remplace les index à une colonne des filtres de pagination par des index composites (filtre, tri).
+ * <p>
+ * Un index sur un booléen ou un rôle ne sélectionne qu'une fraction de la table, qu'il faut ensuite trier ;
+ * l'index composite sert le filtre et l'ordre à la fois. Les nouveaux index sont créés avant la suppression
+ * des anciens : les index des clés étrangères ({@code module_id}, {@code block_id}, {@code promotion_id})
+ * restent ainsi toujours couverts. Hibernate ({@code ddl-auto: update}) ne supprime pas d'index, d'où
+ * cette migration. Sans effet sur une base neuve.
+ */
+@Slf4j
+@Component
+public class V3__CompositePageIndexes extends SchemaMigration {
+
+    private static final Map<String, Map<String, String>> CREATED = Map.of(
+            "courses", Map.of(
+                    "idx_course_module_name", "module_id, name",
+                    "idx_course_module_created_at", "module_id, created_at",
+                    "idx_course_completed_name", "completed, name",
+                    "idx_course_completed_created_at", "completed, created_at"),
+            "exercises", Map.of(
+                    "idx_exercise_module_name", "module_id, name",
+                    "idx_exercise_module_created_at", "module_id, created_at",
+                    "idx_exercise_completed_name", "completed, name",
+                    "idx_exercise_completed_created_at", "completed, created_at"),
+            "quizzes", Map.of(
+                    "idx_quiz_completed_name", "completed, name",
+                    "idx_quiz_completed_created_at", "completed, created_at"),
+            "modules", Map.of(
+                    "idx_module_block_name", "block_id, name",
+                    "idx_module_block_created_at", "block_id, created_at"),
+            "users", Map.of(
+                    "idx_user_promotion_created_at", "promotion_id, created_at",
+                    "idx_user_promotion_email", "promotion_id, email",
+                    "idx_user_role_created_at", "role, created_at",
+                    "idx_user_role_email", "role, email"),
+            "promotions", Map.of(
+                    "idx_promotion_active_start_date", "active, start_date",
+                    "idx_promotion_active_name", "active, name",
+                    "idx_promotion_active_created_at", "active, created_at")
+    );
+
+    private static final Map<String, List<String>> DROPPED = Map.of(
+            "courses", List.of("idx_course_module", "idx_course_completed"),
+            "exercises", List.of("idx_exercise_module", "idx_exercise_completed"),
+            "quizzes", List.of("idx_quiz_completed"),
+            "modules", List.of("idx_module_block"),
+            "users", List.of("idx_promotion_id", "idx_user_role")
+    );
+
+    @Override
+    protected void migrate(JdbcTemplate jdbcTemplate) {
+        CREATED.forEach((table, indexes) -> {
+            if (!tableExists(jdbcTemplate, table)) {
+                return;
+            }
+            indexes.forEach((index, columns) -> {
+                if (!indexExists(jdbcTemplate, table, index)) {
+                    jdbcTemplate.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+                    log.info("Index {} créé sur {} ({})", index, table, columns);
+                }
+            });
+        });
+
+        DROPPED.forEach((table, indexes) -> {
+            if (!tableExists(jdbcTemplate, table)) {
+                return;
+            }
+            indexes.forEach(index -> {
+                if (indexExists(jdbcTemplate, table, index)) {
+                    jdbcTemplate.execute("DROP INDEX " + index + " ON " + table);
+                    log.info("Index {} supprimé de {}", index, table);
+                }
+            });
+        });
+    }
+}
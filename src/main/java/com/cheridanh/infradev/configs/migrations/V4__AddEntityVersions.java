@@ -0,0 +1,30 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ajoute la colonne {@code version} des entités mises en cache, initialisée à 0.
+ * <p>
+ * Hibernate ({@code ddl-auto: update}) l'ajouterait nulle sur les lignes existantes, qu'il ne saurait
+ * plus mettre à jour ({@code WHERE version = NULL}). Sans effet sur une base neuve.
+ */
+@Slf4j
+@Component
+public class V4__AddEntityVersions extends SchemaMigration {
+
+    private static final List<String> TABLES = List.of("blocks", "modules", "promotions", "quizzes");
+
+    @Override
+    protected void migrate(JdbcTemplate jdbcTemplate) {
+        for (String table : TABLES) {
+            if (tableExists(jdbcTemplate, table) && !columnExists(jdbcTemplate, table, "version")) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN version BIGINT NOT NULL DEFAULT 0");
+                log.info("Colonne version ajoutée à {}", table);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import com.cheridanh.infradev.entities.IdGenerators;
+import com.cheridanh.infradev.utils.ContentCompression;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migre les contenus des cours, exercices et quiz stockés en clair (colonne {@code content}) vers la table
+ * {@code content_bodies}, compressés.
+ * <p>
+ * Les lignes sont traitées par lots de {@value #BATCH_SIZE}, seul un lot est en mémoire. Les identifiants des corps
+ * sont réservés dans {@value IdGenerators#TABLE}, sous verrou, comme le ferait Hibernate : ils ne se recouvrent
+ * pas avec ceux qu'attribuera l'application. Seules les lignes sans {@code content_body_id} sont traitées ;
+ * la migration peut donc être relancée après un échec.
+ * <p>
+ * L'ancienne colonne est rendue facultative plutôt que supprimée : une instance de la version précédente,
+ * encore en service pendant le déploiement, peut y écrire. Une version ultérieure relancera ce rattrapage
+ * puis supprimera la colonne. Sans effet si la colonne {@code content} n'existe pas.
+ */
+@Slf4j
+@Component
+public class V5__MoveContentToBodies extends SchemaMigration {
+
+    private static final List<String> TABLES = List.of("courses", "exercises", "quizzes");
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String SEQUENCE = "content_bodies";
+
+    private static final String LOCK_NEXT_VAL_SQL = "SELECT " + IdGenerators.VALUE_COLUMN
+            + " FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.PK_COLUMN + " = ? FOR UPDATE";
+
+    private static final String INSERT_NEXT_VAL_SQL = "INSERT INTO " + IdGenerators.TABLE
+            + " (" + IdGenerators.PK_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private static final String UPDATE_NEXT_VAL_SQL = "UPDATE " + IdGenerators.TABLE
+            + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE " + IdGenerators.PK_COLUMN + " = ?";
+
+    @Override
+    protected void migrate(JdbcTemplate jdbcTemplate) {
+        for (String table : TABLES) {
+            String legacyType = columnType(jdbcTemplate, table, "content");
+            if (legacyType == null) {
+                log.debug("Aucune migration des contenus nécessaire pour {}", table);
+                continue;
+            }
+
+            log.info("Migration des contenus de {} vers content_bodies", table);
+            prepareSchema(jdbcTemplate, table);
+
+            int migrated = 0;
+            int batch;
+            do {
+                batch = migrateBatch(jdbcTemplate, table);
+                migrated += batch;
+            } while (batch == BATCH_SIZE);
+
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY content " + legacyType + " NULL");
+
+            log.info("{} contenu(s) de {} migré(s), colonne content rendue facultative", migrated, table);
+        }
+    }
+
+    /**
+     * Crée la table des corps et les colonnes de référence qu'Hibernate n'a pas encore ajoutées.
+     */
+    private static void prepareSchema(JdbcTemplate jdbcTemplate, String table) {
+        if (!tableExists(jdbcTemplate, "content_bodies")) {
+            jdbcTemplate.execute("CREATE TABLE content_bodies (id BIGINT NOT NULL PRIMARY KEY, data LONGBLOB NOT NULL)");
+        }
+        if (!columnExists(jdbcTemplate, table, "content_body_id")) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN content_body_id BIGINT NULL");
+        }
+        if (!columnExists(jdbcTemplate, table, "content_length")) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN content_length INT NULL");
+        }
+        if (!columnExists(jdbcTemplate, table, "content_hash")) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN content_hash VARCHAR(64) NULL");
+        }
+        createIdGeneratorsTableIfMissing(jdbcTemplate);
+    }
+
+    /**
+     * Compresse un lot de contenus non migrés, insère les corps puis les rattache à leurs lignes.
+     *
+     * @return le nombre de lignes migrées
+     */
+    private static int migrateBatch(JdbcTemplate jdbcTemplate, String table) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, content FROM " + table + " WHERE content_body_id IS NULL AND content IS NOT NULL LIMIT ?",
+                BATCH_SIZE);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        long nextId = reserveIds(jdbcTemplate, rows.size());
+        List<Object[]> bodies = new ArrayList<>(rows.size());
+        List<Object[]> links = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            byte[] raw = ((String) row.get("content")).getBytes(StandardCharsets.UTF_8);
+            long bodyId = nextId++;
+            bodies.add(new Object[]{bodyId, ContentCompression.compress(raw)});
+            links.add(new Object[]{bodyId, raw.length, ContentCompression.hash(raw), row.get("id")});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO content_bodies (id, data) VALUES (?, ?)", bodies);
+        jdbcTemplate.batchUpdate(
+                "UPDATE " + table + " SET content_body_id = ?, content_length = ?, content_hash = ? WHERE id = ?",
+                links);
+
+        return rows.size();
+    }
+
+    /**
+     * Réserve {@code count} identifiants consécutifs de {@code content_bodies}. Avec l'optimiseur {@code pooled},
+     * la valeur stockée est la borne haute du prochain bloc : la réservation commence au début de ce bloc, et la
+     * valeur est repoussée d'un bloc au-delà du dernier identifiant réservé.
+     *
+     * @return le premier identifiant réservé
+     */
+    private static long reserveIds(JdbcTemplate jdbcTemplate, int count) {
+        List<Long> current = jdbcTemplate.queryForList(LOCK_NEXT_VAL_SQL, Long.class, SEQUENCE);
+        long nextVal;
+        if (current.isEmpty()) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM content_bodies", Long.class);
+            nextVal = (maxId != null ? maxId : 0L) + IdGenerators.ALLOCATION_SIZE;
+            jdbcTemplate.update(INSERT_NEXT_VAL_SQL, SEQUENCE, nextVal);
+        } else {
+            nextVal = current.getFirst();
+        }
+
+        long first = nextVal - IdGenerators.ALLOCATION_SIZE + 1;
+        long last = first + count - 1;
+        jdbcTemplate.update(UPDATE_NEXT_VAL_SQL, last + IdGenerators.ALLOCATION_SIZE, SEQUENCE);
+        return first;
+    }
+}
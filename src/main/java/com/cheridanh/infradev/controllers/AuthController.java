@@ -6,15 +6,19 @@ import com.cheridanh.infradev.dtos.request.RefreshTokenRequest;
 import com.cheridanh.infradev.dtos.request.RegisterRequest;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
 import com.cheridanh.infradev.dtos.response.AuthResponse;
+import com.cheridanh.infradev.security.JwtFilter;
+import com.cheridanh.infradev.security.VerifiedJwt;
 import com.cheridanh.infradev.services.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -50,13 +54,17 @@ public class AuthController {
      * Connecte un utilisateur existant.
      *
      * @param request les identifiants de connexion valides
+     * @param httpRequest la requête HTTP, pour l'adresse IP du client (celle transmise par le reverse proxy
+     *                    avec le profil {@code proxy})
      * @return les tokens et les informations de l'utilisateur
      */
     @PostMapping("/login")
     @Operation(summary = "Connexion", description = "Authentifie un utilisateur et retourne les tokens JWT")
-    public ResponseEntity<ApiResponse<AuthResponse>>  login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<AuthResponse>>  login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
         log.debug("Requête de connexion reçue : HTTP POST /auth/login");
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(ApiResponse.success("Connexion réussie.", response));
     }
 
@@ -81,20 +89,24 @@ public class AuthController {
     }
 
     /**
-     * Déconnecte l'utilisateur en révoquant ses refresh tokens.
+     * Déconnecte l'utilisateur en révoquant son refresh token et, s'il est présenté, son access token.
      *
      * @param request le refresh token à révoquer
+     * @param accessToken l'access token vérifié par le filtre JWT, si présent
      * @return un message de confirmation
      */
     @PostMapping("/logout")
     @Operation(
             summary = "Déconnexion",
             description = "Révoque le refresh token. Le token ne pourra plus être utilisé pour " +
-                    "générer de nouveaux access tokens et la session active sera invalide."
+                    "générer de nouveaux access tokens et la session active sera invalide. " +
+                    "Si l'access token est fourni dans l'en-tête Authorization, il est également révoqué."
     )
-    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody LogoutRequest request) {
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @Valid @RequestBody LogoutRequest request,
+            @RequestAttribute(name = JwtFilter.VERIFIED_JWT_ATTRIBUTE, required = false) VerifiedJwt accessToken) {
         log.debug("Requête de déconnexion reçue : HTTP POST /auth/logout");
-        authService.logout(request);
+        authService.logout(request, accessToken);
         return ResponseEntity.ok(ApiResponse.success("Déconnexion réussie"));
     }
 }
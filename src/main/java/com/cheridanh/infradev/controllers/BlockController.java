@@ -1,9 +1,14 @@
 package com.cheridanh.infradev.controllers;
 
 import com.cheridanh.infradev.dtos.request.BlockRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
 import com.cheridanh.infradev.dtos.response.BlockResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.repositories.ResourceVersions;
 import com.cheridanh.infradev.services.BlockService;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.utils.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,8 +18,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -25,20 +32,35 @@ import java.util.List;
 public class BlockController {
 
     private final BlockService blockService;
+    private final ResourceVersions resourceVersions;
+    private final CatalogCache catalogCache;
 
     @GetMapping
-    @Operation(summary = "Récupère tous les blocs")
-    public ResponseEntity<ApiResponse<List<BlockResponse>>> getAllBlocks() {
+    @Operation(
+            summary = "Récupère tous les blocs",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, name, createdAt (préfixe - pour l'ordre décroissant). " +
+                    "Aucun filtre : tout autre paramètre est refusé en 400, sauf ceux préfixés par _ (ignorés)."
+    )
+    public ResponseEntity<ApiResponse<List<BlockResponse>>> getAllBlocks(@RequestParam Map<String, String> params, WebRequest webRequest) {
         log.debug("Requête de récupération de tous les blocs reçue : HTTP GET /api/blocks");
-        List<BlockResponse> blocks = blockService.getAllBlocks();
-        return ResponseEntity.ok(ApiResponse.success(blocks));
+        ResourceVersions.Version version = resourceVersions.blocks();
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        CursorPage<BlockResponse> blocks = catalogCache.readAt(version, () -> blockService.getAllBlocks(PageQuery.of(params)));
+        return ResponseEntity.ok(ApiResponse.page(blocks));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Récupérer un bloc par son identifiant")
-    public ResponseEntity<ApiResponse<BlockResponse>> getBlockById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<BlockResponse>> getBlockById(@PathVariable Long id, WebRequest webRequest) {
         log.debug("Requête de récupération d'un bloc reçue : HTTP GET /api/blocks/{id}");
-        BlockResponse block = blockService.getBlockById(id);
+        ResourceVersions.Version version = resourceVersions.block(id);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        BlockResponse block = catalogCache.readAt(version, () -> blockService.getBlockById(id));
         return ResponseEntity.ok(ApiResponse.success(block));
 
     }
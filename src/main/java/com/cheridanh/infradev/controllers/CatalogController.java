@@ -0,0 +1,48 @@
+package com.cheridanh.infradev.controllers;
+
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.CatalogService;
+import com.cheridanh.infradev.utils.ConditionalRequests;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/catalog")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Catalogue", description = "Endpoints de lecture du catalogue complet")
+public class CatalogController {
+
+    private final CatalogService catalogService;
+    private final ResourceVersions resourceVersions;
+    private final CatalogCache catalogCache;
+
+    @GetMapping(value = "/tree", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Récupère l'arbre du catalogue",
+            description = "Retourne en une réponse les blocs, leurs modules et, pour chaque module, " +
+                    "le résumé de ses cours, exercices et quiz. La réponse est précalculée et " +
+                    "reconstruite après chaque modification du catalogue."
+    )
+    public ResponseEntity<byte[]> getCatalogTree(WebRequest webRequest) {
+        log.debug("Requête de récupération de l'arbre du catalogue reçue : HTTP GET /api/catalog/tree");
+        ResourceVersions.Version version = resourceVersions.catalog();
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalogCache.readAt(version, catalogService::getCatalogTree));
+    }
+}
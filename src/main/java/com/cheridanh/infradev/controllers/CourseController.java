@@ -1,20 +1,32 @@
 package com.cheridanh.infradev.controllers;
 
 import com.cheridanh.infradev.dtos.request.CourseRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.ContentStream;
 import com.cheridanh.infradev.dtos.response.CourseResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.services.CatalogCache;
 import com.cheridanh.infradev.services.CourseService;
+import com.cheridanh.infradev.utils.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -24,42 +36,97 @@ import java.util.List;
 @Tag(name = "Cours", description = "Endpoints pour la gestion des cours")
 public class CourseController {
 
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final CourseService courseService;
+    private final ResourceVersions resourceVersions;
+    private final CatalogCache catalogCache;
 
     /**
      * Récupère tous les cours.
+     *
+     * @param params le curseur, la taille, le tri, les filtres et les champs de la page
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping
-    @Operation(summary = "Lister tous les cours")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllCourses() {
+    @Operation(
+            summary = "Lister tous les cours",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, name, createdAt (préfixe - pour l'ordre décroissant), " +
+                    "filtres : completed, moduleId (tout autre filtre est refusé en 400 ; les paramètres préfixés par _ sont ignorés). " +
+                    "fields : champs à retourner, séparés par des virgules."
+    )
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllCourses(@RequestParam Map<String, String> params, WebRequest webRequest) {
         log.debug("Requête de récupération de tous les cours reçue : HTTP GET /api/courses");
-        List<CourseResponse> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(ApiResponse.success(courses));
+        ResourceVersions.Version version = resourceVersions.courses();
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        CursorPage<CourseResponse> courses = catalogCache.readAt(version, () -> courseService.getAllCourses(PageQuery.of(params, CourseResponse.FIELDS)));
+        return ResponseEntity.ok(ApiResponse.page(courses));
     }
 
     /**
      * Récupère un cours par son identifiant.
      *
      * @param id l'identifiant du cours
+     * @param fields les champs à retourner, ou tous si absent
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer un cours par son identifiant")
-    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id) {
+    @Operation(
+            summary = "Récupérer un cours par son identifiant",
+            description = "Paramètre fields : champs à retourner, séparés par des virgules (l'identifiant est toujours inclus)."
+    )
+    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id, @RequestParam(required = false) String fields, WebRequest webRequest) {
         log.debug("Requête de récupération d'un cours reçue : HTTP GET /api/courses/{}", id);
-        CourseResponse course = courseService.getCourseById(id);
+        ResourceVersions.Version version = resourceVersions.course(id);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        CourseResponse course = catalogCache.readAt(version, () -> courseService.getCourseById(id, CourseResponse.FIELDS.parse(fields)));
         return ResponseEntity.ok(ApiResponse.success(course));
     }
 
+    /**
+     * Transmet en flux le contenu du cours.
+     *
+     * @param id l'identifiant du cours
+     * @param webRequest la requête, pour les en-têtes conditionnels
+     */
+    @GetMapping("/{id}/content")
+    @Operation(
+            summary = "Lire le contenu d'un cours",
+            description = "Contenu brut (text/plain, UTF-8) transmis en flux. " +
+                    "Les listes et le détail n'en exposent que la taille (contentLength) et l'empreinte (contentHash)."
+    )
+    public ResponseEntity<Resource> getCourseContent(@PathVariable Long id, WebRequest webRequest) {
+        log.debug("Requête de lecture du contenu d'un cours reçue : HTTP GET /api/courses/{}/content", id);
+        if (ConditionalRequests.notModified(webRequest, resourceVersions.course(id))) {
+            return null;
+        }
+        ContentStream content = courseService.getCourseContent(id);
+        return ResponseEntity.ok()
+                .contentType(TEXT_UTF8)
+                .contentLength(content.length())
+                .body(new InputStreamResource(content.body()));
+    }
+
     /**
      * Récupère tous les cours d'un module donné.
      *
      * @param moduleId l'identifiant du module
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/module/{moduleId}")
     @Operation(summary = "Lister les cours d'un module")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesByModuleId(@PathVariable Long moduleId) {
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesByModuleId(@PathVariable Long moduleId, WebRequest webRequest) {
         log.debug("Requête de récupération des cours du module id {} reçue : HTTP GET /api/courses/module/{}", moduleId, moduleId);
-        List<CourseResponse> courses = courseService.getCoursesByModuleId(moduleId);
+        ResourceVersions.Version version = resourceVersions.coursesByModule(moduleId);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        List<CourseResponse> courses = catalogCache.readAt(version, () -> courseService.getCoursesByModuleId(moduleId));
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
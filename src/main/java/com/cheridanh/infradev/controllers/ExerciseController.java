@@ -1,20 +1,32 @@
 package com.cheridanh.infradev.controllers;
 
 import com.cheridanh.infradev.dtos.request.ExerciseRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.ExerciseResponse;
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.services.CatalogCache;
 import com.cheridanh.infradev.services.ExerciseService;
+import com.cheridanh.infradev.utils.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -24,42 +36,97 @@ import java.util.List;
 @Tag(name = "Exercices", description = "Endpoints pour la gestion des exercices")
 public class ExerciseController {
 
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final ExerciseService exerciseService;
+    private final ResourceVersions resourceVersions;
+    private final CatalogCache catalogCache;
 
     /**
      * Récupère tous les exercices.
+     *
+     * @param params le curseur, la taille, le tri, les filtres et les champs de la page
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping
-    @Operation(summary = "Lister tous les exercices")
-    public ResponseEntity<ApiResponse<List<ExerciseResponse>>> getAllExercises() {
+    @Operation(
+            summary = "Lister tous les exercices",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, name, createdAt (préfixe - pour l'ordre décroissant), " +
+                    "filtres : completed, moduleId (tout autre filtre est refusé en 400 ; les paramètres préfixés par _ sont ignorés). " +
+                    "fields : champs à retourner, séparés par des virgules."
+    )
+    public ResponseEntity<ApiResponse<List<ExerciseResponse>>> getAllExercises(@RequestParam Map<String, String> params, WebRequest webRequest) {
         log.debug("Requête de récupération de tous les exercices reçue : HTTP GET /api/exercises");
-        List<ExerciseResponse> exercises = exerciseService.getAllExercises();
-        return ResponseEntity.ok(ApiResponse.success(exercises));
+        ResourceVersions.Version version = resourceVersions.exercises();
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        CursorPage<ExerciseResponse> exercises = catalogCache.readAt(version, () -> exerciseService.getAllExercises(PageQuery.of(params, ExerciseResponse.FIELDS)));
+        return ResponseEntity.ok(ApiResponse.page(exercises));
     }
 
     /**
      * Récupère un exercice par son identifiant.
      *
      * @param id l'identifiant de l'exercice
+     * @param fields les champs à retourner, ou tous si absent
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer un exercice par son identifiant")
-    public ResponseEntity<ApiResponse<ExerciseResponse>> getExerciseById(@PathVariable Long id) {
+    @Operation(
+            summary = "Récupérer un exercice par son identifiant",
+            description = "Paramètre fields : champs à retourner, séparés par des virgules (l'identifiant est toujours inclus)."
+    )
+    public ResponseEntity<ApiResponse<ExerciseResponse>> getExerciseById(@PathVariable Long id, @RequestParam(required = false) String fields, WebRequest webRequest) {
         log.debug("Requête de récupération d'un exercice reçue : HTTP GET /api/exercises/{}", id);
-        ExerciseResponse exercise = exerciseService.getExerciseById(id);
+        ResourceVersions.Version version = resourceVersions.exercise(id);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        ExerciseResponse exercise = catalogCache.readAt(version, () -> exerciseService.getExerciseById(id, ExerciseResponse.FIELDS.parse(fields)));
         return ResponseEntity.ok(ApiResponse.success(exercise));
     }
 
+    /**
+     * Transmet en flux le contenu de l'exercice.
+     *
+     * @param id l'identifiant de l'exercice
+     * @param webRequest la requête, pour les en-têtes conditionnels
+     */
+    @GetMapping("/{id}/content")
+    @Operation(
+            summary = "Lire le contenu d'un exercice",
+            description = "Contenu brut (text/plain, UTF-8) transmis en flux. " +
+                    "Les listes et le détail n'en exposent que la taille (contentLength) et l'empreinte (contentHash)."
+    )
+    public ResponseEntity<Resource> getExerciseContent(@PathVariable Long id, WebRequest webRequest) {
+        log.debug("Requête de lecture du contenu d'un exercice reçue : HTTP GET /api/exercises/{}/content", id);
+        if (ConditionalRequests.notModified(webRequest, resourceVersions.exercise(id))) {
+            return null;
+        }
+        ContentStream content = exerciseService.getExerciseContent(id);
+        return ResponseEntity.ok()
+                .contentType(TEXT_UTF8)
+                .contentLength(content.length())
+                .body(new InputStreamResource(content.body()));
+    }
+
     /**
      * Récupère tous les exercices d'un module donné.
      *
      * @param moduleId l'identifiant du module
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/module/{moduleId}")
     @Operation(summary = "Lister les exercices d'un module")
-    public ResponseEntity<ApiResponse<List<ExerciseResponse>>> getExercisesByModuleId(@PathVariable Long moduleId) {
+    public ResponseEntity<ApiResponse<List<ExerciseResponse>>> getExercisesByModuleId(@PathVariable Long moduleId, WebRequest webRequest) {
         log.debug("Requête de récupération des exercices du module id {} reçue : HTTP GET /api/exercises/module/{}", moduleId, moduleId);
-        List<ExerciseResponse> exercises = exerciseService.getExercisesByModuleId(moduleId);
+        ResourceVersions.Version version = resourceVersions.exercisesByModule(moduleId);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        List<ExerciseResponse> exercises = catalogCache.readAt(version, () -> exerciseService.getExercisesByModuleId(moduleId));
         return ResponseEntity.ok(ApiResponse.success(exercises));
     }
 
@@ -1,9 +1,14 @@
 package com.cheridanh.infradev.controllers;
 
 import com.cheridanh.infradev.dtos.request.ModuleRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.ModuleResponse;
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.services.CatalogCache;
 import com.cheridanh.infradev.services.ModuleService;
+import com.cheridanh.infradev.utils.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,8 +18,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -25,28 +32,52 @@ import java.util.List;
 public class ModuleController {
 
     private final ModuleService moduleService;
+    private final ResourceVersions resourceVersions;
+    private final CatalogCache catalogCache;
 
     /**
      * Récupère tous les modules.
+     *
+     * @param params le curseur, la taille, le tri, les filtres et les champs de la page
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping
-    @Operation(summary = "Lister tous les modules")
-    public ResponseEntity<ApiResponse<List<ModuleResponse>>> getAllModules() {
+    @Operation(
+            summary = "Lister tous les modules",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, name, createdAt (préfixe - pour l'ordre décroissant), " +
+                    "filtres : blockId (tout autre filtre est refusé en 400 ; les paramètres préfixés par _ sont ignorés). " +
+                    "fields : champs à retourner, séparés par des virgules."
+    )
+    public ResponseEntity<ApiResponse<List<ModuleResponse>>> getAllModules(@RequestParam Map<String, String> params, WebRequest webRequest) {
         log.debug("Requête de récupération de tous les modules reçue : HTTP GET /api/modules");
-        List<ModuleResponse> modules = moduleService.getAllModules();
-        return ResponseEntity.ok(ApiResponse.success(modules));
+        ResourceVersions.Version version = resourceVersions.modules();
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        CursorPage<ModuleResponse> modules = catalogCache.readAt(version, () -> moduleService.getAllModules(PageQuery.of(params, ModuleResponse.FIELDS)));
+        return ResponseEntity.ok(ApiResponse.page(modules));
     }
 
     /**
      * Récupère un module par son identifiant avec ses cours, exercices et quiz.
      *
      * @param id l'identifiant du module
+     * @param fields les champs à retourner, ou tous si absent
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer un module par son identifiant")
-    public ResponseEntity<ApiResponse<ModuleResponse>> getModuleById(@PathVariable Long id) {
+    @Operation(
+            summary = "Récupérer un module par son identifiant",
+            description = "Paramètre fields : champs à retourner, séparés par des virgules (l'identifiant est toujours inclus)."
+    )
+    public ResponseEntity<ApiResponse<ModuleResponse>> getModuleById(@PathVariable Long id, @RequestParam(required = false) String fields, WebRequest webRequest) {
         log.debug("Requête de récupération d'un module reçue : HTTP GET /api/modules/{}", id);
-        ModuleResponse module = moduleService.getModuleById(id);
+        ResourceVersions.Version version = resourceVersions.module(id);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        ModuleResponse module = catalogCache.readAt(version, () -> moduleService.getModuleById(id, ModuleResponse.FIELDS.parse(fields)));
         return ResponseEntity.ok(ApiResponse.success(module));
     }
 
@@ -54,12 +85,17 @@ public class ModuleController {
      * Récupère tous les modules d'un bloc donné.
      *
      * @param blockId l'identifiant du bloc
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/bloc/{blockId}")
     @Operation(summary = "Lister les modules d'un bloc")
-    public ResponseEntity<ApiResponse<List<ModuleResponse>>> getModulesByBlockId(@PathVariable Long blockId) {
+    public ResponseEntity<ApiResponse<List<ModuleResponse>>> getModulesByBlockId(@PathVariable Long blockId, WebRequest webRequest) {
         log.debug("Requête de récupération des modules du bloc id {} reçue : HTTP GET /api/modules/block/{}", blockId, blockId);
-        List<ModuleResponse> modules = moduleService.getModulesByBlockId(blockId);
+        ResourceVersions.Version version = resourceVersions.modulesByBlock(blockId);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        List<ModuleResponse> modules = catalogCache.readAt(version, () -> moduleService.getModulesByBlockId(blockId));
         return ResponseEntity.ok(ApiResponse.success(modules));
     }
 
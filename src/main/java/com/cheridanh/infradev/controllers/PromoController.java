@@ -1,9 +1,13 @@
 package com.cheridanh.infradev.controllers;
 
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.PromoRequest;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.PromoResponse;
+import com.cheridanh.infradev.repositories.ResourceVersions;
 import com.cheridanh.infradev.services.PromoService;
+import com.cheridanh.infradev.utils.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,8 +17,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -25,28 +31,49 @@ import java.util.List;
 public class PromoController {
 
     private final PromoService promoService;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Récupère toutes les promotions triées par date de début.
+     *
+     * @param params le curseur, la taille, le tri, les filtres et les champs de la page
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping
-    @Operation(summary = "Lister toutes les promotions")
-    public ResponseEntity<ApiResponse<List<PromoResponse>>> getAllPromos() {
+    @Operation(
+            summary = "Lister toutes les promotions",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, startDate, name, createdAt (préfixe - pour l'ordre décroissant), " +
+                    "filtres : active (tout autre filtre est refusé en 400 ; les paramètres préfixés par _ sont ignorés). " +
+                    "fields : champs à retourner, séparés par des virgules."
+    )
+    public ResponseEntity<ApiResponse<List<PromoResponse>>> getAllPromos(@RequestParam Map<String, String> params, WebRequest webRequest) {
         log.debug("Requête de récupération de toutes les promotions reçue : HTTP GET /api/promos");
-        List<PromoResponse> promoResponses = promoService.getAllPromos();
-        return ResponseEntity.ok(ApiResponse.success(promoResponses));
+        if (ConditionalRequests.notModified(webRequest, resourceVersions.promos())) {
+            return null;
+        }
+        CursorPage<PromoResponse> promoResponses = promoService.getAllPromos(PageQuery.of(params, PromoResponse.FIELDS));
+        return ResponseEntity.ok(ApiResponse.page(promoResponses));
     }
 
     /**
      * Récupère le détail d'une promotion avec la liste de ses utilisateurs.
      *
      * @param id l'identifiant de la promotion
+     * @param fields les champs à retourner, ou tous si absent
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer une promotion par son identifiant")
-    public ResponseEntity<ApiResponse<PromoResponse>> getPromoById(@PathVariable Long id) {
+    @Operation(
+            summary = "Récupérer une promotion par son identifiant",
+            description = "Paramètre fields : champs à retourner, séparés par des virgules (l'identifiant est toujours inclus)."
+    )
+    public ResponseEntity<ApiResponse<PromoResponse>> getPromoById(@PathVariable Long id, @RequestParam(required = false) String fields, WebRequest webRequest) {
         log.debug("Requête de récupération d'une promotion reçue : HTTP GET /api/promos/{id}");
-        PromoResponse promoResponse = promoService.getPromoById(id);
+        if (ConditionalRequests.notModified(webRequest, resourceVersions.promo(id))) {
+            return null;
+        }
+        PromoResponse promoResponse = promoService.getPromoById(id, PromoResponse.FIELDS.parse(fields));
         return ResponseEntity.ok(ApiResponse.success(promoResponse));
     }
 
@@ -1,20 +1,32 @@
 package com.cheridanh.infradev.controllers;
 
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.QuizRequest;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.QuizResponse;
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.services.CatalogCache;
 import com.cheridanh.infradev.services.QuizService;
+import com.cheridanh.infradev.utils.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -24,32 +36,82 @@ import java.util.List;
 @Tag(name = "Quiz", description = "Endpoints pour la gestion des quiz")
 public class QuizController {
 
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final QuizService quizService;
+    private final ResourceVersions resourceVersions;
+    private final CatalogCache catalogCache;
 
     /**
      * Récupère tous les quiz.
+     *
+     * @param params le curseur, la taille, le tri, les filtres et les champs de la page
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping
-    @Operation(summary = "Lister tous les quiz")
-    public ResponseEntity<ApiResponse<List<QuizResponse>>> getAllQuizzes() {
+    @Operation(
+            summary = "Lister tous les quiz",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, name, createdAt (préfixe - pour l'ordre décroissant), " +
+                    "filtres : completed (tout autre filtre est refusé en 400 ; les paramètres préfixés par _ sont ignorés). " +
+                    "fields : champs à retourner, séparés par des virgules."
+    )
+    public ResponseEntity<ApiResponse<List<QuizResponse>>> getAllQuizzes(@RequestParam Map<String, String> params, WebRequest webRequest) {
         log.debug("Requête de récupération de tous les quiz reçue : HTTP GET /api/quizzes");
-        List<QuizResponse> quizzes = quizService.getAllQuizzes();
-        return ResponseEntity.ok(ApiResponse.success(quizzes));
+        ResourceVersions.Version version = resourceVersions.quizzes();
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        CursorPage<QuizResponse> quizzes = catalogCache.readAt(version, () -> quizService.getAllQuizzes(PageQuery.of(params, QuizResponse.FIELDS)));
+        return ResponseEntity.ok(ApiResponse.page(quizzes));
     }
 
     /**
      * Récupère un quiz par son identifiant.
      *
      * @param id l'identifiant du quiz
+     * @param fields les champs à retourner, ou tous si absent
+     * @param webRequest la requête, pour les en-têtes conditionnels
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer un quiz par son identifiant")
-    public ResponseEntity<ApiResponse<QuizResponse>> getQuizById(@PathVariable Long id) {
+    @Operation(
+            summary = "Récupérer un quiz par son identifiant",
+            description = "Paramètre fields : champs à retourner, séparés par des virgules (l'identifiant est toujours inclus)."
+    )
+    public ResponseEntity<ApiResponse<QuizResponse>> getQuizById(@PathVariable Long id, @RequestParam(required = false) String fields, WebRequest webRequest) {
         log.debug("Requête de récupération d'un quiz reçue : HTTP GET /api/quizzes/{}", id);
-        QuizResponse quiz = quizService.getQuizById(id);
+        ResourceVersions.Version version = resourceVersions.quiz(id);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        QuizResponse quiz = catalogCache.readAt(version, () -> quizService.getQuizById(id, QuizResponse.FIELDS.parse(fields)));
         return ResponseEntity.ok(ApiResponse.success(quiz));
     }
 
+    /**
+     * Transmet en flux le contenu du quiz.
+     *
+     * @param id l'identifiant du quiz
+     * @param webRequest la requête, pour les en-têtes conditionnels
+     */
+    @GetMapping("/{id}/content")
+    @Operation(
+            summary = "Lire le contenu d'un quiz",
+            description = "Contenu brut (text/plain, UTF-8) transmis en flux. " +
+                    "Les listes et le détail n'en exposent que la taille (contentLength) et l'empreinte (contentHash)."
+    )
+    public ResponseEntity<Resource> getQuizContent(@PathVariable Long id, WebRequest webRequest) {
+        log.debug("Requête de lecture du contenu d'un quiz reçue : HTTP GET /api/quizzes/{}/content", id);
+        if (ConditionalRequests.notModified(webRequest, resourceVersions.quiz(id))) {
+            return null;
+        }
+        ContentStream content = quizService.getQuizContent(id);
+        return ResponseEntity.ok()
+                .contentType(TEXT_UTF8)
+                .contentLength(content.length())
+                .body(new InputStreamResource(content.body()));
+    }
+
     /**
      * Crée un nouveau quiz rattaché à un module (un seul quiz par module).
      *
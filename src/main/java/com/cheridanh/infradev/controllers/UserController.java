@@ -1,8 +1,10 @@
 package com.cheridanh.infradev.controllers;
 
 import com.cheridanh.infradev.dtos.request.AssignBlocksRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.UserUpdateRequest;
 import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.UserResponse;
 import com.cheridanh.infradev.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -28,25 +31,37 @@ public class UserController {
 
     /**
      * Récupère tous les utilisateurs.
+     *
+     * @param params le curseur, la taille, le tri, les filtres et les champs de la page
      */
     @GetMapping
-    @Operation(summary = "Lister tous les utilisateurs")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
+    @Operation(
+            summary = "Lister tous les utilisateurs",
+            description = "Pagination par curseur : renvoyer le nextCursor reçu dans le paramètre cursor. " +
+                    "Paramètres : size (1 à 100), sort parmi id, createdAt, email (préfixe - pour l'ordre décroissant), " +
+                    "filtres : role, promotionId (tout autre filtre est refusé en 400 ; les paramètres préfixés par _ sont ignorés). " +
+                    "fields : champs à retourner, séparés par des virgules."
+    )
+    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers(@RequestParam Map<String, String> params) {
         log.debug("Requête de récupération de tous les utilisateurs reçue : HTTP GET /api/users");
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(ApiResponse.success(users));
+        CursorPage<UserResponse> users = userService.getAllUsers(PageQuery.of(params, UserResponse.FIELDS));
+        return ResponseEntity.ok(ApiResponse.page(users));
     }
 
     /**
      * Récupère un utilisateur par son identifiant avec ses blocs.
      *
      * @param id l'identifiant de l'utilisateur
+     * @param fields les champs à retourner, ou tous si absent
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer un utilisateur par son identifiant")
-    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long id) {
+    @Operation(
+            summary = "Récupérer un utilisateur par son identifiant",
+            description = "Paramètre fields : champs à retourner, séparés par des virgules (l'identifiant est toujours inclus)."
+    )
+    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("Requête de récupération d'un utilisateur reçue : HTTP GET /api/users/{}", id);
-        UserResponse user = userService.getUserById(id);
+        UserResponse user = userService.getUserById(id, UserResponse.FIELDS.parse(fields));
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
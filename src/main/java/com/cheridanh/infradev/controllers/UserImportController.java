@@ -0,0 +1,100 @@
+package com.cheridanh.infradev.controllers;
+
+import com.cheridanh.infradev.configs.UserImportProperties;
+import com.cheridanh.infradev.dtos.request.UserImportFormat;
+import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.UserImportReport;
+import com.cheridanh.infradev.exceptions.PayloadTooLargeException;
+import com.cheridanh.infradev.services.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/users/import")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Import d'utilisateurs", description = "Endpoints pour l'import en masse d'utilisateurs (admin)")
+public class UserImportController {
+
+    /**
+     * Taille au-delà de laquelle l'import est traité en arrière-plan. Un petit fichier est importé
+     * pendant la requête ; un fichier plus gros, ou de taille inconnue, ne bloque pas le thread HTTP.
+     */
+    private static final long SYNCHRONOUS_IMPORT_MAX_BYTES = 1024 * 1024;
+
+    private final UserImportService userImportService;
+    private final UserImportProperties userImportProperties;
+
+    /**
+     * Importe des utilisateurs depuis le corps de la requête (CSV ou NDJSON).
+     * Le corps est lu en flux et n'est jamais chargé entièrement en mémoire. Un petit fichier est
+     * importé immédiatement (200) ; au-delà, l'import est lancé en arrière-plan (202). Un fichier plus gros
+     * que la taille maximale est refusé (413), de même qu'un import lorsque la file d'attente est pleine (503).
+     *
+     * @param request la requête HTTP, dont le corps contient le fichier
+     * @return le rapport de l'import, final ou en attente
+     */
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+            summary = "Importer des utilisateurs",
+            description = "Crée des comptes USER à partir d'un fichier CSV (en-tête firstName,lastName,email,password) " +
+                    "ou NDJSON (un objet par ligne). Les lignes invalides ou déjà existantes sont ignorées et " +
+                    "rapportées. Un fichier de plus de 1 Mo (ou de taille inconnue) est importé en arrière-plan : " +
+                    "la réponse 202 indique l'import à suivre via GET /api/users/import/{jobId}. Un fichier trop " +
+                    "volumineux est refusé (413) ; si trop d'imports sont déjà en attente, la réponse est 503."
+    )
+    public ResponseEntity<ApiResponse<UserImportReport>> importUsers(HttpServletRequest request) throws IOException {
+        log.debug("Requête d'import d'utilisateurs reçue : HTTP POST /api/users/import");
+        UserImportFormat format = UserImportFormat.fromContentType(request.getContentType());
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > userImportProperties.maxFileSize()) {
+            throw new PayloadTooLargeException(userImportProperties.maxFileSize());
+        }
+        if (contentLength >= 0 && contentLength <= SYNCHRONOUS_IMPORT_MAX_BYTES) {
+            UserImportReport report = userImportService.importUsers(request.getInputStream(), format);
+            return ResponseEntity.ok(ApiResponse.success("Import terminé", report));
+        }
+
+        UserImportReport report = userImportService.startImport(request.getInputStream(), format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/import/" + report.getJobId()))
+                .body(ApiResponse.success("Import démarré", report));
+    }
+
+    /**
+     * Liste les imports récents.
+     */
+    @GetMapping
+    @Operation(summary = "Lister les imports récents")
+    public ResponseEntity<ApiResponse<List<UserImportReport>>> getImports() {
+        log.debug("Requête de récupération des imports reçue : HTTP GET /api/users/import");
+        return ResponseEntity.ok(ApiResponse.success(userImportService.getImports()));
+    }
+
+    /**
+     * Récupère l'avancement d'un import.
+     *
+     * @param jobId l'identifiant de l'import
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Suivre l'avancement d'un import")
+    public ResponseEntity<ApiResponse<UserImportReport>> getImport(@PathVariable String jobId) {
+        log.debug("Requête de suivi d'un import reçue : HTTP GET /api/users/import/{}", jobId);
+        return ResponseEntity.ok(ApiResponse.success(userImportService.getImport(jobId)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.cheridanh.infradev.dtos.request;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.Set;
+
+/**
+ * Champs d'une réponse demandés par le paramètre {@code fields}, ou tous les champs.
+ * <p>
+ * Les champs non demandés ne sont pas lus en base lorsque la requête le permet, et ne sont pas sérialisés :
+ * les DTO omettent les valeurs nulles. L'identifiant est toujours inclus.
+ *
+ * @param names les champs demandés, ou {@code null} pour tous les champs
+ */
+public record FieldSelection(Set<String> names) {
+
+    /** Tous les champs : réponse complète, comme sans paramètre {@code fields}. */
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    public FieldSelection {
+        names = names != null ? Set.copyOf(names) : null;
+    }
+
+    /**
+     * @return true si tous les champs sont demandés
+     */
+    public boolean isAll() {
+        return names == null;
+    }
+
+    /**
+     * @param name le nom d'un champ de la réponse
+     * @return true si le champ est demandé
+     */
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+
+    /**
+     * @param candidates des noms de champs de la réponse
+     * @return true si l'un au moins des champs est demandé
+     */
+    public boolean includesAny(String... candidates) {
+        for (String candidate : candidates) {
+            if (includes(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copie un DTO en ne conservant que les champs demandés. Le DTO source, éventuellement en cache,
+     * n'est pas modifié ; il est retourné tel quel si tous les champs sont demandés.
+     *
+     * @param dto le DTO complet
+     * @return le DTO restreint aux champs demandés
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T narrow(T dto) {
+        if (names == null || dto == null) {
+            return dto;
+        }
+
+        T copy = (T) BeanUtils.instantiateClass(dto.getClass());
+        BeanWrapper source = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+        BeanWrapper target = PropertyAccessorFactory.forBeanPropertyAccess(copy);
+        for (String name : names) {
+            target.setPropertyValue(name, source.getPropertyValue(name));
+        }
+        return copy;
+    }
+}
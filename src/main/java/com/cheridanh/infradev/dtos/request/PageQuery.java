@@ -0,0 +1,91 @@
+package com.cheridanh.infradev.dtos.request;
+
+import com.cheridanh.infradev.exceptions.InvalidFieldSelectionException;
+import com.cheridanh.infradev.exceptions.InvalidPageRequestException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paramètres d'une page de liste : curseur opaque, taille, tri, filtres d'égalité et champs retournés.
+ * <p>
+ * Le tri s'exprime par le nom d'un champ, préfixé par {@code -} pour un ordre décroissant
+ * ({@code sort=-createdAt}). Les champs retournés se restreignent avec {@code fields=id,name,completed}.
+ * Les autres paramètres de la requête sont des filtres ({@code completed=true}) : chaque ressource déclare
+ * ceux qu'elle accepte et refuse les autres, pour qu'un filtre mal orthographié ne renvoie pas la liste non filtrée.
+ * Les paramètres préfixés par {@code _} (anti-cache {@code _=123}) sont écartés dès la construction :
+ * la requête ne contient ainsi que des champs normalisés et sert telle quelle de clé de cache.
+ *
+ * @param cursor le curseur renvoyé par la page précédente, ou {@code null} pour la première page
+ * @param size le nombre d'éléments par page
+ * @param sort le tri demandé, ou {@code null} pour le tri par défaut de la ressource
+ * @param filters les filtres d'égalité, par nom de champ
+ * @param fields les champs à retourner
+ */
+public record PageQuery(String cursor, int size, String sort, Map<String, String> filters, FieldSelection fields) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String CURSOR_PARAM = "cursor";
+    private static final String SIZE_PARAM = "size";
+    private static final String SORT_PARAM = "sort";
+    private static final String FIELDS_PARAM = "fields";
+    private static final String IGNORED_PREFIX = "_";
+
+    /**
+     * Construit la requête de page à partir des paramètres HTTP, pour une ressource sans sélection de champs.
+     *
+     * @param params les paramètres de la requête
+     * @return la requête de page
+     * @throws InvalidPageRequestException si la taille est invalide
+     */
+    public static PageQuery of(Map<String, String> params) {
+        return of(params, null);
+    }
+
+    /**
+     * Construit la requête de page à partir des paramètres HTTP.
+     *
+     * @param params les paramètres de la requête
+     * @param selectable les champs que la ressource accepte dans {@code fields}, ou {@code null} si elle n'en accepte pas
+     * @return la requête de page
+     * @throws InvalidPageRequestException si la taille est invalide
+     * @throws InvalidFieldSelectionException si un champ demandé n'est pas autorisé
+     */
+    public static PageQuery of(Map<String, String> params, SelectableFields selectable) {
+        Map<String, String> filters = new LinkedHashMap<>(params);
+        filters.keySet().removeIf(name -> name.startsWith(IGNORED_PREFIX));
+        String cursor = blankToNull(filters.remove(CURSOR_PARAM));
+        String sort = blankToNull(filters.remove(SORT_PARAM));
+        String sizeParam = blankToNull(filters.remove(SIZE_PARAM));
+        FieldSelection fields = selectable != null
+                ? selectable.parse(filters.remove(FIELDS_PARAM))
+                : FieldSelection.ALL;
+
+        int size = DEFAULT_SIZE;
+        if (sizeParam != null) {
+            try {
+                size = Integer.parseInt(sizeParam);
+            } catch (NumberFormatException ex) {
+                throw new InvalidPageRequestException("La taille de page doit être un nombre : '" + sizeParam + "'");
+            }
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new InvalidPageRequestException("La taille de page doit être comprise entre 1 et " + MAX_SIZE);
+        }
+
+        return new PageQuery(cursor, size, sort, Map.copyOf(filters), fields);
+    }
+
+    /**
+     * @return la première page avec la taille et le tri par défaut, sans filtre
+     */
+    public static PageQuery firstPage() {
+        return new PageQuery(null, DEFAULT_SIZE, null, Map.of(), FieldSelection.ALL);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
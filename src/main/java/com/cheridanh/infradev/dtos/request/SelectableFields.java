@@ -0,0 +1,75 @@
+package com.cheridanh.infradev.dtos.request;
+
+import com.cheridanh.infradev.exceptions.InvalidFieldSelectionException;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Liste blanche des champs qu'une ressource accepte dans le paramètre {@code fields}.
+ * <p>
+ * Chaque champ déclaré doit être une propriété du DTO de la ressource : une déclaration erronée
+ * échoue au chargement de la classe du DTO, pas à la première requête.
+ */
+public final class SelectableFields {
+
+    private static final String ID = "id";
+
+    private final Set<String> names;
+
+    private SelectableFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Déclare les champs sélectionnables d'un DTO. L'identifiant est toujours sélectionnable.
+     *
+     * @param type la classe du DTO
+     * @param names les noms des propriétés autorisées
+     * @return la liste blanche
+     * @throws IllegalStateException si un nom n'est pas une propriété lisible et modifiable du DTO
+     */
+    public static SelectableFields of(Class<?> type, String... names) {
+        Set<String> declared = new LinkedHashSet<>();
+        declared.add(ID);
+        for (String name : names) {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, name);
+            if (property == null || property.getReadMethod() == null || property.getWriteMethod() == null) {
+                throw new IllegalStateException("Champ sélectionnable inconnu de " + type.getSimpleName() + " : " + name);
+            }
+            declared.add(name);
+        }
+        return new SelectableFields(Collections.unmodifiableSet(declared));
+    }
+
+    /**
+     * Lit le paramètre {@code fields} : noms de champs séparés par des virgules.
+     *
+     * @param fields la valeur du paramètre, ou {@code null}
+     * @return les champs demandés, ou tous les champs si le paramètre est absent ou vide
+     * @throws InvalidFieldSelectionException si un champ n'est pas autorisé
+     */
+    public FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return FieldSelection.ALL;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add(ID);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!names.contains(name)) {
+                throw new InvalidFieldSelectionException(
+                        "Champ non autorisé : '" + name + "'. Champs acceptés : " + names);
+            }
+            requested.add(name);
+        }
+        return new FieldSelection(requested);
+    }
+}
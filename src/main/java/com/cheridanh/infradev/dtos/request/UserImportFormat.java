@@ -0,0 +1,42 @@
+package com.cheridanh.infradev.dtos.request;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats acceptés par l'import d'utilisateurs.
+ */
+public enum UserImportFormat {
+
+    /** CSV avec ligne d'en-tête : {@code firstName,lastName,email,password}. */
+    CSV("text/csv"),
+
+    /** Un objet JSON par ligne. */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    UserImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Détermine le format à partir du Content-Type de la requête.
+     *
+     * @param contentType le Content-Type reçu
+     * @return le format correspondant
+     * @throws IllegalArgumentException si le type n'est pas supporté
+     */
+    public static UserImportFormat fromContentType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (UserImportFormat format : values()) {
+            if (type.isCompatibleWith(MediaType.parseMediaType(format.mediaType))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Format d'import non supporté : " + contentType);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -18,6 +19,7 @@ public class ApiResponse<T> {
     private Boolean success;
     private String message;
     private T data;
+    private PageMetadata page;
     private LocalDateTime timestamp;
 
     public static <T> ApiResponse<T> success(String message, T data) {
@@ -37,6 +39,15 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .data(page.items())
+                .page(page.metadata())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .success(true)
@@ -0,0 +1,47 @@
+package com.cheridanh.infradev.dtos.response;
+
+import java.util.List;
+
+/**
+ * Arbre complet du catalogue : blocs, leurs modules et le contenu de chaque module, en résumé.
+ *
+ * @param blocks les blocs, triés par nom
+ */
+public record CatalogTreeResponse(List<BlockNode> blocks) {
+
+    /**
+     * Bloc de l'arbre.
+     *
+     * @param id l'identifiant du bloc
+     * @param name le nom du bloc
+     * @param description la description du bloc
+     * @param cover l'image de couverture du bloc
+     * @param modules les modules du bloc, triés par nom
+     */
+    public record BlockNode(Long id, String name, String description, String cover, List<ModuleNode> modules) {
+    }
+
+    /**
+     * Module de l'arbre.
+     *
+     * @param id l'identifiant du module
+     * @param name le nom du module
+     * @param description la description du module
+     * @param courses les cours du module, triés par nom
+     * @param exercises les exercices du module, triés par nom
+     * @param quiz le quiz du module, ou {@code null}
+     */
+    public record ModuleNode(Long id, String name, String description,
+                             List<ContentSummary> courses, List<ContentSummary> exercises, ContentSummary quiz) {
+    }
+
+    /**
+     * Résumé d'un cours, d'un exercice ou d'un quiz.
+     *
+     * @param id l'identifiant
+     * @param name le nom
+     * @param completed l'état complété
+     */
+    public record ContentSummary(Long id, String name, Boolean completed) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.cheridanh.infradev.dtos.response;
+
+import java.io.InputStream;
+
+/**
+ * Contenu d'un cours, d'un exercice ou d'un quiz, prêt à être transmis en flux.
+ *
+ * @param length la taille du contenu décompressé, en octets
+ * @param body le flux du contenu décompressé, à fermer après lecture
+ */
+public record ContentStream(long length, InputStream body) {
+}
@@ -1,5 +1,6 @@
 package com.cheridanh.infradev.dtos.response;
 
+import com.cheridanh.infradev.dtos.request.SelectableFields;
 import com.cheridanh.infradev.entities.Course;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -16,11 +17,19 @@ import java.time.LocalDateTime;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class CourseResponse {
 
+    /**
+     * Champs acceptés par le paramètre {@code fields} des lectures de cours.
+     */
+    public static final SelectableFields FIELDS = SelectableFields.of(CourseResponse.class,
+            "name", "description", "videoUrl", "contentLength", "contentHash", "completed",
+            "moduleId", "moduleName", "createdAt", "updatedAt");
+
     private Long id;
     private String name;
     private String description;
     private String videoUrl;
-    private String content;
+    private Integer contentLength;
+    private String contentHash;
     private Boolean completed;
     private Long moduleId;
     private String moduleName;
@@ -39,7 +48,8 @@ public class CourseResponse {
                 .name(course.getName())
                 .description(course.getDescription())
                 .videoUrl(course.getVideoUrl())
-                .content(course.getContent())
+                .contentLength(course.getContentLength())
+                .contentHash(course.getContentHash())
                 .completed(course.getCompleted())
                 .moduleId(course.getModule() != null ? course.getModule().getId() : null)
                 .moduleName(course.getModule() != null ? course.getModule().getName() : null)
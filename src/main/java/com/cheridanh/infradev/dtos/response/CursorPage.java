@@ -0,0 +1,20 @@
+package com.cheridanh.infradev.dtos.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page de résultats obtenue par pagination par curseur.
+ *
+ * @param items les éléments de la page
+ * @param metadata les métadonnées de la page
+ */
+public record CursorPage<T>(List<T> items, PageMetadata metadata) {
+
+    /**
+     * Convertit les éléments de la page en conservant ses métadonnées.
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), metadata);
+    }
+}
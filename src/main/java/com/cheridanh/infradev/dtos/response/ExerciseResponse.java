@@ -1,5 +1,6 @@
 package com.cheridanh.infradev.dtos.response;
 
+import com.cheridanh.infradev.dtos.request.SelectableFields;
 import com.cheridanh.infradev.entities.Exercise;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -16,9 +17,17 @@ import java.time.LocalDateTime;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ExerciseResponse {
 
+    /**
+     * Champs acceptés par le paramètre {@code fields} des lectures de exercices.
+     */
+    public static final SelectableFields FIELDS = SelectableFields.of(ExerciseResponse.class,
+            "name", "contentLength", "contentHash", "completed", "moduleId", "moduleName",
+            "createdAt", "updatedAt");
+
     private Long id;
     private String name;
-    private String content;
+    private Integer contentLength;
+    private String contentHash;
     private Boolean completed;
     private Long moduleId;
     private String moduleName;
@@ -35,7 +44,8 @@ public class ExerciseResponse {
         return ExerciseResponse.builder()
                 .id(exercise.getId())
                 .name(exercise.getName())
-                .content(exercise.getContent())
+                .contentLength(exercise.getContentLength())
+                .contentHash(exercise.getContentHash())
                 .completed(exercise.getCompleted())
                 .moduleId(exercise.getModule() != null ? exercise.getModule().getId() : null)
                 .moduleName(exercise.getModule() != null ? exercise.getModule().getName() : null)
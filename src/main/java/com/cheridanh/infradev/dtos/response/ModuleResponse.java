@@ -1,6 +1,8 @@
 package com.cheridanh.infradev.dtos.response;
 
+import com.cheridanh.infradev.dtos.request.SelectableFields;
 import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.repositories.projections.ModuleContentCount;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,6 +19,13 @@ import java.util.List;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ModuleResponse {
 
+    /**
+     * Champs acceptés par le paramètre {@code fields} des lectures de modules.
+     */
+    public static final SelectableFields FIELDS = SelectableFields.of(ModuleResponse.class,
+            "name", "description", "blockId", "blockName", "courseCount", "exerciseCount",
+            "hasQuiz", "courses", "exercises", "quiz", "createdAt", "updatedAt");
+
     private Long id;
     private String name;
     private String description;
@@ -31,6 +40,21 @@ public class ModuleResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Constructeur utilisé par les projections de requête, sans compteurs ni détails imbriqués.
+     */
+    public ModuleResponse(Long id, String name, String description, Long blockId, String blockName,
+                          Boolean hasQuiz, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.blockId = blockId;
+        this.blockName = blockName;
+        this.hasQuiz = hasQuiz;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Construit un {@link ModuleResponse} à partir de l'entité {@link Module}
      * sans les listes de cours, exercices et quiz.
@@ -53,6 +77,29 @@ public class ModuleResponse {
                 .build();
     }
 
+    /**
+     * Construit un {@link ModuleResponse} pour une liste, avec des compteurs calculés en base
+     * plutôt qu'en initialisant les collections du module.
+     *
+     * @param module l'entité module source, avec son bloc déjà chargé
+     * @param counts les nombres de cours et d'exercices du module
+     * @return le dto sans les détails imbriqués
+     */
+    public static ModuleResponse fromEntity(Module module, ModuleContentCount counts) {
+        return ModuleResponse.builder()
+                .id(module.getId())
+                .name(module.getName())
+                .description(module.getDescription())
+                .blockId(module.getBlock() != null ? module.getBlock().getId() : null)
+                .blockName(module.getBlock() != null ? module.getBlock().getName() : null)
+                .courseCount(counts != null ? counts.courseCount() : 0L)
+                .exerciseCount(counts != null ? counts.exerciseCount() : 0L)
+                .hasQuiz(module.getQuiz() != null)
+                .createdAt(module.getCreatedAt())
+                .updatedAt(module.getUpdatedAt())
+                .build();
+    }
+
     /**
      * Construit un {@link ModuleResponse} enrichi avec les cours, exercices et quiz.
      *
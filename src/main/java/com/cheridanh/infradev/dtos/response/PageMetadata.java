@@ -0,0 +1,23 @@
+package com.cheridanh.infradev.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Métadonnées d'une page de liste. Le curseur suivant est à renvoyer tel quel dans le paramètre {@code cursor}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageMetadata {
+
+    private Integer size;
+    private String sort;
+    private Boolean hasNext;
+    private String nextCursor;
+}
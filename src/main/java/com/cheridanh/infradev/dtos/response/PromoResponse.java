@@ -1,5 +1,6 @@
 package com.cheridanh.infradev.dtos.response;
 
+import com.cheridanh.infradev.dtos.request.SelectableFields;
 import com.cheridanh.infradev.entities.Promotion;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -17,13 +19,33 @@ import java.util.List;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class PromoResponse {
 
+    /**
+     * Champs acceptés par le paramètre {@code fields} des lectures de promotions.
+     */
+    public static final SelectableFields FIELDS = SelectableFields.of(PromoResponse.class,
+            "name", "startDate", "endDate", "active", "userCount", "users", "createdAt");
+
     private Long id;
     private String name;
     private LocalDate startDate;
     private LocalDate endDate;
-    private boolean active;
+    private Boolean active;
     private Long userCount;
     private List<UserSummaryResponse> users;
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructeur utilisé par les projections de requête, sans nombre ni liste d'utilisateurs.
+     */
+    public PromoResponse(Long id, String name, LocalDate startDate, LocalDate endDate, Boolean active,
+                         LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.active = active;
+        this.createdAt = createdAt;
+    }
 
     /**
      * Construit un {@link PromoResponse} à partir d'une entité {@link Promotion},
@@ -40,6 +62,27 @@ public class PromoResponse {
                 .endDate(promotion.getEndDate())
                 .active(promotion.isActive())
                 .userCount((long) promotion.getUsers().size())
+                .createdAt(promotion.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Construit un {@link PromoResponse} pour une liste, avec un nombre d'utilisateurs calculé en base
+     * plutôt qu'en initialisant la collection de la promotion.
+     *
+     * @param promotion l'entité promotion source
+     * @param userCount le nombre d'utilisateurs de la promotion
+     * @return le dto sans le détail des utilisateurs
+     */
+    public static PromoResponse fromEntity(Promotion promotion, long userCount) {
+        return PromoResponse.builder()
+                .id(promotion.getId())
+                .name(promotion.getName())
+                .startDate(promotion.getStartDate())
+                .endDate(promotion.getEndDate())
+                .active(promotion.isActive())
+                .userCount(userCount)
+                .createdAt(promotion.getCreatedAt())
                 .build();
     }
 
@@ -62,6 +105,7 @@ public class PromoResponse {
                 .active(promotion.isActive())
                 .userCount((long) promotion.getUsers().size())
                 .users(userSummaries)
+                .createdAt(promotion.getCreatedAt())
                 .build();
     }
 }
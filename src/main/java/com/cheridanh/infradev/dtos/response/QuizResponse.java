@@ -1,5 +1,6 @@
 package com.cheridanh.infradev.dtos.response;
 
+import com.cheridanh.infradev.dtos.request.SelectableFields;
 import com.cheridanh.infradev.entities.Quiz;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -16,9 +17,17 @@ import java.time.LocalDateTime;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class QuizResponse {
 
+    /**
+     * Champs acceptés par le paramètre {@code fields} des lectures de quiz.
+     */
+    public static final SelectableFields FIELDS = SelectableFields.of(QuizResponse.class,
+            "name", "contentLength", "contentHash", "completed", "moduleId", "moduleName",
+            "createdAt", "updatedAt");
+
     private Long id;
     private String name;
-    private String content;
+    private Integer contentLength;
+    private String contentHash;
     private Boolean completed;
     private Long moduleId;
     private String moduleName;
@@ -35,7 +44,8 @@ public class QuizResponse {
         return QuizResponse.builder()
                 .id(quiz.getId())
                 .name(quiz.getName())
-                .content(quiz.getContent())
+                .contentLength(quiz.getContentLength())
+                .contentHash(quiz.getContentHash())
                 .completed(quiz.getCompleted())
                 .moduleId(quiz.getModule() != null ? quiz.getModule().getId() : null)
                 .moduleName(quiz.getModule() != null ? quiz.getModule().getName() : null)
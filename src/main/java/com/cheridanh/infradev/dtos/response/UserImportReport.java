@@ -0,0 +1,44 @@
+package com.cheridanh.infradev.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Avancement et résultat d'un import d'utilisateurs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportReport {
+
+    private String jobId;
+    private String status;
+    private String format;
+    private Integer processed;
+    private Integer imported;
+    private Integer failed;
+
+    /** Erreurs par ligne, tronquées au-delà d'un plafond pour borner la mémoire. */
+    private List<RowError> errors;
+    private Boolean errorsTruncated;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private Long line;
+        private String email;
+        private String message;
+    }
+}
@@ -1,5 +1,7 @@
 package com.cheridanh.infradev.dtos.response;
 
+import com.cheridanh.infradev.dtos.request.SelectableFields;
+import com.cheridanh.infradev.entities.Role;
 import com.cheridanh.infradev.entities.User;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -17,6 +19,13 @@ import java.util.List;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class UserResponse {
 
+    /**
+     * Champs acceptés par le paramètre {@code fields} des lectures de utilisateurs.
+     */
+    public static final SelectableFields FIELDS = SelectableFields.of(UserResponse.class,
+            "firstName", "lastName", "email", "role", "avatar", "enabled",
+            "promotionName", "promotionId", "blocks", "lastLogin", "createdAt", "updatedAt");
+
     private Long id;
     private String firstName;
     private String lastName;
@@ -31,6 +40,26 @@ public class UserResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Constructeur utilisé par les projections de requête, sans la liste des blocs.
+     */
+    public UserResponse(Long id, String firstName, String lastName, String email, Role role, String avatar,
+                        Boolean enabled, Long promotionId, String promotionName, LocalDateTime lastLogin,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.role = role != null ? role.name() : null;
+        this.avatar = avatar;
+        this.enabled = enabled;
+        this.promotionId = promotionId;
+        this.promotionName = promotionName;
+        this.lastLogin = lastLogin;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Construit un {@link UserResponse} à partir de l'entité {@link User}
      * sans la liste des blocs.
@@ -5,14 +5,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BLOCK)
 @Table(name = "blocks", indexes = {
         @Index(name = "idx_block_name", columnList = "name", unique = true),
+        @Index(name = "idx_block_created_at", columnList = "created_at"),
+        @Index(name = "idx_block_updated_at", columnList = "updated_at"),
 })
 @Data
 @NoArgsConstructor
@@ -21,7 +27,15 @@ import java.util.List;
 public class Block {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "block_id")
+    @TableGenerator(
+            name = "block_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "blocks",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -36,9 +50,14 @@ public class Block {
     private List<User> users = new ArrayList<>();
 
     @OneToMany(mappedBy = "block", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BLOCK_MODULES)
     @Builder.Default
     private List<Module> modules = new ArrayList<>();
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,23 @@
+package com.cheridanh.infradev.entities;
+
+/**
+ * Régions du cache de second niveau d'Hibernate.
+ * <p>
+ * Seules les entités de référence, relues par identifiant à chaque écriture du catalogue et rarement modifiées,
+ * sont mises en cache, en {@code READ_WRITE} : une écriture verrouille l'entrée jusqu'au commit, une lecture
+ * concurrente repart alors en base. Ces entités portent un {@code @Version} : le cache compare les versions
+ * avant d'écrire, et une entrée chargée avant une mise à jour ne remplace pas la plus récente.
+ * Chaque région est dimensionnée dans {@code hibernate-cache.conf} ;
+ * une région absente de ce fichier fait échouer le démarrage.
+ */
+public final class CacheRegions {
+
+    public static final String BLOCK = "block";
+    public static final String BLOCK_MODULES = "block-modules";
+    public static final String MODULE = "module";
+    public static final String PROMOTION = "promotion";
+    public static final String QUIZ = "quiz";
+
+    private CacheRegions() {
+    }
+}
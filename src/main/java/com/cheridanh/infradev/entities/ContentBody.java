@@ -0,0 +1,41 @@
+package com.cheridanh.infradev.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.Length;
+
+/**
+ * Contenu d'un cours, d'un exercice ou d'un quiz, stocké compressé (gzip) hors de la ligne de son propriétaire.
+ * <p>
+ * Le propriétaire le référence en chargement paresseux et porte lui-même la taille et l'empreinte du contenu :
+ * les listes et les détails n'accèdent jamais à cette table, seule la lecture du contenu la charge.
+ */
+@Entity
+@Table(name = "content_bodies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentBody {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "content_body_id")
+    @TableGenerator(
+            name = "content_body_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "content_bodies",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
+    private Long id;
+
+    @Lob
+    @Column(nullable = false, length = Length.LONG32)
+    @ToString.Exclude
+    private byte[] data;
+}
@@ -0,0 +1,22 @@
+package com.cheridanh.infradev.entities;
+
+/**
+ * Entité possédant un contenu textuel stocké dans un {@link ContentBody}.
+ * Les accesseurs sont générés par Lombok sur {@link Course}, {@link Exercise} et {@link Quiz}.
+ */
+public interface ContentHolder {
+
+    ContentBody getContentBody();
+
+    void setContentBody(ContentBody contentBody);
+
+    Integer getContentLength();
+
+    void setContentLength(Integer contentLength);
+
+    String getContentHash();
+
+    void setContentHash(String contentHash);
+
+    void setLegacyContent(String legacyContent);
+}
@@ -4,24 +4,39 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "courses", indexes = {
         @Index(name = "idx_course_name", columnList = "name", unique = true),
-        @Index(name = "idx_course_module", columnList = "module_id"),
-        @Index(name = "idx_course_completed", columnList = "completed")
+        @Index(name = "idx_course_module_name", columnList = "module_id, name"),
+        @Index(name = "idx_course_module_created_at", columnList = "module_id, created_at"),
+        @Index(name = "idx_course_completed_name", columnList = "completed, name"),
+        @Index(name = "idx_course_completed_created_at", columnList = "completed, created_at"),
+        @Index(name = "idx_course_created_at", columnList = "created_at"),
+        @Index(name = "idx_course_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_course_module_updated_at", columnList = "module_id, updated_at")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Course {
+public class Course implements ContentHolder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "course_id")
+    @TableGenerator(
+            name = "course_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "courses",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -31,8 +46,27 @@ public class Course {
 
     private String videoUrl;
 
-    @Column(nullable = false)
-    private String content;
+    @OneToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.REMOVE})
+    @JoinColumn(name = "content_body_id", unique = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ContentBody contentBody;
+
+    /** Taille du contenu décompressé, en octets UTF-8. */
+    private Integer contentLength;
+
+    /** Empreinte SHA-256 (hexadécimal) du contenu décompressé. */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Ancienne colonne du contenu en clair, encore écrite par la version précédente pendant un déploiement
+     * progressif. Vidée à chaque écriture par {@code ContentStore}.
+     */
+    @Column(name = "content")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String legacyContent;
 
     @Column(nullable = false)
     @Builder.Default
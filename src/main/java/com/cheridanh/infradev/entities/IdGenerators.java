@@ -0,0 +1,21 @@
+package com.cheridanh.infradev.entities;
+
+/**
+ * Paramètres du générateur d'identifiants partagé par les entités.
+ * <p>
+ * MySQL n'a pas de séquences et {@code GenerationType.IDENTITY} oblige Hibernate à exécuter chaque INSERT
+ * immédiatement pour lire la clé générée, ce qui désactive le batching JDBC. Les identifiants sont donc
+ * réservés par blocs de {@value #ALLOCATION_SIZE} dans la table {@value #TABLE} (une ligne par table métier),
+ * avec l'optimiseur {@code pooled} : la ligne est verrouillée le temps de la réservation, dans une transaction
+ * séparée, ce qui garantit des blocs disjoints entre plusieurs instances de l'application.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String PK_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
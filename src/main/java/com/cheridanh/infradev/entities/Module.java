@@ -5,16 +5,30 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MODULE)
+@NamedEntityGraph(name = Module.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("block"),
+        @NamedAttributeNode("quiz"),
+        @NamedAttributeNode("courses")
+})
 @Table(name = "modules", indexes = {
         @Index(name = "idx_module_name", columnList = "name", unique = true),
-        @Index(name = "idx_module_block", columnList = "block_id"),
-        @Index(name = "idx_module_quiz", columnList = "quiz_id")
+        @Index(name = "idx_module_block_name", columnList = "block_id, name"),
+        @Index(name = "idx_module_block_created_at", columnList = "block_id, created_at"),
+        @Index(name = "idx_module_quiz", columnList = "quiz_id"),
+        @Index(name = "idx_module_created_at", columnList = "created_at"),
+        @Index(name = "idx_module_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_module_block_updated_at", columnList = "block_id, updated_at")
 })
 @Data
 @NoArgsConstructor
@@ -22,8 +36,23 @@ import java.util.List;
 @Builder
 public class Module {
 
+    /**
+     * Plan de chargement du détail d'un module : bloc, quiz et cours en une jointure.
+     * Les exercices n'y figurent pas : joindre deux collections multiplierait les lignes
+     * (produit cartésien) ; ils sont chargés par une seconde requête, par lots.
+     */
+    public static final String DETAILS_GRAPH = "Module.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "module_id")
+    @TableGenerator(
+            name = "module_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "modules",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -40,6 +69,7 @@ public class Module {
     private List<Course> courses = new ArrayList<>();
 
     @OneToMany(mappedBy = "module", fetch = FetchType.LAZY)
+    @BatchSize(size = 32)
     @Builder.Default
     private List<Exercise> exercises = new ArrayList<>();
 
@@ -47,6 +77,10 @@ public class Module {
     @JoinColumn(name = "quiz_id", referencedColumnName = "id")
     private Quiz quiz;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,15 +14,37 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "promotions", indexes = @Index(name = "idx_promotion_name", columnList = "name", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROMOTION)
+@NamedEntityGraph(name = Promotion.DETAILS_GRAPH, attributeNodes = @NamedAttributeNode("users"))
+@Table(name = "promotions", indexes = {
+        @Index(name = "idx_promotion_name", columnList = "name", unique = true),
+        @Index(name = "idx_promotion_start_date", columnList = "start_date"),
+        @Index(name = "idx_promotion_created_at", columnList = "created_at"),
+        @Index(name = "idx_promotion_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_promotion_active_start_date", columnList = "active, start_date"),
+        @Index(name = "idx_promotion_active_name", columnList = "active, name"),
+        @Index(name = "idx_promotion_active_created_at", columnList = "active, created_at")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Promotion {
 
+    /** Plan de chargement du détail d'une promotion : ses utilisateurs en une requête. */
+    public static final String DETAILS_GRAPH = "Promotion.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "promotion_id")
+    @TableGenerator(
+            name = "promotion_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "promotions",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -40,6 +64,10 @@ public class Promotion {
     @Builder.Default
     private boolean active = true;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
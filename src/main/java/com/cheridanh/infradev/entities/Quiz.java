@@ -4,30 +4,66 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.QUIZ)
 @Table(name = "quizzes", indexes = {
         @Index(name = "idx_quiz_name", columnList = "name", unique = true),
-        @Index(name = "idx_quiz_completed", columnList = "completed"),
+        @Index(name = "idx_quiz_completed_name", columnList = "completed, name"),
+        @Index(name = "idx_quiz_completed_created_at", columnList = "completed, created_at"),
+        @Index(name = "idx_quiz_created_at", columnList = "created_at"),
+        @Index(name = "idx_quiz_updated_at", columnList = "updated_at"),
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Quiz {
+public class Quiz implements ContentHolder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "quiz_id")
+    @TableGenerator(
+            name = "quiz_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "quizzes",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true)
     private String name;
 
-    @Column(nullable = false)
-    private String content;
+    @OneToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.REMOVE})
+    @JoinColumn(name = "content_body_id", unique = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ContentBody contentBody;
+
+    /** Taille du contenu décompressé, en octets UTF-8. */
+    private Integer contentLength;
+
+    /** Empreinte SHA-256 (hexadécimal) du contenu décompressé. */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Ancienne colonne du contenu en clair, encore écrite par la version précédente pendant un déploiement
+     * progressif. Vidée à chaque écriture par {@code ContentStore}.
+     */
+    @Column(name = "content")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String legacyContent;
 
     @Column(nullable = false)
     @Builder.Default
@@ -36,6 +72,10 @@ public class Quiz {
     @OneToOne(mappedBy = "quiz")
     private Module module;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
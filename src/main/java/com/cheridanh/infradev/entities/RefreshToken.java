@@ -8,10 +8,17 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
+/**
+ * Famille de refresh tokens. Chaque rotation incrémente la génération et remplace l'empreinte du secret
+ * sur la même ligne, en conservant celle de la génération précédente : la présentation authentifiée
+ * de cette génération révèle la réutilisation d'un token et entraîne la révocation de toute la famille.
+ */
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_token", columnList = "token", unique = true),
-        @Index(name = "idx_refresh_token_user", columnList = "user_id")
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_revoked", columnList = "revoked"),
+        @Index(name = "idx_refresh_token_expiry", columnList = "expiry_date")
 })
 @Data
 @NoArgsConstructor
@@ -20,10 +27,30 @@ import java.time.Instant;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "refresh_token_id")
+    @TableGenerator(
+            name = "refresh_token_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "refresh_tokens",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    /** Empreinte SHA-256 du secret de la génération courante. */
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    /**
+     * Empreinte du secret de la génération précédente, pour authentifier une réutilisation
+     * avant de révoquer la famille. Nulle tant que la famille n'a pas été renouvelée.
+     */
+    @Column(name = "previous_token_hash", columnDefinition = "BINARY(32)")
+    private byte[] previousTokenHash;
+
+    /** Valeur du token en clair, disponible uniquement à sa création ; jamais persistée. */
+    @Transient
     private String token;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +63,10 @@ public class RefreshToken {
     @Column(nullable = false)
     private boolean revoked;
 
+    /** Génération courante de la famille, incrémentée à chaque rotation. */
+    @Column(nullable = false)
+    private int generation;
+
     /**
      * Vérifie si le refresh token est expiré.
      *
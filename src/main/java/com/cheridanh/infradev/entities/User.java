@@ -11,9 +11,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = User.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("promotion"),
+        @NamedAttributeNode("blocks")
+})
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email", unique = true),
-        @Index(name = "idx_promotion_id", columnList = "promotion_id"),
+        @Index(name = "idx_user_promotion_created_at", columnList = "promotion_id, created_at"),
+        @Index(name = "idx_user_promotion_email", columnList = "promotion_id, email"),
+        @Index(name = "idx_user_role_created_at", columnList = "role, created_at"),
+        @Index(name = "idx_user_role_email", columnList = "role, email"),
+        @Index(name = "idx_user_created_at", columnList = "created_at"),
+        @Index(name = "idx_user_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_user_promotion_updated_at", columnList = "promotion_id, updated_at"),
 })
 @Data
 @NoArgsConstructor
@@ -21,8 +31,19 @@ import java.util.List;
 @Builder
 public class User {
 
+    /** Plan de chargement du détail d'un utilisateur : promotion et blocs en une requête. */
+    public static final String DETAILS_GRAPH = "User.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(
+            name = "user_id",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "users",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -79,6 +100,25 @@ public class User {
     @Column(nullable = false)
     private Boolean credentialsNonExpired = true;
 
+    /**
+     * Fin du verrouillage temporaire posé après trop d'échecs de connexion.
+     * Passée cette date, le compte est de nouveau utilisable même si {@code accountNonLocked} vaut false.
+     */
+    private LocalDateTime lockedUntil;
+
+    /**
+     * Version de sécurité incrémentée à chaque changement de rôle, d'état ou d'email.
+     * Les tokens portant une version antérieure sont considérés comme révoqués.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer securityVersion = 0;
+
+    /**
+     * Écrite uniquement par {@link com.cheridanh.infradev.services.LastLoginRecorder} : une sauvegarde de l'entité
+     * ne doit pas écraser une date enregistrée entre sa lecture et son écriture.
+     */
+    @Column(insertable = false, updatable = false)
     private LocalDateTime lastLogin;
 
     @Column(nullable = false, updatable = false)
@@ -3,8 +3,10 @@ package com.cheridanh.infradev.exceptions;
 import com.cheridanh.infradev.dtos.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.*;
 import org.springframework.validation.FieldError;
@@ -67,6 +69,38 @@ public class GlobalExceptionHandler {
                 request);
     }
 
+    /**
+     * Gère les paramètres de pagination, de tri ou de filtre invalides.
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPageRequest(
+            InvalidPageRequestException ex, HttpServletRequest request) {
+
+        log.warn("Pagination invalide sur {} : {}", request.getRequestURI(), ex.getMessage());
+
+        return buildErrorResponseEntity(
+                HttpStatus.BAD_REQUEST,
+                "Pagination invalide",
+                ex.getMessage(),
+                request);
+    }
+
+    /**
+     * Gère les sélections de champs ({@code fields}) invalides.
+     */
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldSelection(
+            InvalidFieldSelectionException ex, HttpServletRequest request) {
+
+        log.warn("Sélection de champs invalide sur {} : {}", request.getRequestURI(), ex.getMessage());
+
+        return buildErrorResponseEntity(
+                HttpStatus.BAD_REQUEST,
+                "Sélection de champs invalide",
+                ex.getMessage(),
+                request);
+    }
+
     /**
      * Gère les requêtes vers des ressources inexistantes (route non mappée).
      */
@@ -332,6 +366,78 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Gère les modifications concurrentes : la ressource a changé depuis sa lecture ({@code @Version}).
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+
+        log.warn("Modification concurrente sur {} : {}", request.getRequestURI(), ex.getMessage());
+
+        return buildErrorResponseEntity(
+                HttpStatus.CONFLICT,
+                "Conflit",
+                "La ressource a été modifiée entre-temps. Veuillez la recharger puis réessayer.",
+                request
+        );
+    }
+
+    /**
+     * Gère les fichiers trop volumineux (import d'utilisateurs).
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handlePayloadTooLarge(
+            PayloadTooLargeException ex, HttpServletRequest request) {
+
+        log.warn("Corps de requête trop volumineux sur {}", request.getRequestURI());
+
+        return buildErrorResponseEntity(
+                HttpStatus.CONTENT_TOO_LARGE,
+                "Fichier trop volumineux",
+                ex.getMessage(),
+                request
+        );
+    }
+
+    /**
+     * Gère les rejets dus à une surcharge temporaire (file de hachage ou d'import pleine).
+     */
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServerBusy(
+            ServerBusyException ex, HttpServletRequest request) {
+
+        log.warn("Requête rejetée pour surcharge sur {}", request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildErrorResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Service surchargé",
+                        ex.getMessage(),
+                        request
+                ));
+    }
+
+    /**
+     * Gère les tentatives de connexion trop nombreuses.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(
+            TooManyRequestsException ex, HttpServletRequest request) {
+
+        log.warn("Tentatives trop nombreuses sur {}", request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildErrorResponse(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Trop de tentatives",
+                        ex.getMessage(),
+                        request
+                ));
+    }
+
     /**
      * Gère toutes les exceptions non prévues.
      */
@@ -0,0 +1,11 @@
+package com.cheridanh.infradev.exceptions;
+
+/**
+ * Exception levée lorsque le paramètre {@code fields} demande un champ non autorisé pour la ressource.
+ */
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    public InvalidFieldSelectionException(String message) {
+        super(message);
+    }
+}
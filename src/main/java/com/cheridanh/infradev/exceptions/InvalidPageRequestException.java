@@ -0,0 +1,11 @@
+package com.cheridanh.infradev.exceptions;
+
+/**
+ * Exception levée lorsqu'un paramètre de pagination, de tri ou de filtre est invalide.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
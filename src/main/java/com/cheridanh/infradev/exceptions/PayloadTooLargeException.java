@@ -0,0 +1,18 @@
+package com.cheridanh.infradev.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception levée lorsque le corps d'une requête dépasse la taille maximale acceptée.
+ */
+@Getter
+public class PayloadTooLargeException extends RuntimeException {
+
+    /** Taille maximale acceptée, en octets. */
+    private final long maxBytes;
+
+    public PayloadTooLargeException(long maxBytes) {
+        super("Le fichier dépasse la taille maximale autorisée (" + maxBytes + " octets)");
+        this.maxBytes = maxBytes;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cheridanh.infradev.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception levée lorsque le serveur refuse une opération coûteuse faute de capacité disponible.
+ */
+@Getter
+public class ServerBusyException extends RuntimeException {
+
+    /** Délai suggéré au client avant une nouvelle tentative, en secondes. */
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(long retryAfterSeconds) {
+        super("Le serveur est momentanément surchargé, veuillez réessayer plus tard");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cheridanh.infradev.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception levée lorsqu'un client dépasse le nombre de tentatives autorisées.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /** Délai suggéré au client avant une nouvelle tentative, en secondes. */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds) {
+        super("Trop de tentatives de connexion, veuillez réessayer plus tard");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
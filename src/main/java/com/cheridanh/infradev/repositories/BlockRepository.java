@@ -1,9 +1,13 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.repositories.projections.CatalogBlockRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BlockRepository extends JpaRepository<Block, Long> {
 
@@ -24,4 +28,17 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
      * @return true si le nom est déjà pris par un autre bloc
      */
     boolean existsByNameEqualsIgnoreCaseAndIdNot(String name, Long id);
+
+    /**
+     * Récupère les blocs de l'arbre du catalogue, triés par nom.
+     *
+     * @return les lignes de blocs
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.CatalogBlockRow(
+                b.id, b.name, b.description, b.cover)
+            FROM Block b
+            ORDER BY b.name
+            """)
+    List<CatalogBlockRow> findCatalogRows();
 }
@@ -0,0 +1,33 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.entities.ContentBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ContentBodyRepository extends JpaRepository<ContentBody, Long> {
+
+    /**
+     * Récupère le contenu compressé d'un corps, sans passer par le contexte de persistance.
+     *
+     * @param id l'identifiant du corps
+     * @return les octets compressés
+     */
+    @Query("SELECT b.data FROM ContentBody b WHERE b.id = :id")
+    Optional<byte[]> findDataById(@Param("id") Long id);
+
+    /**
+     * Remplace le contenu compressé d'un corps existant, sans le charger.
+     *
+     * @param id l'identifiant du corps
+     * @param data les nouveaux octets compressés
+     */
+    @Modifying
+    @Query("UPDATE ContentBody b SET b.data = :data WHERE b.id = :id")
+    void updateData(@Param("id") Long id, @Param("data") byte[] data);
+}
@@ -1,10 +1,16 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.repositories.projections.CatalogContentRow;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -33,5 +39,34 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * @param moduleId l'identifiant du module
      * @return la liste des cours du module
      */
+    @EntityGraph(attributePaths = "module")
     List<Course> findByModuleId(Long moduleId);
+
+    /**
+     * Récupère les cours rattachés à un module pour l'arbre du catalogue, triés par nom.
+     *
+     * @return les lignes de cours
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.CatalogContentRow(
+                c.id, c.module.id, c.name, c.completed)
+            FROM Course c
+            WHERE c.module IS NOT NULL
+            ORDER BY c.name
+            """)
+    List<CatalogContentRow> findCatalogRows();
+
+    /**
+     * Récupère la référence vers le contenu d'un cours, sans charger l'entité ni le contenu.
+     *
+     * @param id l'identifiant du cours
+     * @return la référence, vide si le cours n'existe pas
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.ContentRef(
+                c.contentBody.id, c.contentLength, c.contentHash, c.legacyContent)
+            FROM Course c
+            WHERE c.id = :id
+            """)
+    Optional<ContentRef> findContentRefById(@Param("id") Long id);
 }
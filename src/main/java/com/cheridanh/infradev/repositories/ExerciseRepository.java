@@ -1,10 +1,16 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.Exercise;
+import com.cheridanh.infradev.repositories.projections.CatalogContentRow;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
@@ -33,5 +39,34 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
      * @param moduleId l'identifiant du module
      * @return la liste des exercices du module
      */
+    @EntityGraph(attributePaths = "module")
     List<Exercise> findByModuleId(Long moduleId);
+
+    /**
+     * Récupère les exercices rattachés à un module pour l'arbre du catalogue, triés par nom.
+     *
+     * @return les lignes de exercices
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.CatalogContentRow(
+                e.id, e.module.id, e.name, e.completed)
+            FROM Exercise e
+            WHERE e.module IS NOT NULL
+            ORDER BY e.name
+            """)
+    List<CatalogContentRow> findCatalogRows();
+
+    /**
+     * Récupère la référence vers le contenu d'un exercice, sans charger l'entité ni le contenu.
+     *
+     * @param id l'identifiant de l'exercice
+     * @return la référence, vide si l'exercice n'existe pas
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.ContentRef(
+                e.contentBody.id, e.contentLength, e.contentHash, e.legacyContent)
+            FROM Exercise e
+            WHERE e.id = :id
+            """)
+    Optional<ContentRef> findContentRefById(@Param("id") Long id);
 }
@@ -0,0 +1,267 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.dtos.response.PageMetadata;
+import com.cheridanh.infradev.exceptions.InvalidPageRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Pagination par curseur (keyset) des listes.
+ * <p>
+ * Plutôt qu'un OFFSET, dont le coût croît avec le numéro de page, chaque page reprend après la dernière ligne
+ * de la précédente : {@code WHERE (tri, id) > (valeur, dernierId) ORDER BY tri, id LIMIT taille + 1}.
+ * La requête parcourt l'index du champ de tri et ne lit que la page demandée, quelle que soit la taille de la table.
+ * Chaque combinaison filtre + tri autorisée est couverte par un index composite (filtre, tri), auquel InnoDB
+ * ajoute la clé primaire : un filtre seul, peu sélectif, obligerait à trier toutes les lignes retenues.
+ * <p>
+ * Le curseur est opaque pour le client : il encode le tri, la valeur du champ de tri et l'identifiant
+ * de la dernière ligne retournée.
+ * <p>
+ * Les requêtes sont en lecture seule : avec une projection, les lignes sont construites directement
+ * et n'entrent pas dans le contexte de persistance. Lorsque seuls certains champs sont demandés
+ * ({@code fields}), seules leurs colonnes sont sélectionnées, avec l'identifiant et le champ de tri
+ * nécessaires au curseur ; les autres champs des lignes restent nuls.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Charge une page de lignes.
+     *
+     * @param spec les champs de tri et de filtre autorisés et la forme des lignes
+     * @param query le curseur, la taille, le tri et les filtres demandés
+     * @return la page de lignes et ses métadonnées
+     * @throws InvalidPageRequestException si le tri, un filtre ou le curseur est invalide
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <E, R> CursorPage<R> findPage(KeysetSpec<E, R> spec, PageQuery query) {
+        KeysetSpec.SortOrder<R> sort = spec.resolveSort(query.sort());
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> criteria = cb.createQuery();
+        Root<E> root = criteria.from(spec.entityClass());
+        String sortName = sort.field().name();
+        Function<Object, R> rowMapper = select(spec, cb, criteria, root,
+                name -> name.equals(ID) || name.equals(sortName) || query.fields().includes(name));
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (Map.Entry<String, String> filter : query.filters().entrySet()) {
+            KeysetSpec.FilterField field = spec.filterField(filter.getKey());
+            predicates.add(cb.equal(path(root, field.path()), KeysetSpec.parse(field.name(), filter.getValue(), field.type())));
+        }
+
+        Path<Comparable> sortPath = path(root, sort.field().path());
+        Path<Long> idPath = root.get(ID);
+
+        if (query.cursor() != null) {
+            Keyset keyset = decodeCursor(query.cursor(), sort);
+            Comparable value = keyset.value();
+            predicates.add(sort.ascending()
+                    ? cb.or(cb.greaterThan(sortPath, value),
+                            cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, keyset.id())))
+                    : cb.or(cb.lessThan(sortPath, value),
+                            cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, keyset.id()))));
+        }
+
+        criteria.where(predicates.toArray(Predicate[]::new))
+                .orderBy(sort.ascending()
+                        ? List.of(cb.asc(sortPath), cb.asc(idPath))
+                        : List.of(cb.desc(sortPath), cb.desc(idPath)));
+
+        List<R> rows = entityManager.createQuery(criteria)
+                .setMaxResults(query.size() + 1)
+                .getResultStream()
+                .map(rowMapper)
+                .toList();
+
+        boolean hasNext = rows.size() > query.size();
+        List<R> items = hasNext ? rows.subList(0, query.size()) : rows;
+        String nextCursor = hasNext ? encodeCursor(sort, items.getLast(), spec) : null;
+
+        return new CursorPage<>(List.copyOf(items), PageMetadata.builder()
+                .size(items.size())
+                .sort(sort.key())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * Charge une seule ligne par identifiant, avec la même forme que les pages.
+     *
+     * @param spec la forme des lignes
+     * @param id l'identifiant de l'entité
+     * @return la ligne, ou {@link Optional#empty()} si aucune entité ne correspond
+     */
+    public <E, R> Optional<R> findById(KeysetSpec<E, R> spec, Long id) {
+        return findById(spec, id, FieldSelection.ALL);
+    }
+
+    /**
+     * Charge une seule ligne par identifiant, restreinte aux champs demandés.
+     *
+     * @param spec la forme des lignes
+     * @param id l'identifiant de l'entité
+     * @param fields les champs à lire
+     * @return la ligne, ou {@link Optional#empty()} si aucune entité ne correspond
+     */
+    public <E, R> Optional<R> findById(KeysetSpec<E, R> spec, Long id, FieldSelection fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> criteria = cb.createQuery();
+        Root<E> root = criteria.from(spec.entityClass());
+        Function<Object, R> rowMapper = select(spec, cb, criteria, root,
+                name -> name.equals(ID) || fields.includes(name));
+        criteria.where(cb.equal(root.get(ID), id));
+
+        return entityManager.createQuery(criteria).getResultStream().findFirst().map(rowMapper);
+    }
+
+    /**
+     * Déclare la sélection de la requête et retourne la conversion de ses résultats en lignes.
+     * Une projection complète passe par le constructeur du DTO ; une projection partielle ne sélectionne
+     * que les colonnes retenues, affectées ensuite aux propriétés du DTO.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E, R> Function<Object, R> select(KeysetSpec<E, R> spec, CriteriaBuilder cb,
+                                                     CriteriaQuery<Object> criteria, Root<E> root,
+                                                     java.util.function.Predicate<String> selected) {
+        if (!spec.isProjection()) {
+            spec.fetches().forEach(attribute -> root.fetch(attribute, JoinType.LEFT));
+            criteria.select(root);
+            return row -> (R) row;
+        }
+
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<KeysetSpec.Column> columns = spec.columns().stream()
+                .filter(column -> selected.test(column.name()))
+                .toList();
+        Selection<?>[] selections = columns.stream()
+                .map(column -> columnSelection(cb, root, column, joins))
+                .toArray(Selection[]::new);
+
+        if (columns.size() == spec.columns().size()) {
+            criteria.select(cb.construct(spec.resultClass(), selections));
+            return row -> (R) row;
+        }
+
+        criteria.multiselect(selections);
+        return row -> toRow(spec.resultClass(), columns, row instanceof Object[] values ? values : new Object[]{row});
+    }
+
+    /**
+     * Sélection d'une colonne : l'attribut lui-même, ou pour une colonne de présence, s'il est renseigné.
+     */
+    private static Selection<?> columnSelection(CriteriaBuilder cb, Root<?> root, KeysetSpec.Column column,
+                                               Map<String, From<?, ?>> joins) {
+        Path<?> path = columnPath(root, column.path(), joins);
+        if (!column.presence()) {
+            return path;
+        }
+        return cb.<Boolean>selectCase().when(cb.isNotNull(path), true).otherwise(false);
+    }
+
+    /**
+     * Résout le chemin d'une colonne, en joignant à gauche les associations traversées (une seule fois chacune).
+     */
+    private static Path<?> columnPath(Root<?> root, String attributePath, Map<String, From<?, ?>> joins) {
+        int lastDot = attributePath.lastIndexOf('.');
+        if (lastDot < 0) {
+            return root.get(attributePath);
+        }
+
+        From<?, ?> from = root;
+        String joined = "";
+        for (String association : attributePath.substring(0, lastDot).split("\\.")) {
+            From<?, ?> parent = from;
+            joined = joined.isEmpty() ? association : joined + "." + association;
+            from = joins.computeIfAbsent(joined, key -> parent.join(association, JoinType.LEFT));
+        }
+        return from.get(attributePath.substring(lastDot + 1));
+    }
+
+    /**
+     * Construit une ligne partielle : les colonnes sélectionnées sont affectées aux propriétés du DTO,
+     * converties si besoin (énumération vers texte), les autres restent nulles.
+     */
+    private static <R> R toRow(Class<R> resultClass, List<KeysetSpec.Column> columns, Object[] values) {
+        R row = BeanUtils.instantiateClass(resultClass);
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        wrapper.setConversionService(DefaultConversionService.getSharedInstance());
+        for (int i = 0; i < columns.size(); i++) {
+            wrapper.setPropertyValue(columns.get(i).name(), values[i]);
+        }
+        return row;
+    }
+
+    private static <X> Path<X> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        @SuppressWarnings("unchecked")
+        Path<X> typed = (Path<X>) path;
+        return typed;
+    }
+
+    private static <R> String encodeCursor(KeysetSpec.SortOrder<R> sort, R last, KeysetSpec<?, R> spec) {
+        String raw = sort.key()
+                + CURSOR_SEPARATOR + spec.idOf(last)
+                + CURSOR_SEPARATOR + sort.field().extractor().apply(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Keyset decodeCursor(String cursor, KeysetSpec.SortOrder<?> sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + CURSOR_SEPARATOR, 3);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Curseur invalide");
+        }
+        if (parts.length != 3) {
+            throw new InvalidPageRequestException("Curseur invalide");
+        }
+        if (!parts[0].equals(sort.key())) {
+            throw new InvalidPageRequestException("Le curseur a été obtenu avec un autre tri : '" + parts[0] + "'");
+        }
+
+        Long id = (Long) KeysetSpec.parse("cursor", parts[1], Long.class);
+        Comparable<?> value = (Comparable<?>) KeysetSpec.parse("cursor", parts[2], sort.field().type());
+        return new Keyset(id, value);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private record Keyset(Long id, Comparable value) {
+    }
+}
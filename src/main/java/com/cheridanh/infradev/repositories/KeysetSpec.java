@@ -0,0 +1,273 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.exceptions.InvalidPageRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Description des champs de tri et de filtre autorisés pour la pagination d'une entité.
+ * <p>
+ * Seuls les champs déclarés ici sont acceptés : un tri ou un filtre non déclaré est refusé. Chacun doit être
+ * couvert par un index, l'identifiant servant de départage (InnoDB l'ajoute à tout index secondaire).
+ * Les champs de tri doivent être non nuls.
+ * <p>
+ * Les lignes sont soit les entités elles-mêmes ({@link #builder(Class, Function)}), soit une projection
+ * construite directement par la requête à partir des colonnes déclarées ({@link #projection(Class, Class, Function)}) :
+ * aucune entité n'est alors chargée ni suivie par le contexte de persistance, et seules les colonnes
+ * des champs demandés ({@code fields}) sont sélectionnées.
+ *
+ * @param <E> le type de l'entité interrogée
+ * @param <R> le type des lignes retournées
+ */
+public final class KeysetSpec<E, R> {
+
+    private static final String ID = "id";
+
+    private final Class<E> entityClass;
+    private final Class<R> resultClass;
+    private final List<Column> columns;
+    private final Function<R, Long> idExtractor;
+    private final Map<String, SortField<R>> sortFields;
+    private final Map<String, FilterField> filterFields;
+    private final List<String> fetches;
+    private final String defaultSort;
+
+    private KeysetSpec(Builder<E, R> builder) {
+        this.entityClass = builder.entityClass;
+        this.resultClass = builder.resultClass;
+        this.columns = List.copyOf(builder.columns);
+        this.idExtractor = builder.idExtractor;
+        this.sortFields = Map.copyOf(builder.sortFields);
+        this.filterFields = Map.copyOf(builder.filterFields);
+        this.fetches = List.copyOf(builder.fetches);
+        this.defaultSort = builder.defaultSort;
+    }
+
+    /**
+     * Pagination d'entités.
+     */
+    public static <E> Builder<E, E> builder(Class<E> entityClass, Function<E, Long> idExtractor) {
+        return new Builder<>(entityClass, entityClass, false, idExtractor);
+    }
+
+    /**
+     * Pagination d'une projection : chaque ligne est construite par la requête à partir des colonnes
+     * déclarées par {@link Builder#column}, dans l'ordre du constructeur complet de {@code resultClass}.
+     */
+    public static <E, R> Builder<E, R> projection(Class<E> entityClass, Class<R> resultClass,
+                                                  Function<R, Long> idExtractor) {
+        return new Builder<>(entityClass, resultClass, true, idExtractor);
+    }
+
+    Class<E> entityClass() {
+        return entityClass;
+    }
+
+    Class<R> resultClass() {
+        return resultClass;
+    }
+
+    /**
+     * @return true si les lignes sont une projection, false pour retourner les entités
+     */
+    boolean isProjection() {
+        return !columns.isEmpty();
+    }
+
+    /**
+     * @return les colonnes de la projection, dans l'ordre du constructeur complet du DTO
+     */
+    List<Column> columns() {
+        return columns;
+    }
+
+    List<String> fetches() {
+        return fetches;
+    }
+
+    Long idOf(R row) {
+        return idExtractor.apply(row);
+    }
+
+    /**
+     * Résout le tri demandé ({@code champ} ou {@code -champ}), ou le tri par défaut.
+     */
+    SortOrder<R> resolveSort(String sort) {
+        String requested = sort != null ? sort : defaultSort;
+        boolean descending = requested.startsWith("-");
+        String name = descending ? requested.substring(1) : requested;
+
+        SortField<R> field = sortFields.get(name);
+        if (field == null) {
+            throw new InvalidPageRequestException(
+                    "Tri non autorisé : '" + name + "'. Champs acceptés : " + sortFields.keySet());
+        }
+        return new SortOrder<>(field, !descending);
+    }
+
+    FilterField filterField(String name) {
+        FilterField field = filterFields.get(name);
+        if (field == null) {
+            throw new InvalidPageRequestException(
+                    "Filtre non autorisé : '" + name + "'. Champs acceptés : " + filterFields.keySet());
+        }
+        return field;
+    }
+
+    /**
+     * Convertit une valeur textuelle (paramètre ou curseur) dans le type du champ.
+     */
+    static Object parse(String name, String value, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            } else if (type == Long.class) {
+                return Long.valueOf(value);
+            } else if (type == Boolean.class) {
+                if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException(value);
+                }
+                return Boolean.valueOf(value);
+            } else if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            } else if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            } else if (type.isEnum()) {
+                return enumValue(type, value);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidPageRequestException("Valeur invalide pour '" + name + "' : '" + value + "'");
+        }
+        throw new IllegalStateException("Type de champ non supporté : " + type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(Class<?> type, String value) {
+        return Enum.valueOf((Class<? extends Enum>) type, value.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Champ de tri : chemin de l'attribut, type et accesseur pour construire le curseur.
+     */
+    record SortField<R>(String name, String path, Class<?> type, Function<R, ?> extractor) {
+    }
+
+    /**
+     * Champ de filtre : chemin de l'attribut (éventuellement via une association) et type.
+     */
+    record FilterField(String name, String path, Class<?> type) {
+    }
+
+    /**
+     * Colonne d'une projection : champ du DTO, chemin de l'attribut (les associations sont jointes à gauche) et type.
+     * Une colonne de présence ne lit pas l'attribut mais indique s'il est renseigné.
+     */
+    record Column(String name, String path, Class<?> type, boolean presence) {
+    }
+
+    record SortOrder<R>(SortField<R> field, boolean ascending) {
+
+        /**
+         * @return la forme textuelle du tri, inscrite dans le curseur
+         */
+        String key() {
+            return ascending ? field.name() : "-" + field.name();
+        }
+    }
+
+    public static final class Builder<E, R> {
+
+        private final Class<E> entityClass;
+        private final Class<R> resultClass;
+        private final boolean projection;
+        private final Function<R, Long> idExtractor;
+        private final List<Column> columns = new ArrayList<>();
+        private final Map<String, SortField<R>> sortFields = new LinkedHashMap<>();
+        private final Map<String, FilterField> filterFields = new LinkedHashMap<>();
+        private final List<String> fetches = new ArrayList<>();
+        private String defaultSort = ID;
+
+        private Builder(Class<E> entityClass, Class<R> resultClass, boolean projection,
+                        Function<R, Long> idExtractor) {
+            this.entityClass = entityClass;
+            this.resultClass = resultClass;
+            this.projection = projection;
+            this.idExtractor = idExtractor;
+            sortFields.put(ID, new SortField<>(ID, ID, Long.class, idExtractor));
+        }
+
+        public Builder<E, R> column(String name, Class<?> type) {
+            return column(name, name, type);
+        }
+
+        /**
+         * Ajoute une colonne à la projection, lue au chemin donné ({@code module.name}).
+         */
+        public Builder<E, R> column(String name, String path, Class<?> type) {
+            if (!projection) {
+                throw new IllegalStateException("Colonne déclarée hors projection : " + name);
+            }
+            columns.add(new Column(name, path, type, false));
+            return this;
+        }
+
+        /**
+         * Ajoute une colonne booléenne à la projection : vraie si l'attribut au chemin donné ({@code quiz.id})
+         * est renseigné.
+         */
+        public Builder<E, R> presence(String name, String path) {
+            if (!projection) {
+                throw new IllegalStateException("Colonne déclarée hors projection : " + name);
+            }
+            columns.add(new Column(name, path, Boolean.class, true));
+            return this;
+        }
+
+        public Builder<E, R> sort(String name, Class<?> type, Function<R, ?> extractor) {
+            sortFields.put(name, new SortField<>(name, name, type, extractor));
+            return this;
+        }
+
+        public Builder<E, R> filter(String name, Class<?> type) {
+            return filter(name, name, type);
+        }
+
+        public Builder<E, R> filter(String name, String path, Class<?> type) {
+            filterFields.put(name, new FilterField(name, path, type));
+            return this;
+        }
+
+        /**
+         * Charge une association à valeur unique dans la requête de page (LEFT JOIN FETCH),
+         * pour les DTO qui en lisent les attributs.
+         */
+        public Builder<E, R> fetch(String attribute) {
+            fetches.add(attribute);
+            return this;
+        }
+
+        public Builder<E, R> defaultSort(String defaultSort) {
+            this.defaultSort = defaultSort;
+            return this;
+        }
+
+        public KeysetSpec<E, R> build() {
+            String name = defaultSort.startsWith("-") ? defaultSort.substring(1) : defaultSort;
+            if (!sortFields.containsKey(name)) {
+                throw new IllegalStateException("Tri par défaut non déclaré : " + defaultSort);
+            }
+            if (projection && columns.isEmpty()) {
+                throw new IllegalStateException("Projection sans colonne : " + resultClass.getSimpleName());
+            }
+            return new KeysetSpec<>(this);
+        }
+    }
+}
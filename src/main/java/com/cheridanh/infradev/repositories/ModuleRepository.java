@@ -1,10 +1,17 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.repositories.projections.CatalogModuleRow;
+import com.cheridanh.infradev.repositories.projections.ModuleContentCount;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ModuleRepository extends JpaRepository<Module, Long> {
@@ -28,10 +35,52 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
     boolean existsByNameEqualsIgnoreCaseAndIdNot(String name, Long id);
 
     /**
-     * Récupère tous les modules d'un bloc donné.
+     * Récupère tous les modules d'un bloc donné, avec ce bloc.
      *
      * @param blocId l'identifiant du bloc
      * @return la liste des modules du bloc
      */
+    @EntityGraph(attributePaths = "block")
     List<Module> findByBlockId(Long blocId);
+
+    /**
+     * Récupère un module avec son bloc, son quiz et ses cours selon {@link Module#DETAILS_GRAPH}.
+     *
+     * @param id l'identifiant du module
+     * @return le module, ou {@link Optional#empty()} s'il n'existe pas
+     */
+    @EntityGraph(Module.DETAILS_GRAPH)
+    Optional<Module> findDetailedById(Long id);
+
+    /**
+     * Compte les cours et exercices de plusieurs modules en une seule requête,
+     * sans charger leurs collections.
+     *
+     * @param ids les identifiants des modules
+     * @return les nombres de cours et d'exercices, un élément par module
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.ModuleContentCount(
+                m.id,
+                (SELECT COUNT(c) FROM Course c WHERE c.module = m),
+                (SELECT COUNT(e) FROM Exercise e WHERE e.module = m))
+            FROM Module m
+            WHERE m.id IN :ids
+            """)
+    List<ModuleContentCount> countContentsByModuleIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère les modules rattachés à un bloc, avec leur quiz, pour l'arbre du catalogue, triés par nom.
+     *
+     * @return les lignes de modules
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.CatalogModuleRow(
+                m.id, m.block.id, m.name, m.description, q.id, q.name, q.completed)
+            FROM Module m
+            LEFT JOIN m.quiz q
+            WHERE m.block IS NOT NULL
+            ORDER BY m.name
+            """)
+    List<CatalogModuleRow> findCatalogRows();
 }
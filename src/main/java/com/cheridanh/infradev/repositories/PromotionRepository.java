@@ -1,12 +1,18 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.repositories.projections.PromotionUserCount;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -32,10 +38,51 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
 
     /**
      * Recherche la promotion active dont la plage de dates englobe la date fournie.
+     * Si plusieurs promotions actives se chevauchent, la plus récemment commencée l'emporte.
      *
      * @param date la date de référence (typiquement la date du jour)
      * @return la promotion active correspondante, ou {@link Optional#empty()} si aucune
      */
-    @Query("SELECT p FROM Promotion p WHERE p.active = true AND p.startDate <= :date AND p.endDate >= :date")
-    Optional<Promotion> findActiveByDate(@Param("date") LocalDate date);
+    default Optional<Promotion> findActiveByDate(LocalDate date) {
+        return findActiveByDate(date, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    /**
+     * Liste les promotions actives à la date fournie, de la plus récemment commencée à la plus ancienne
+     * (index {@code active, start_date}).
+     *
+     * @param date la date de référence
+     * @param pageable la page demandée
+     * @return les promotions actives à cette date
+     */
+    @Query("""
+            SELECT p FROM Promotion p
+            WHERE p.active = true AND p.startDate <= :date AND p.endDate >= :date
+            ORDER BY p.startDate DESC, p.id DESC
+            """)
+    List<Promotion> findActiveByDate(@Param("date") LocalDate date, Pageable pageable);
+
+    /**
+     * Récupère une promotion avec ses utilisateurs selon {@link Promotion#DETAILS_GRAPH}.
+     *
+     * @param id l'identifiant de la promotion
+     * @return la promotion, ou {@link Optional#empty()} si elle n'existe pas
+     */
+    @EntityGraph(Promotion.DETAILS_GRAPH)
+    Optional<Promotion> findDetailedById(Long id);
+
+    /**
+     * Compte les utilisateurs de plusieurs promotions en une seule requête groupée,
+     * sans charger leurs collections. Les promotions sans utilisateur sont absentes du résultat.
+     *
+     * @param ids les identifiants des promotions
+     * @return le nombre d'utilisateurs par promotion
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.PromotionUserCount(u.promotion.id, COUNT(u))
+            FROM User u
+            WHERE u.promotion.id IN :ids
+            GROUP BY u.promotion.id
+            """)
+    List<PromotionUserCount> countUsersByPromotionIds(@Param("ids") Collection<Long> ids);
 }
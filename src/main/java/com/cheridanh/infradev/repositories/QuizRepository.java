@@ -1,9 +1,14 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.Quiz;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
 
@@ -41,4 +46,18 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
      * @return true si un autre quiz est déjà rattaché au module
      */
     boolean existsByModuleIdAndIdNot(Long moduleId, Long id);
+
+    /**
+     * Récupère la référence vers le contenu d'un quiz, sans charger l'entité ni le contenu.
+     *
+     * @param id l'identifiant du quiz
+     * @return la référence, vide si le quiz n'existe pas
+     */
+    @Query("""
+            SELECT new com.cheridanh.infradev.repositories.projections.ContentRef(
+                q.contentBody.id, q.contentLength, q.contentHash, q.legacyContent)
+            FROM Quiz q
+            WHERE q.id = :id
+            """)
+    Optional<ContentRef> findContentRefById(@Param("id") Long id);
 }
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -14,12 +16,12 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     /**
-     * Recherche un refresh token valide (non révoqué) par sa valeur.
+     * Recherche un ancien refresh token (antérieur aux familles) valide par l'empreinte de sa valeur.
      *
-     * @param token la valeur du refresh token
+     * @param tokenHash l'empreinte SHA-256 du refresh token
      * @return un Optional contenant le refresh token s'il existe et n'est pas révoqué
      */
-    Optional<RefreshToken> findByTokenAndRevokedFalse(String token);
+    Optional<RefreshToken> findByTokenHashAndRevokedFalse(byte[] tokenHash);
 
     /**
      * Révoque tous les refresh tokens actifs d'un utilisateur (logout global).
@@ -31,12 +33,37 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     void revokeAllByUserId(@Param("userId") Long userId);
 
     /**
-     * Supprime les refresh tokens expirés ou révoqués avant une date donnée.
+     * Fait passer une famille à la génération suivante, uniquement si elle est encore à la génération attendue.
+     * L'empreinte courante devient l'empreinte précédente (affectée en premier : MySQL évalue les affectations
+     * dans l'ordre).
      *
-     * @param expiryDate la date limite
-     * @return le nombre de tokens supprimés
+     * @param id l'identifiant de la famille
+     * @param generation la génération présentée
+     * @param tokenHash l'empreinte du nouveau secret
+     * @param expiryDate la nouvelle date d'expiration
+     * @return 1 si la rotation a eu lieu, 0 si la famille a déjà été renouvelée ou révoquée
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.revoked = true OR rt.expiryDate < :expiryDate")
-    int deleteExpiredAndRevokedTokens(@Param("expiryDate") Instant expiryDate);
+    @Query("""
+            UPDATE RefreshToken rt
+            SET rt.previousTokenHash = rt.tokenHash, rt.generation = rt.generation + 1,
+                rt.tokenHash = :tokenHash, rt.expiryDate = :expiryDate
+            WHERE rt.id = :id AND rt.generation = :generation AND rt.revoked = false
+            """)
+    int rotate(
+            @Param("id") Long id,
+            @Param("generation") int generation,
+            @Param("tokenHash") byte[] tokenHash,
+            @Param("expiryDate") Instant expiryDate);
+
+    /**
+     * Révoque une famille de refresh tokens par clé primaire.
+     * Exécutée dans sa propre transaction afin que la révocation persiste même si l'appelant échoue ensuite.
+     *
+     * @param id l'identifiant de la famille
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.id = :id")
+    void revokeFamily(@Param("id") Long id);
 }
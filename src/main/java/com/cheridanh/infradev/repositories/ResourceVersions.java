@@ -0,0 +1,202 @@
+package com.cheridanh.infradev.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Versions des représentations renvoyées par les contrôleurs, pour les requêtes conditionnelles.
+ * <p>
+ * Une version agrège, pour chaque table dont dépend la réponse, le {@code MAX(updated_at)} et le {@code COUNT(*)}
+ * des lignes concernées, en une seule requête et sans charger d'entité : toute création, modification ou
+ * suppression change la version. L'ETag est une empreinte de ces valeurs. Aucune date de dernière modification
+ * n'est publiée : après une suppression, le {@code MAX(updated_at)} peut rester identique ou reculer.
+ * <p>
+ * Chaque agrégat est servi par un index sur {@code updated_at}, préfixé par la colonne de la condition
+ * ({@code module_id}, {@code block_id}, {@code promotion_id}) quand la portée est restreinte.
+ * <p>
+ * Les tables suivent les données embarquées par les DTO : une page de cours dépend aussi des modules
+ * (nom du module), un détail de module de ses cours, exercices et quiz, etc.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceVersions {
+
+    private static final String BLOCKS = "blocks";
+    private static final String MODULES = "modules";
+    private static final String COURSES = "courses";
+    private static final String EXERCISES = "exercises";
+    private static final String QUIZZES = "quizzes";
+    private static final String PROMOTIONS = "promotions";
+    private static final String USERS = "users";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Version d'une représentation.
+     *
+     * @param etag l'ETag fort, entre guillemets
+     */
+    public record Version(String etag) {
+    }
+
+    /**
+     * Portion d'une table dont dépend une réponse : toute la table, ou les lignes vérifiant une condition
+     * à un paramètre.
+     */
+    private record Scope(String table, String condition, Object param) {
+
+        static Scope all(String table) {
+            return new Scope(table, null, null);
+        }
+
+        static Scope where(String table, String condition, Object param) {
+            return new Scope(table, condition, param);
+        }
+    }
+
+    /** Version des pages de blocs. */
+    public Version blocks() {
+        return compute(Scope.all(BLOCKS));
+    }
+
+    /** Version du détail d'un bloc. */
+    public Version block(Long id) {
+        return compute(Scope.where(BLOCKS, "id = ?", id));
+    }
+
+    /** Version des pages de modules : blocs et compteurs de cours et d'exercices compris. */
+    public Version modules() {
+        return compute(Scope.all(MODULES), Scope.all(BLOCKS), Scope.all(COURSES), Scope.all(EXERCISES));
+    }
+
+    /** Version du détail d'un module, avec son bloc, ses cours, ses exercices et son quiz. */
+    public Version module(Long id) {
+        return compute(
+                Scope.where(MODULES, "id = ?", id),
+                Scope.where(BLOCKS, "id = (SELECT block_id FROM modules WHERE id = ?)", id),
+                Scope.where(COURSES, "module_id = ?", id),
+                Scope.where(EXERCISES, "module_id = ?", id),
+                Scope.where(QUIZZES, "id = (SELECT quiz_id FROM modules WHERE id = ?)", id));
+    }
+
+    /** Version de la liste des modules d'un bloc. */
+    public Version modulesByBlock(Long blockId) {
+        return compute(
+                Scope.where(MODULES, "block_id = ?", blockId),
+                Scope.where(BLOCKS, "id = ?", blockId),
+                Scope.where(COURSES, "module_id IN (SELECT id FROM modules WHERE block_id = ?)", blockId),
+                Scope.where(EXERCISES, "module_id IN (SELECT id FROM modules WHERE block_id = ?)", blockId));
+    }
+
+    /** Version des pages de cours. */
+    public Version courses() {
+        return compute(Scope.all(COURSES), Scope.all(MODULES));
+    }
+
+    /** Version du détail d'un cours. */
+    public Version course(Long id) {
+        return compute(
+                Scope.where(COURSES, "id = ?", id),
+                Scope.where(MODULES, "id = (SELECT module_id FROM courses WHERE id = ?)", id));
+    }
+
+    /** Version de la liste des cours d'un module. */
+    public Version coursesByModule(Long moduleId) {
+        return compute(Scope.where(COURSES, "module_id = ?", moduleId), Scope.where(MODULES, "id = ?", moduleId));
+    }
+
+    /** Version des pages d'exercices. */
+    public Version exercises() {
+        return compute(Scope.all(EXERCISES), Scope.all(MODULES));
+    }
+
+    /** Version du détail d'un exercice. */
+    public Version exercise(Long id) {
+        return compute(
+                Scope.where(EXERCISES, "id = ?", id),
+                Scope.where(MODULES, "id = (SELECT module_id FROM exercises WHERE id = ?)", id));
+    }
+
+    /** Version de la liste des exercices d'un module. */
+    public Version exercisesByModule(Long moduleId) {
+        return compute(Scope.where(EXERCISES, "module_id = ?", moduleId), Scope.where(MODULES, "id = ?", moduleId));
+    }
+
+    /** Version des pages de quiz. */
+    public Version quizzes() {
+        return compute(Scope.all(QUIZZES), Scope.all(MODULES));
+    }
+
+    /** Version du détail d'un quiz. */
+    public Version quiz(Long id) {
+        return compute(Scope.where(QUIZZES, "id = ?", id), Scope.where(MODULES, "quiz_id = ?", id));
+    }
+
+    /** Version des pages de promotions, nombre d'utilisateurs compris. */
+    public Version promos() {
+        return compute(Scope.all(PROMOTIONS), Scope.all(USERS));
+    }
+
+    /** Version du détail d'une promotion, avec ses utilisateurs. */
+    public Version promo(Long id) {
+        return compute(Scope.where(PROMOTIONS, "id = ?", id), Scope.where(USERS, "promotion_id = ?", id));
+    }
+
+    /** Version de l'arbre du catalogue. */
+    public Version catalog() {
+        return compute(Scope.all(BLOCKS), Scope.all(MODULES), Scope.all(COURSES), Scope.all(EXERCISES), Scope.all(QUIZZES));
+    }
+
+    /**
+     * Calcule la version des portions de tables données en une requête.
+     */
+    private Version compute(Scope... scopes) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        List<Object> params = new ArrayList<>();
+        for (int i = 0; i < scopes.length; i++) {
+            Scope scope = scopes[i];
+            String where = scope.condition() != null ? " WHERE " + scope.condition() : "";
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(SELECT MAX(updated_at) FROM ").append(scope.table()).append(where).append("), ")
+                    .append("(SELECT COUNT(*) FROM ").append(scope.table()).append(where).append(")");
+            if (scope.condition() != null) {
+                params.add(scope.param());
+                params.add(scope.param());
+            }
+        }
+
+        return jdbcTemplate.queryForObject(sql.toString(), (rs, rowNum) -> toVersion(rs, scopes.length), params.toArray());
+    }
+
+    private static Version toVersion(ResultSet rs, int scopeCount) throws SQLException {
+        StringBuilder state = new StringBuilder();
+        for (int i = 0; i < scopeCount; i++) {
+            Timestamp updatedAt = rs.getTimestamp(2 * i + 1);
+            long count = rs.getLong(2 * i + 2);
+            state.append(updatedAt).append('/').append(count).append(';');
+        }
+        return new Version('"' + digest(state.toString()) + '"');
+    }
+
+    private static String digest(String state) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.cheridanh.infradev.repositories;
 
 import com.cheridanh.infradev.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +25,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Récupère un utilisateur avec sa promotion et ses blocs selon {@link User#DETAILS_GRAPH}.
+     *
+     * @param id l'identifiant de l'utilisateur
+     * @return l'utilisateur, ou {@link Optional#empty()} s'il n'existe pas
+     */
+    @EntityGraph(User.DETAILS_GRAPH)
+    Optional<User> findDetailedById(Long id);
+
     /**
      * Vérifie si un email est déjà utilisé.
      *
@@ -26,6 +42,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Retourne, parmi les emails donnés, ceux déjà utilisés.
+     *
+     * @param emails les emails à vérifier
+     * @return les emails existants
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     /**
      * Vérifie si un email est déjà utilisé par un autre utilisateur.
      *
@@ -42,4 +67,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return la liste des utilisateurs de la promotion
      */
     List<User> findByPromotionId(Long promotionId);
+
+    /**
+     * Récupère uniquement la version de sécurité d'un utilisateur.
+     *
+     * @param id l'identifiant de l'utilisateur
+     * @return la version de sécurité, ou {@link Optional#empty()} si l'utilisateur n'existe plus
+     */
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findSecurityVersionById(@Param("id") Long id);
+
+    /**
+     * Verrouille temporairement un compte sans charger l'entité.
+     *
+     * @param email l'email de l'utilisateur
+     * @param lockedUntil la fin du verrouillage
+     * @return le nombre de lignes mises à jour
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.accountNonLocked = false, u.lockedUntil = :lockedUntil WHERE u.email = :email")
+    int lockAccount(@Param("email") String email, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Remplace le hash du mot de passe d'un utilisateur sans charger l'entité.
+     *
+     * @param email l'email de l'utilisateur
+     * @param password le nouveau hash
+     * @return le nombre de lignes mises à jour
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
 }
@@ -0,0 +1,12 @@
+package com.cheridanh.infradev.repositories.projections;
+
+/**
+ * Ligne de bloc de l'arbre du catalogue.
+ *
+ * @param id l'identifiant du bloc
+ * @param name le nom du bloc
+ * @param description la description du bloc
+ * @param cover l'image de couverture du bloc
+ */
+public record CatalogBlockRow(Long id, String name, String description, String cover) {
+}
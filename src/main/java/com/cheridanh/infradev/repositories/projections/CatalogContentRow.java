@@ -0,0 +1,12 @@
+package com.cheridanh.infradev.repositories.projections;
+
+/**
+ * Ligne de cours ou d'exercice de l'arbre du catalogue.
+ *
+ * @param id l'identifiant du cours ou de l'exercice
+ * @param moduleId l'identifiant du module parent
+ * @param name le nom
+ * @param completed l'état complété
+ */
+public record CatalogContentRow(Long id, Long moduleId, String name, Boolean completed) {
+}
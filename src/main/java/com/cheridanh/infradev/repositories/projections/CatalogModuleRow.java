@@ -0,0 +1,16 @@
+package com.cheridanh.infradev.repositories.projections;
+
+/**
+ * Ligne de module de l'arbre du catalogue, avec son quiz éventuel.
+ *
+ * @param id l'identifiant du module
+ * @param blockId l'identifiant du bloc parent
+ * @param name le nom du module
+ * @param description la description du module
+ * @param quizId l'identifiant du quiz, ou {@code null} si le module n'en a pas
+ * @param quizName le nom du quiz
+ * @param quizCompleted l'état complété du quiz
+ */
+public record CatalogModuleRow(Long id, Long blockId, String name, String description,
+                               Long quizId, String quizName, Boolean quizCompleted) {
+}
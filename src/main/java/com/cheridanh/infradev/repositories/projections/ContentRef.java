@@ -0,0 +1,12 @@
+package com.cheridanh.infradev.repositories.projections;
+
+/**
+ * Référence vers le contenu d'un cours, d'un exercice ou d'un quiz, lue sur la ligne du propriétaire.
+ *
+ * @param bodyId l'identifiant du corps compressé, {@code null} si aucun contenu n'est stocké
+ * @param length la taille du contenu décompressé, en octets
+ * @param hash l'empreinte SHA-256 du contenu décompressé
+ * @param legacyContent le contenu en clair de l'ancienne colonne, {@code null} une fois repris par la version courante
+ */
+public record ContentRef(Long bodyId, Integer length, String hash, String legacyContent) {
+}
@@ -0,0 +1,11 @@
+package com.cheridanh.infradev.repositories.projections;
+
+/**
+ * Nombre de cours et d'exercices d'un module, calculé en base.
+ *
+ * @param moduleId l'identifiant du module
+ * @param courseCount le nombre de cours
+ * @param exerciseCount le nombre d'exercices
+ */
+public record ModuleContentCount(Long moduleId, Long courseCount, Long exerciseCount) {
+}
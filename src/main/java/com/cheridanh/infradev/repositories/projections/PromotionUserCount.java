@@ -0,0 +1,10 @@
+package com.cheridanh.infradev.repositories.projections;
+
+/**
+ * Nombre d'utilisateurs d'une promotion, calculé en base.
+ *
+ * @param promotionId l'identifiant de la promotion
+ * @param userCount le nombre d'utilisateurs
+ */
+public record PromotionUserCount(Long promotionId, Long userCount) {
+}
@@ -0,0 +1,194 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Liste de révocation des tokens d'accès, en mémoire.
+ * <p>
+ * Deux types de révocation sont gérés :
+ * <ul>
+ *     <li>par token ({@code jti}), lors de la déconnexion ;</li>
+ *     <li>par utilisateur, lors d'une désactivation, d'un changement de rôle ou d'une suppression :
+ *     les tokens portant une version de sécurité antérieure (ou, pour les tokens sans version,
+ *     émis avant la révocation) sont refusés.</li>
+ * </ul>
+ * Un filtre de Bloom sans verrou sert de chemin rapide : les ensembles exacts ne sont consultés que
+ * sur une correspondance possible. Le filtre est renouvelé à chaque durée de vie d'un token d'accès
+ * (deux générations sont conservées) et les entrées exactes sont retirées à l'expiration des tokens
+ * qu'elles visent : la mémoire reste proportionnelle aux révocations encore utiles.
+ */
+@Slf4j
+@Component
+public class AccessTokenDenylist {
+
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 4;
+    private static final String USER_KEY_PREFIX = "u:";
+
+    private final long tokenLifetimeMillis;
+
+    private final Map<String, Instant> revokedTokenIds = new ConcurrentHashMap<>();
+    private final Map<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private final AtomicReference<BloomGenerations> bloom;
+
+    public AccessTokenDenylist(JwtProperties jwtProperties) {
+        this.tokenLifetimeMillis = jwtProperties.expiration();
+        this.bloom = new AtomicReference<>(new BloomGenerations(
+                new AtomicLongArray(BLOOM_BITS / Long.SIZE),
+                new AtomicLongArray(BLOOM_BITS / Long.SIZE),
+                System.currentTimeMillis()
+        ));
+    }
+
+    /**
+     * Révoque un token d'accès jusqu'à son expiration.
+     *
+     * @param verifiedJwt les claims du token à révoquer
+     */
+    public void revokeToken(VerifiedJwt verifiedJwt) {
+        if (verifiedJwt.tokenId() == null) {
+            return;
+        }
+
+        Instant expiresAt = verifiedJwt.expiration() != null
+                ? verifiedJwt.expiration()
+                : Instant.now().plusMillis(tokenLifetimeMillis);
+
+        revokedTokenIds.put(verifiedJwt.tokenId(), expiresAt);
+        addToBloom(verifiedJwt.tokenId());
+        log.debug("Token d'accès révoqué jusqu'à {}", expiresAt);
+    }
+
+    /**
+     * Révoque tous les tokens d'accès d'un utilisateur émis avant ce changement.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param minimumSecurityVersion la version de sécurité minimale acceptée désormais
+     *                               ({@link Integer#MAX_VALUE} pour un utilisateur supprimé)
+     */
+    public void revokeUser(Long userId, int minimumSecurityVersion) {
+        Instant now = Instant.now();
+        revokedUsers.put(userId, new UserRevocation(
+                minimumSecurityVersion,
+                now.getEpochSecond(),
+                now.plusMillis(tokenLifetimeMillis)
+        ));
+        addToBloom(USER_KEY_PREFIX + userId);
+        log.debug("Tokens d'accès révoqués pour l'utilisateur id : {}", userId);
+    }
+
+    /**
+     * Vérifie si un token d'accès a été révoqué.
+     *
+     * @param verifiedJwt les claims vérifiés du token
+     * @return {@code true} si le token doit être refusé
+     */
+    public boolean isRevoked(VerifiedJwt verifiedJwt) {
+        String tokenId = verifiedJwt.tokenId();
+        if (tokenId != null && mightContain(tokenId) && revokedTokenIds.containsKey(tokenId)) {
+            return true;
+        }
+
+        Long userId = verifiedJwt.userId();
+        if (userId == null || !mightContain(USER_KEY_PREFIX + userId)) {
+            return false;
+        }
+
+        UserRevocation revocation = revokedUsers.get(userId);
+        return revocation != null && revocation.covers(verifiedJwt);
+    }
+
+    /**
+     * Retire les révocations dont les tokens visés ont expiré et renouvelle le filtre de Bloom
+     * lorsque la génération courante a dépassé la durée de vie d'un token.
+     */
+    @Scheduled(fixedDelayString = "${ACCESS_TOKEN_DENYLIST_CLEANUP_INTERVAL:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAt().isBefore(now));
+
+        BloomGenerations generations = bloom.get();
+        if (now.toEpochMilli() - generations.rotatedAt() >= tokenLifetimeMillis) {
+            bloom.set(new BloomGenerations(
+                    new AtomicLongArray(BLOOM_BITS / Long.SIZE),
+                    generations.current(),
+                    now.toEpochMilli()
+            ));
+            // Les entrées exactes encore actives sont réinsérées : aucune ne dépend de la génération abandonnée
+            revokedTokenIds.keySet().forEach(this::addToBloom);
+            revokedUsers.keySet().forEach(userId -> addToBloom(USER_KEY_PREFIX + userId));
+        }
+    }
+
+    private void addToBloom(String key) {
+        AtomicLongArray bits = bloom.get().current();
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, BLOOM_BITS);
+            long mask = 1L << bit;
+            bits.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    private boolean mightContain(String key) {
+        BloomGenerations generations = bloom.get();
+        return mightContain(generations.current(), key) || mightContain(generations.previous(), key);
+    }
+
+    private static boolean mightContain(AtomicLongArray bits, String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, BLOOM_BITS);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hachage FNV-1a 64 bits, dont les deux moitiés servent au double hachage du filtre.
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private record BloomGenerations(AtomicLongArray current, AtomicLongArray previous, long rotatedAt) {
+    }
+
+    /**
+     * Révocation des tokens d'un utilisateur. Les tokens portant une version de sécurité sont comparés
+     * à la version minimale ; les tokens antérieurs à cette version sont comparés à la date d'émission
+     * (à la seconde, précision du claim {@code iat}).
+     */
+    private record UserRevocation(int minimumSecurityVersion, long revokedAtEpochSecond, Instant expiresAt) {
+
+        boolean covers(VerifiedJwt verifiedJwt) {
+            if (verifiedJwt.securityVersion() != null) {
+                return verifiedJwt.securityVersion() < minimumSecurityVersion;
+            }
+            return verifiedJwt.issuedAt() == null || verifiedJwt.issuedAt().getEpochSecond() <= revokedAtEpochSecond;
+        }
+    }
+}
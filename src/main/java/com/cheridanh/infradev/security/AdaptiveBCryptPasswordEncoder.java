@@ -0,0 +1,118 @@
+package com.cheridanh.infradev.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encodeur BCrypt dont le coût est calibré au démarrage sur la machine hôte.
+ * <p>
+ * Le coût retenu est le plus élevé dont la durée de hachage reste sous la cible, borné par
+ * un minimum et un maximum. {@link #upgradeEncoding(String)} signale les hashs stockés sous le coût minimal
+ * ou trop éloignés du coût calibré, ce qui déclenche leur réécriture lors de la prochaine connexion réussie
+ * (via {@link org.springframework.security.core.userdetails.UserDetailsPasswordService}).
+ * <p>
+ * Des instances sur des machines différentes calibrent des coûts voisins : la tolérance évite qu'un utilisateur
+ * servi tour à tour par chacune voie son hash réécrit à chaque connexion.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$[./0-9A-Za-z]{53}$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_SAMPLES = 5;
+
+    @Getter
+    private final int strength;
+    private final int minStrength;
+    private final int tolerance;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this(strength, strength, 0);
+    }
+
+    /**
+     * @param strength le coût des nouveaux hashs
+     * @param minStrength le coût en dessous duquel un hash stocké est toujours réécrit
+     * @param tolerance l'écart au coût calibré accepté sans réécriture
+     */
+    public AdaptiveBCryptPasswordEncoder(int strength, int minStrength, int tolerance) {
+        this.strength = strength;
+        this.minStrength = minStrength;
+        this.tolerance = tolerance;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Mesure la durée médiane de plusieurs hachages au coût minimal puis extrapole (chaque incrément double
+     * la durée) pour retenir le coût le plus élevé respectant la durée cible. La médiane écarte les mesures
+     * faussées par la compilation JIT ou une pause du ramasse-miettes.
+     *
+     * @param targetMillis la durée de hachage visée, en millisecondes
+     * @param minStrength le coût minimal accepté
+     * @param maxStrength le coût maximal accepté
+     * @param tolerance l'écart au coût calibré accepté sans réécriture des hashs stockés
+     * @return l'encodeur calibré
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength,
+                                                          int tolerance) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_PASSWORD);
+
+        double[] samples = new double[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        double baseMillis = Math.max(samples[samples.length / 2], 0.001);
+
+        int strength = minStrength;
+        while (strength < maxStrength && baseMillis * (1L << (strength + 1 - minStrength)) <= targetMillis) {
+            strength++;
+        }
+
+        log.info("Coût BCrypt calibré à {} (cible : {} ms, mesure au coût {} : {} ms, estimation : {} ms)",
+                strength, targetMillis, minStrength, Math.round(baseMillis),
+                Math.round(baseMillis * (1L << (strength - minStrength))));
+
+        return new AdaptiveBCryptPasswordEncoder(strength, minStrength, tolerance);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Indique si le hash stocké a été produit avec un coût inférieur au coût minimal,
+     * ou s'écartant du coût calibré de plus que la tolérance, à la hausse comme à la baisse.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            log.warn("Le hash stocké ne ressemble pas à un hash BCrypt");
+            return false;
+        }
+
+        int storedStrength = Integer.parseInt(matcher.group(1));
+        return storedStrength < minStrength || Math.abs(storedStrength - strength) > tolerance;
+    }
+}
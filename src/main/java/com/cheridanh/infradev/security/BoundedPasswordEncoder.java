@@ -0,0 +1,57 @@
+package com.cheridanh.infradev.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Future;
+
+/**
+ * Décorateur de {@link PasswordEncoder} qui exécute les opérations coûteuses
+ * ({@code encode} et {@code matches}) sur le {@link PasswordHashingExecutor}.
+ */
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor hashingExecutor;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingExecutor.execute("encode", () -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Soumet un hachage sans attendre son résultat, pour les traitements par lots.
+     *
+     * @param rawPassword le mot de passe en clair
+     * @return le hash à venir
+     * @throws com.cheridanh.infradev.exceptions.ServerBusyException si la file de hachage est pleine
+     */
+    public Future<String> encodeAsync(CharSequence rawPassword) {
+        return hashingExecutor.submit("encode", () -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Attend le résultat d'un hachage soumis par {@link #encodeAsync(CharSequence)}.
+     */
+    public String await(Future<String> encodedPassword) {
+        return hashingExecutor.await(encodedPassword);
+    }
+
+    /**
+     * @return le nombre de hachages pouvant s'exécuter en parallèle
+     */
+    public int getParallelism() {
+        return hashingExecutor.getParallelism();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingExecutor.execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
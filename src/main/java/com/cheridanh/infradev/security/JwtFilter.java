@@ -1,5 +1,6 @@
 package com.cheridanh.infradev.security;
 
+import com.cheridanh.infradev.configs.StatelessAuthProperties;
 import com.cheridanh.infradev.dtos.response.ErrorResponse;
 import com.cheridanh.infradev.services.CustomUserDetailsService;
 import com.cheridanh.infradev.utils.JwtUtil;
@@ -31,12 +32,18 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
+    /** Attribut de requête exposant le {@link VerifiedJwt} au code en aval. */
+    public static final String VERIFIED_JWT_ATTRIBUTE = JwtFilter.class.getName() + ".VERIFIED_JWT";
+
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
     private final ObjectMapper objectMapper;
+    private final StatelessAuthProperties statelessAuthProperties;
+    private final UserSecurityVersionRegistry securityVersionRegistry;
+    private final AccessTokenDenylist accessTokenDenylist;
 
     @Override
     protected void doFilterInternal(
@@ -54,11 +61,39 @@ public class JwtFilter extends OncePerRequestFilter {
         final String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
 
         try {
-            String username = jwtUtil.extractUsername(jwt);
+            VerifiedJwt verifiedJwt = jwtUtil.verify(jwt);
+            String username = verifiedJwt.subject();
             log.debug("Token JWT détecté pour l'utilisateur : {}", username);
 
+            if (accessTokenDenylist.isRevoked(verifiedJwt)) {
+                log.warn("Token JWT révoqué présenté pour l'utilisateur : {}", username);
+                sendErrorResponse(
+                        response,
+                        request,
+                        "Token révoqué",
+                        "Le token d'accès a été révoqué, veuillez vous reconnecter"
+                );
+                return;
+            }
+
+            request.setAttribute(VERIFIED_JWT_ATTRIBUTE, verifiedJwt);
+
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                authenticateUser(request, jwt, username);
+                if (isStatelessEligible(verifiedJwt)) {
+                    if (!securityVersionRegistry.isCurrent(verifiedJwt.userId(), verifiedJwt.securityVersion())) {
+                        log.warn("Token JWT révoqué pour l'utilisateur : {}", username);
+                        sendErrorResponse(
+                                response,
+                                request,
+                                "Token révoqué",
+                                "Le token d'accès a été révoqué, veuillez vous reconnecter"
+                        );
+                        return;
+                    }
+                    setAuthentication(request, UserDetailsImpl.fromVerifiedJwt(verifiedJwt));
+                } else {
+                    authenticateUser(request, verifiedJwt);
+                }
             }
 
         } catch (ExpiredJwtException ex) {
@@ -96,24 +131,39 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void authenticateUser(HttpServletRequest request, String jwt, String email) {
+    private void authenticateUser(HttpServletRequest request, VerifiedJwt verifiedJwt) {
+        String email = verifiedJwt.subject();
         UserDetails userDetails = userDetailsService.loadUserByUsername(email);
 
-        if (jwtUtil.validateToken(jwt, userDetails)) {
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-            );
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-            log.debug("Authentification JWT réussie pour : {}", email);
+        if (jwtUtil.isTokenValidFor(verifiedJwt, userDetails)) {
+            setAuthentication(request, userDetails);
         } else {
             log.warn("Validation du token JWT échouée pour : {}", email);
         }
     }
 
+    /**
+     * Le principal peut être reconstruit depuis les claims si le mode sans état est activé
+     * et que le token porte l'identifiant et la version de sécurité (tokens émis avant ce mode exclus).
+     */
+    private boolean isStatelessEligible(VerifiedJwt verifiedJwt) {
+        return statelessAuthProperties.enabled()
+                && verifiedJwt.userId() != null
+                && verifiedJwt.securityVersion() != null;
+    }
+
+    private void setAuthentication(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        log.debug("Authentification JWT réussie pour : {}", userDetails.getUsername());
+    }
+
     private void sendErrorResponse(
             HttpServletResponse response,
             HttpServletRequest request,
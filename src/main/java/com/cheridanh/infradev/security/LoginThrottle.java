@@ -0,0 +1,152 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.LoginThrottleProperties;
+import com.cheridanh.infradev.exceptions.TooManyRequestsException;
+import com.cheridanh.infradev.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limitation des tentatives de connexion par email et par adresse IP.
+ * <p>
+ * Chaque clé dispose d'un seau de jetons rechargé en continu. L'état est immuable et remplacé via
+ * {@link ConcurrentHashMap#compute}, qui ne verrouille que la case de la table concernée : deux clés
+ * différentes ne se bloquent pas. Une tentative sans jeton est rejetée avant tout hachage du mot de passe.
+ * <p>
+ * Le seau par email protège chaque compte. Le seau par adresse IP n'est qu'un plafond contre la pulvérisation
+ * de mots de passe sur de nombreux comptes depuis une même adresse : une salle de cours ou un campus derrière
+ * un NAT partage une seule adresse, ses limites sont donc bien plus larges que celles d'un email.
+ * <p>
+ * Les échecs sont comptés par email ; au-delà du seuil dans la fenêtre configurée, le compte est verrouillé
+ * en base pour une durée limitée. Les clés inactives sont retirées périodiquement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private static final String EMAIL_KEY_PREFIX = "e:";
+    private static final String IP_KEY_PREFIX = "ip:";
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final LoginThrottleProperties properties;
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Failures> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Consomme une tentative pour l'email et pour l'adresse IP.
+     *
+     * @param email l'email saisi
+     * @param clientIp l'adresse IP du client
+     * @throws TooManyRequestsException si l'une des deux limites est atteinte
+     */
+    public void acquire(String email, String clientIp) {
+        long now = System.nanoTime();
+
+        if (clientIp != null) {
+            consume(IP_KEY_PREFIX + clientIp, properties.ipCapacity(), properties.ipRefillPerMinute(), now);
+        }
+        consume(EMAIL_KEY_PREFIX + normalize(email), properties.emailCapacity(), properties.emailRefillPerMinute(), now);
+    }
+
+    /**
+     * Enregistre un échec d'authentification et verrouille le compte si le seuil est atteint.
+     *
+     * @param email l'email saisi
+     */
+    public void recordFailure(String email) {
+        String key = normalize(email);
+        long now = System.nanoTime();
+        long windowNanos = properties.failureWindow() * 1_000_000L;
+
+        Failures updated = failures.compute(key, (k, current) ->
+                current == null || now - current.windowStart() > windowNanos
+                        ? new Failures(1, now)
+                        : new Failures(current.count() + 1, current.windowStart()));
+
+        if (updated.count() == properties.lockoutThreshold()) {
+            LocalDateTime lockedUntil = LocalDateTime.now().plusNanos(properties.lockoutDuration() * 1_000_000L);
+            // même email que les compteurs : des échecs saisis avec une casse ou des espaces différents
+            // verrouillent bien le compte (la colonne email compare sans tenir compte de la casse)
+            if (userRepository.lockAccount(key, lockedUntil) > 0) {
+                userDetailsCache.evict(key);
+                if (!key.equals(email)) {
+                    userDetailsCache.evict(email);
+                }
+                log.warn("Compte verrouillé jusqu'à {} après {} échecs de connexion", lockedUntil, updated.count());
+            }
+            failures.remove(key);
+        }
+    }
+
+    /**
+     * Réinitialise le compteur d'échecs après une connexion réussie.
+     *
+     * @param email l'email de l'utilisateur
+     */
+    public void recordSuccess(String email) {
+        failures.remove(normalize(email));
+    }
+
+    /**
+     * Retire les seaux pleins (clés inactives) et les compteurs d'échecs hors fenêtre.
+     */
+    @Scheduled(fixedDelayString = "${LOGIN_THROTTLE_CLEANUP_INTERVAL:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long windowNanos = properties.failureWindow() * 1_000_000L;
+
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+        failures.values().removeIf(failure -> now - failure.windowStart() > windowNanos);
+    }
+
+    private void consume(String key, int capacity, double refillPerMinute, long now) {
+        Bucket bucket = buckets.compute(key, (k, current) -> (current == null
+                ? new Bucket(capacity, capacity, refillPerMinute, now, true)
+                : current.refill(now)).take());
+
+        if (!bucket.allowed()) {
+            long retryAfter = (long) Math.ceil((1 - bucket.tokens()) * 60 / refillPerMinute);
+            log.warn("Tentative de connexion limitée ({})", key.startsWith(IP_KEY_PREFIX) ? "adresse IP" : "email");
+            throw new TooManyRequestsException(Math.max(retryAfter, 1));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * État immuable d'un seau de jetons.
+     */
+    private record Bucket(double tokens, int capacity, double refillPerMinute, long updatedAt, boolean allowed) {
+
+        Bucket refill(long now) {
+            double refilled = Math.min(capacity, tokens + (now - updatedAt) * refillPerMinute / NANOS_PER_MINUTE);
+            return new Bucket(refilled, capacity, refillPerMinute, now, allowed);
+        }
+
+        Bucket take() {
+            return tokens >= 1
+                    ? new Bucket(tokens - 1, capacity, refillPerMinute, updatedAt, true)
+                    : new Bucket(tokens, capacity, refillPerMinute, updatedAt, false);
+        }
+
+        boolean isIdle(long now) {
+            return refill(now).tokens() >= capacity;
+        }
+    }
+
+    private record Failures(int count, long windowStart) {
+    }
+}
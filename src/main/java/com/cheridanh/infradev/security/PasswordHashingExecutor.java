@@ -0,0 +1,163 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.PasswordHashingProperties;
+import com.cheridanh.infradev.exceptions.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool dédié au hachage des mots de passe, dimensionné sur le nombre de cœurs.
+ * <p>
+ * Le hachage BCrypt est volontairement coûteux : l'exécuter sur les threads Tomcat lors d'une vague
+ * de connexions affame les autres requêtes. Ce pool borne la concurrence et la file d'attente ;
+ * lorsque la file est pleine, la demande est rejetée immédiatement par une {@link ServerBusyException} (503).
+ * <p>
+ * Métriques publiées :
+ * <ul>
+ *     <li>{@code auth.password.hashing.queue} : tâches en attente</li>
+ *     <li>{@code auth.password.hashing.active} : tâches en cours</li>
+ *     <li>{@code auth.password.hashing} : durée du hachage, par opération</li>
+ *     <li>{@code auth.password.hashing.wait} : temps passé dans la file</li>
+ *     <li>{@code auth.password.hashing.rejected} : demandes rejetées</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+
+    private final PasswordHashingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void initExecutor() {
+        int threads = properties.threads() > 0
+                ? properties.threads()
+                : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder(METRIC_PREFIX + ".queue", executor, pool -> pool.getQueue().size())
+                .description("Nombre de hachages en attente")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Nombre de hachages en cours")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Temps d'attente dans la file de hachage")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Nombre de hachages rejetés faute de capacité")
+                .register(meterRegistry);
+
+        log.info("Pool de hachage des mots de passe initialisé ({} threads, file de {})",
+                threads, properties.queueCapacity());
+    }
+
+    /**
+     * Exécute une opération de hachage sur le pool dédié et attend son résultat.
+     *
+     * @param operation le nom de l'opération, utilisé comme tag de métrique
+     * @param task l'opération à exécuter
+     * @return le résultat de l'opération
+     * @throws ServerBusyException si la file d'attente est pleine
+     */
+    public <T> T execute(String operation, Callable<T> task) {
+        return await(submit(operation, task));
+    }
+
+    /**
+     * Soumet une opération de hachage sans attendre son résultat.
+     *
+     * @param operation le nom de l'opération, utilisé comme tag de métrique
+     * @param task l'opération à exécuter
+     * @return le résultat à venir
+     * @throws ServerBusyException si la file d'attente est pleine
+     */
+    public <T> Future<T> submit(String operation, Callable<T> task) {
+        Timer hashTimer = Timer.builder(METRIC_PREFIX)
+                .description("Durée du hachage des mots de passe")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        long submittedAt = System.nanoTime();
+
+        try {
+            return executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            log.warn("File de hachage pleine, opération '{}' rejetée", operation);
+            throw new ServerBusyException(properties.retryAfter());
+        }
+    }
+
+    /**
+     * Attend le résultat d'une opération soumise.
+     *
+     * @param future le résultat à venir
+     * @return le résultat de l'opération
+     */
+    public <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Hachage du mot de passe interrompu", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Échec du hachage du mot de passe", ex.getCause());
+        }
+    }
+
+    /**
+     * @return le nombre de threads du pool
+     */
+    public int getParallelism() {
+        return executor.getCorePoolSize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,6 +1,12 @@
 package com.cheridanh.infradev.security;
 
 import com.cheridanh.infradev.configs.JwtProperties;
+import com.cheridanh.infradev.configs.LoginThrottleProperties;
+import com.cheridanh.infradev.configs.PasswordHashingProperties;
+import com.cheridanh.infradev.configs.RefreshTokenPurgeProperties;
+import com.cheridanh.infradev.configs.StatelessAuthProperties;
+import com.cheridanh.infradev.configs.UserCacheProperties;
+import com.cheridanh.infradev.services.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -13,8 +19,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,14 +26,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({
+        JwtProperties.class,
+        StatelessAuthProperties.class,
+        UserCacheProperties.class,
+        PasswordHashingProperties.class,
+        RefreshTokenPurgeProperties.class,
+        LoginThrottleProperties.class
+})
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordHashingProperties passwordHashingProperties;
 
     /** Endpoints accessibles sans authentification. */
     private static final String[] PUBLIC_ENDPOINTS = {
@@ -61,9 +74,20 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Encodeur BCrypt dont le coût est calibré au démarrage sur la machine hôte,
+     * et dont le hachage s'exécute sur le pool borné {@link PasswordHashingExecutor}
+     * afin de ne pas monopoliser les threads Tomcat.
+     */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    BoundedPasswordEncoder passwordEncoder() {
+        AdaptiveBCryptPasswordEncoder bcrypt = AdaptiveBCryptPasswordEncoder.calibrate(
+                passwordHashingProperties.targetHashTime(),
+                passwordHashingProperties.minStrength(),
+                passwordHashingProperties.maxStrength(),
+                passwordHashingProperties.strengthTolerance()
+        );
+        return new BoundedPasswordEncoder(bcrypt, passwordHashingExecutor);
     }
 
     @Bean
@@ -75,6 +99,7 @@ public class SecurityConfig {
     DaoAuthenticationProvider daoAuthenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 }
@@ -0,0 +1,95 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.UserCacheProperties;
+import com.cheridanh.infradev.utils.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache borné des {@link UserDetailsImpl} indexé par email, placé devant
+ * {@link com.cheridanh.infradev.services.CustomUserDetailsService}.
+ * <p>
+ * Les entrées expirent après {@code security.user-cache.ttl} et le cache est limité à
+ * {@code security.user-cache.maximum-size} entrées. Les statistiques sont publiées
+ * sous {@code cache.*{cache=userDetails}} via l'endpoint actuator {@code metrics}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+
+    private static final String CACHE_NAME = "userDetails";
+
+    private final UserCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Compteur incrémenté à chaque invalidation. Un chargement commencé avant une invalidation
+     * n'est pas mis en cache, ce qui évite de réinsérer une valeur lue avant le commit.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private Cache<String, UserDetailsImpl> cache;
+
+    @PostConstruct
+    void initCache() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Cache des utilisateurs initialisé (taille max : {}, ttl : {} ms)",
+                properties.maximumSize(), properties.ttl());
+    }
+
+    /**
+     * Retourne l'utilisateur en cache ou le charge via {@code loader}.
+     * Les exceptions du chargement (utilisateur introuvable) sont propagées et rien n'est mis en cache.
+     *
+     * @param email l'email de l'utilisateur
+     * @param loader la fonction de chargement en base
+     * @return les détails de l'utilisateur
+     */
+    public UserDetailsImpl get(String email, Function<String, UserDetailsImpl> loader) {
+        UserDetailsImpl cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = invalidations.get();
+        UserDetailsImpl loaded = loader.apply(email);
+
+        if (invalidations.get() == stamp) {
+            cache.put(email, loaded);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Retire un utilisateur du cache, immédiatement et après le commit de la transaction courante.
+     *
+     * @param email l'email de l'utilisateur
+     */
+    public void evict(String email) {
+        invalidate(email);
+        TransactionUtils.afterCommit(() -> invalidate(email));
+        log.debug("Utilisateur retiré du cache : {}", email);
+    }
+
+    private void invalidate(String email) {
+        invalidations.incrementAndGet();
+        cache.invalidate(email);
+    }
+}
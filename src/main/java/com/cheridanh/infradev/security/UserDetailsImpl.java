@@ -9,6 +9,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -17,6 +18,8 @@ import java.util.List;
 @AllArgsConstructor
 public class UserDetailsImpl implements UserDetails {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final Long id;
     private final String firstName;
     private final String lastName;
@@ -25,12 +28,14 @@ public class UserDetailsImpl implements UserDetails {
     private final Boolean enabled;
     private final Boolean accountNonExpired;
     private final Boolean accountNonLocked;
+    private final LocalDateTime lockedUntil;
     private final Boolean credentialsNonExpired;
+    private final Integer securityVersion;
     private final Collection<? extends GrantedAuthority> authorities;
 
     public static UserDetailsImpl build(User user) {
         List<GrantedAuthority> authorities = List.of(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+                new SimpleGrantedAuthority(ROLE_PREFIX + user.getRole().name())
         );
 
         return new UserDetailsImpl(
@@ -42,7 +47,75 @@ public class UserDetailsImpl implements UserDetails {
                 user.getEnabled(),
                 user.getAccountNonExpired(),
                 user.getAccountNonLocked(),
+                user.getLockedUntil(),
                 user.getCredentialsNonExpired(),
+                user.getSecurityVersion(),
+                authorities
+        );
+    }
+
+    /**
+     * Retourne le nom du rôle de l'utilisateur, sans le préfixe {@code ROLE_}.
+     *
+     * @return le nom du rôle, ou {@code null} si aucun rôle n'est attribué
+     */
+    public String getRoleName() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Retourne une copie du principal avec un nouveau hash de mot de passe.
+     *
+     * @param password le nouveau hash
+     * @return le principal mis à jour
+     */
+    public UserDetailsImpl withPassword(String password) {
+        return new UserDetailsImpl(
+                id,
+                firstName,
+                lastName,
+                email,
+                password,
+                enabled,
+                accountNonExpired,
+                accountNonLocked,
+                lockedUntil,
+                credentialsNonExpired,
+                securityVersion,
+                authorities
+        );
+    }
+
+    /**
+     * Reconstruit le principal à partir des claims signés d'un token, sans accès à la base.
+     * Le mot de passe n'est pas disponible et les indicateurs de compte sont considérés valides :
+     * leur révocation est couverte par la vérification de la version de sécurité.
+     *
+     * @param verifiedJwt les claims vérifiés du token
+     * @return le principal reconstruit
+     */
+    public static UserDetailsImpl fromVerifiedJwt(VerifiedJwt verifiedJwt) {
+        List<GrantedAuthority> authorities = verifiedJwt.roles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+
+        return new UserDetailsImpl(
+                verifiedJwt.userId(),
+                verifiedJwt.firstName(),
+                verifiedJwt.lastName(),
+                verifiedJwt.subject(),
+                null,
+                true,
+                true,
+                true,
+                null,
+                true,
+                verifiedJwt.securityVersion(),
                 authorities
         );
     }
@@ -69,9 +142,12 @@ public class UserDetailsImpl implements UserDetails {
         return accountNonExpired;
     }
 
+    /**
+     * Un verrouillage temporaire expire de lui-même à {@code lockedUntil}.
+     */
     @Override
     public boolean isAccountNonLocked() {
-        return accountNonLocked;
+        return accountNonLocked || (lockedUntil != null && lockedUntil.isBefore(LocalDateTime.now()));
     }
 
     @Override
@@ -0,0 +1,80 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.StatelessAuthProperties;
+import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des versions de sécurité des utilisateurs, utilisé par le mode d'authentification sans état.
+ * <p>
+ * Chaque version est lue en base au plus une fois par fenêtre de vérification
+ * ({@code security.stateless.revocation-check-window}) : un utilisateur désactivé, dont le rôle a changé
+ * ou supprimé perd donc l'accès au plus tard à l'expiration de cette fenêtre, et immédiatement
+ * sur l'instance qui a effectué la modification grâce à {@link #invalidate(Long)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSecurityVersionRegistry {
+
+    /** Au-delà de ce nombre d'entrées, le registre est vidé pour borner la mémoire. */
+    private static final int MAX_ENTRIES = 50_000;
+
+    /** Version sentinelle d'un utilisateur supprimé. */
+    private static final int DELETED = -1;
+
+    private final UserRepository userRepository;
+    private final StatelessAuthProperties properties;
+
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Vérifie que la version portée par le token est toujours la version courante de l'utilisateur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param tokenVersion la version de sécurité portée par le token
+     * @return {@code true} si le token n'a pas été révoqué
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    /**
+     * Invalide la version mise en cache d'un utilisateur, immédiatement et après le commit
+     * de la transaction courante, afin qu'une lecture concurrente ne réinsère pas l'ancienne valeur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     */
+    public void invalidate(Long userId) {
+        versions.remove(userId);
+        TransactionUtils.afterCommit(() -> versions.remove(userId));
+        log.debug("Version de sécurité invalidée pour l'utilisateur id : {}", userId);
+    }
+
+    private int currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = versions.get(userId);
+
+        if (entry != null && now - entry.loadedAt() < properties.revocationCheckWindow()) {
+            return entry.version();
+        }
+
+        int version = userRepository.findSecurityVersionById(userId).orElse(DELETED);
+
+        if (versions.size() >= MAX_ENTRIES) {
+            versions.clear();
+        }
+        versions.put(userId, new Entry(version, now));
+
+        return version;
+    }
+
+    private record Entry(int version, long loadedAt) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.cheridanh.infradev.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims d'un token JWT dont la signature et l'expiration ont déjà été vérifiées.
+ * Objet immuable, partagé entre le filtre JWT et le code en aval sans nouveau parsing.
+ *
+ * @param tokenId l'identifiant unique du token ({@code jti}, absent des tokens antérieurs)
+ * @param subject l'email de l'utilisateur
+ * @param userId l'identifiant de l'utilisateur (absent des tokens antérieurs)
+ * @param roles les rôles portés par le token
+ * @param firstName le prénom de l'utilisateur
+ * @param lastName le nom de l'utilisateur
+ * @param fullName le nom complet de l'utilisateur
+ * @param securityVersion la version de sécurité de l'utilisateur à l'émission (absente des tokens antérieurs)
+ * @param issuedAt la date d'émission du token
+ * @param expiration la date d'expiration du token
+ */
+public record VerifiedJwt(
+        String tokenId,
+        String subject,
+        Long userId,
+        List<String> roles,
+        String firstName,
+        String lastName,
+        String fullName,
+        Integer securityVersion,
+        Instant issuedAt,
+        Instant expiration
+) {
+
+    public VerifiedJwt {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
@@ -5,6 +5,7 @@ import com.cheridanh.infradev.dtos.request.LogoutRequest;
 import com.cheridanh.infradev.dtos.request.RefreshTokenRequest;
 import com.cheridanh.infradev.dtos.request.RegisterRequest;
 import com.cheridanh.infradev.dtos.response.AuthResponse;
+import com.cheridanh.infradev.security.VerifiedJwt;
 
 public interface AuthService {
 
@@ -18,11 +19,14 @@ public interface AuthService {
 
     /**
      * Authentifie un utilisateur existant.
+     * Les tentatives sont limitées par email et par adresse IP.
      *
      * @param request les identifiants de connexion
+     * @param clientIp l'adresse IP du client
      * @return la réponse contenant les tokens et les infos utilisateur
+     * @throws com.cheridanh.infradev.exceptions.TooManyRequestsException si trop de tentatives ont eu lieu
      */
-    AuthResponse login(LoginRequest request);
+    AuthResponse login(LoginRequest request, String clientIp);
 
     /**
      * Renouvelle le token d'accès à partir d'un refresh token valide.
@@ -34,9 +38,11 @@ public interface AuthService {
     AuthResponse refreshToken(RefreshTokenRequest request);
 
     /**
-     * Déconnecte l'utilisateur en révoquant tous ses refresh tokens actifs.
+     * Déconnecte l'utilisateur en révoquant la famille du refresh token présenté
+     * et, s'il est fourni, le token d'accès courant.
      *
      * @param request le refresh token à révoquer
+     * @param accessToken le token d'accès présenté avec la requête, ou {@code null}
      */
-    void logout(LogoutRequest request);
+    void logout(LogoutRequest request, VerifiedJwt accessToken);
 }
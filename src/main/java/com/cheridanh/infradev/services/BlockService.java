@@ -1,18 +1,20 @@
 package com.cheridanh.infradev.services;
 
 import com.cheridanh.infradev.dtos.request.BlockRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.response.BlockResponse;
-
-import java.util.List;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 
 public interface BlockService {
 
     /**
-     * Récupère tous les blocs
+     * Récupère tous les blocs.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des blocs
+     * @param query le curseur, la taille, le tri et les filtres de la page
+     * @return la page demandée
      */
-    List<BlockResponse> getAllBlocks();
+    CursorPage<BlockResponse> getAllBlocks(PageQuery query);
 
     /**
      * Récupère un bloc par son identifiant, avec la liste de ses modules.
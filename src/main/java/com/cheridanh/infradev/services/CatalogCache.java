@@ -0,0 +1,366 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.configs.CatalogCacheProperties;
+import com.cheridanh.infradev.dtos.response.CourseResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.dtos.response.ExerciseResponse;
+import com.cheridanh.infradev.dtos.response.ModuleResponse;
+import com.cheridanh.infradev.dtos.response.QuizResponse;
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.utils.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache en mémoire des lectures du catalogue pédagogique (blocs, modules, cours, exercices, quiz).
+ * <p>
+ * Les DTO sont mis en cache tels que renvoyés par les services. Un accès en cache n'ouvre pas de transaction
+ * et ne charge aucune entité : en cas d'absence, le chargement est exécuté dans une transaction en lecture seule.
+ * Les contrôleurs calculent toutefois la version de la ressource ({@link ResourceVersions}) avant la lecture :
+ * chaque requête exécute donc au moins cette requête d'agrégat ({@code MAX}/{@code COUNT}), même servie
+ * depuis le cache.
+ * <p>
+ * Les écritures invalident précisément les entrées concernées, y compris celles d'autres entités qui
+ * embarquent la donnée modifiée (le nom d'un module dans les cours, exercices et quiz, le nom d'un bloc
+ * dans les modules, les compteurs d'un module). L'invalidation a lieu immédiatement puis après le commit.
+ * <p>
+ * Chaque entrée pèse le nombre de DTO qu'elle contient ; le poids total est limité à
+ * {@code catalog.cache.maximum-weight}. Les statistiques sont publiées sous {@code cache.*{cache=catalog}},
+ * et le taux de succès sous {@code cache.hit.ratio{cache=catalog}}.
+ * <p>
+ * L'arbre complet du catalogue est conservé à part, déjà sérialisé, et invalidé par toute écriture.
+ * <p>
+ * L'invalidation est locale à l'instance. Une lecture servie avec un ETag ({@link #readAt}) est donc rattachée
+ * à la version de la ressource calculée en base : une entrée chargée pour une version antérieure, qu'une
+ * écriture reçue par une autre instance n'a pas invalidée ici, n'est jamais renvoyée sous le nouvel ETag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    private static final String CACHE_NAME = "catalog";
+
+    private static final Set<Region> MODULE_AGGREGATES = EnumSet.of(
+            Region.MODULE, Region.MODULE_PAGE, Region.MODULES_BY_BLOCK);
+
+    private static final Set<Region> MODULE_CONTENTS = EnumSet.of(
+            Region.COURSE, Region.COURSE_PAGE, Region.EXERCISE, Region.EXERCISE_PAGE, Region.QUIZ, Region.QUIZ_PAGE);
+
+    /**
+     * Famille d'entrées du cache : une lecture de service, discriminée par un identifiant ou une requête de page.
+     */
+    public enum Region {
+        BLOCK, BLOCK_PAGE,
+        MODULE, MODULE_PAGE, MODULES_BY_BLOCK,
+        COURSE, COURSE_PAGE, COURSES_BY_MODULE,
+        EXERCISE, EXERCISE_PAGE, EXERCISES_BY_MODULE,
+        QUIZ, QUIZ_PAGE
+    }
+
+    /**
+     * Clé d'une entrée : la lecture et la version de la ressource pour laquelle elle a été chargée,
+     * {@code null} hors requête conditionnelle.
+     */
+    private record Key(Region region, Object discriminator, String version) {
+    }
+
+    /** Arbre du catalogue sérialisé et la version pour laquelle il a été construit. */
+    private record Tree(String version, byte[] json) {
+    }
+
+    private final CatalogCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Compteur incrémenté à chaque invalidation. Un chargement commencé avant une invalidation
+     * n'est pas mis en cache, ce qui évite de réinsérer une valeur lue avant le commit.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /** Arbre du catalogue sérialisé en JSON, {@code null} tant qu'il n'est pas construit. */
+    private final AtomicReference<Tree> tree = new AtomicReference<>();
+
+    /** Version de la ressource servie par la lecture en cours sur ce thread, voir {@link #readAt}. */
+    private final ThreadLocal<String> readVersion = new ThreadLocal<>();
+
+    private Cache<Key, Object> cache;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void initCache() {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight())
+                .weigher((Key key, Object value) -> weigh(value))
+                .expireAfterWrite(Duration.ofMillis(properties.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Taux de succès du cache du catalogue")
+                .register(meterRegistry);
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        log.info("Cache du catalogue initialisé (poids max : {}, ttl : {} ms)",
+                properties.maximumWeight(), properties.ttl());
+    }
+
+    /**
+     * Exécute une lecture destinée à être servie sous l'ETag {@code version} : seules les entrées chargées
+     * pour cette version sont réutilisées, les autres sont rechargées en base. Le contenu renvoyé est donc
+     * au moins aussi récent que la version annoncée.
+     *
+     * @param version la version de la ressource, calculée avant la lecture
+     * @param read la lecture, par un service qui passe par ce cache
+     * @return le résultat de la lecture
+     */
+    public <T> T readAt(ResourceVersions.Version version, Supplier<T> read) {
+        readVersion.set(version.etag());
+        try {
+            return read.get();
+        } finally {
+            readVersion.remove();
+        }
+    }
+
+    /**
+     * Retourne la valeur en cache ou la charge via {@code loader}, dans une transaction en lecture seule.
+     * Les exceptions du chargement (ressource introuvable) sont propagées et rien n'est mis en cache.
+     *
+     * @param region la famille de l'entrée
+     * @param discriminator l'identifiant ou la requête de page
+     * @param loader le chargement en base
+     * @return la valeur
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, Object discriminator, Supplier<T> loader) {
+        Key key = new Key(region, discriminator, readVersion.get());
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long stamp = invalidations.get();
+        T loaded = readOnlyTransaction.execute(status -> loader.get());
+
+        if (loaded != null && invalidations.get() == stamp) {
+            cache.put(key, loaded);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Retourne l'arbre du catalogue sérialisé, ou le construit : {@code loader} est exécuté dans une transaction
+     * en lecture seule, puis son résultat est sérialisé hors transaction.
+     *
+     * @param loader la construction de l'arbre en base
+     * @param serializer la sérialisation de l'arbre
+     * @return l'arbre sérialisé
+     */
+    public <T> byte[] getTree(Supplier<T> loader, Function<T, byte[]> serializer) {
+        String version = readVersion.get();
+        Tree cached = tree.get();
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached.json();
+        }
+
+        long stamp = invalidations.get();
+        byte[] built = serializer.apply(readOnlyTransaction.execute(status -> loader.get()));
+
+        if (invalidations.get() == stamp) {
+            tree.set(new Tree(version, built));
+        }
+
+        return built;
+    }
+
+    /**
+     * Invalide un bloc, ses pages, la liste de ses modules et les modules qui embarquent son nom.
+     *
+     * @param blockId l'identifiant du bloc
+     */
+    public void evictBlock(Long blockId) {
+        invalidate(key -> key.region() == Region.BLOCK_PAGE
+                        || is(key, Region.BLOCK, blockId)
+                        || is(key, Region.MODULES_BY_BLOCK, blockId),
+                (key, value) -> MODULE_AGGREGATES.contains(key.region())
+                        && contains(value, item -> item instanceof ModuleResponse module
+                        && refersTo(module.getBlockId(), blockId)));
+        log.debug("Bloc id {} retiré du cache du catalogue", blockId);
+    }
+
+    /**
+     * Invalide un module, ses pages, les listes par bloc et par module qui le concernent,
+     * ainsi que les cours, exercices et quiz qui embarquent son nom.
+     *
+     * @param moduleId l'identifiant du module
+     * @param blockIds les blocs du module, avant et après l'écriture
+     */
+    public void evictModule(Long moduleId, Long... blockIds) {
+        List<Long> blocks = nonNull(blockIds);
+        invalidate(key -> key.region() == Region.MODULE_PAGE
+                        || is(key, Region.MODULE, moduleId)
+                        || is(key, Region.COURSES_BY_MODULE, moduleId)
+                        || is(key, Region.EXERCISES_BY_MODULE, moduleId)
+                        || (key.region() == Region.MODULES_BY_BLOCK && blocks.contains(key.discriminator())),
+                (key, value) -> MODULE_CONTENTS.contains(key.region())
+                        && contains(value, item -> refersTo(moduleIdOf(item), moduleId)));
+        log.debug("Module id {} retiré du cache du catalogue", moduleId);
+    }
+
+    /**
+     * Invalide un cours, ses pages, les listes de cours de ses modules et les compteurs de ces modules.
+     *
+     * @param courseId l'identifiant du cours
+     * @param moduleIds les modules du cours, avant et après l'écriture
+     */
+    public void evictCourse(Long courseId, Long... moduleIds) {
+        evictModuleContent(Region.COURSE, Region.COURSE_PAGE, Region.COURSES_BY_MODULE, courseId, nonNull(moduleIds));
+        log.debug("Cours id {} retiré du cache du catalogue", courseId);
+    }
+
+    /**
+     * Invalide un exercice, ses pages, les listes d'exercices de ses modules et les compteurs de ces modules.
+     *
+     * @param exerciseId l'identifiant de l'exercice
+     * @param moduleIds les modules de l'exercice, avant et après l'écriture
+     */
+    public void evictExercise(Long exerciseId, Long... moduleIds) {
+        evictModuleContent(Region.EXERCISE, Region.EXERCISE_PAGE, Region.EXERCISES_BY_MODULE, exerciseId, nonNull(moduleIds));
+        log.debug("Exercice id {} retiré du cache du catalogue", exerciseId);
+    }
+
+    /**
+     * Invalide un quiz, ses pages et les modules qui l'embarquent.
+     *
+     * @param quizId l'identifiant du quiz
+     * @param moduleIds les modules du quiz, avant et après l'écriture
+     */
+    public void evictQuiz(Long quizId, Long... moduleIds) {
+        evictModuleContent(Region.QUIZ, Region.QUIZ_PAGE, null, quizId, nonNull(moduleIds));
+        log.debug("Quiz id {} retiré du cache du catalogue", quizId);
+    }
+
+    /**
+     * Vide entièrement le cache.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        tree.set(null);
+        cache.invalidateAll();
+    }
+
+    private void evictModuleContent(Region entity, Region page, Region byModule, Long id, List<Long> moduleIds) {
+        invalidate(key -> key.region() == page
+                        || is(key, entity, id)
+                        || (key.region() == byModule && moduleIds.contains(key.discriminator()))
+                        || (key.region() == Region.MODULE && moduleIds.contains(key.discriminator())),
+                (key, value) -> MODULE_AGGREGATES.contains(key.region())
+                        && contains(value, item -> item instanceof ModuleResponse module
+                        && moduleIds.contains(module.getId())));
+    }
+
+    /**
+     * Retire les entrées désignées par leur clé ou par leur contenu, immédiatement et après le commit
+     * de la transaction courante.
+     */
+    private void invalidate(Predicate<Key> byKey, EntryPredicate byValue) {
+        Runnable action = () -> {
+            invalidations.incrementAndGet();
+            tree.set(null);
+            cache.asMap().entrySet()
+                    .removeIf(entry -> byKey.test(entry.getKey()) || byValue.test(entry.getKey(), entry.getValue()));
+        };
+        action.run();
+        TransactionUtils.afterCommit(action);
+    }
+
+    @FunctionalInterface
+    private interface EntryPredicate {
+        boolean test(Key key, Object value);
+    }
+
+    private static boolean is(Key key, Region region, Object discriminator) {
+        return key.region() == region && Objects.equals(key.discriminator(), discriminator);
+    }
+
+    /**
+     * Indique si une valeur en cache, ou l'un de ses éléments pour une page ou une liste, vérifie le prédicat.
+     */
+    private static boolean contains(Object value, Predicate<Object> item) {
+        if (value instanceof CursorPage<?> page) {
+            return page.items().stream().anyMatch(item);
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().anyMatch(item);
+        }
+        return item.test(value);
+    }
+
+    /**
+     * Indique si un élément en cache référence l'identifiant donné. Une page restreinte par {@code fields}
+     * peut omettre la référence tout en embarquant le nom : un identifiant absent est traité comme correspondant.
+     */
+    private static boolean refersTo(Long reference, Long id) {
+        return reference == null || reference.equals(id);
+    }
+
+    private static Long moduleIdOf(Object item) {
+        return switch (item) {
+            case CourseResponse course -> course.getModuleId();
+            case ExerciseResponse exercise -> exercise.getModuleId();
+            case QuizResponse quiz -> quiz.getModuleId();
+            default -> null;
+        };
+    }
+
+    /**
+     * Poids d'une entrée : le nombre de DTO qu'elle retient, au moins 1.
+     */
+    private static int weigh(Object value) {
+        if (value instanceof CursorPage<?> page) {
+            return Math.max(1, page.items().size());
+        }
+        if (value instanceof List<?> list) {
+            return Math.max(1, list.size());
+        }
+        if (value instanceof ModuleResponse module) {
+            return 1 + sizeOf(module.getCourses()) + sizeOf(module.getExercises());
+        }
+        return 1;
+    }
+
+    private static int sizeOf(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+
+    private static List<Long> nonNull(Long... ids) {
+        return Arrays.stream(ids).filter(Objects::nonNull).toList();
+    }
+}
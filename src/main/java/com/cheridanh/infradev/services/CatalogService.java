@@ -0,0 +1,13 @@
+package com.cheridanh.infradev.services;
+
+public interface CatalogService {
+
+    /**
+     * Récupère l'arbre complet du catalogue (blocs, modules, cours, exercices et quiz),
+     * sous forme de réponse JSON déjà sérialisée.
+     * L'arbre est construit en un nombre fixe de requêtes et conservé jusqu'à la prochaine écriture du catalogue.
+     *
+     * @return le corps JSON de la réponse
+     */
+    byte[] getCatalogTree();
+}
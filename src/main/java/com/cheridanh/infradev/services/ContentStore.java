@@ -0,0 +1,138 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.configs.ContentCacheProperties;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.entities.ContentBody;
+import com.cheridanh.infradev.entities.ContentHolder;
+import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
+import com.cheridanh.infradev.repositories.ContentBodyRepository;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
+import com.cheridanh.infradev.utils.ContentCompression;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Stockage des contenus des cours, exercices et quiz.
+ * <p>
+ * Le contenu est compressé (gzip) dans {@code content_bodies} ; son propriétaire n'en garde que la référence,
+ * la taille et l'empreinte SHA-256. Une écriture dont l'empreinte ne change pas ne touche pas la base ;
+ * sinon le corps existant est remplacé sur place, sans être chargé.
+ * <p>
+ * À la lecture, les contenus jusqu'à {@code content.cache.max-entry-size} octets sont conservés décompressés,
+ * indexés par leur empreinte : une modification change la clé, aucune invalidation n'est donc nécessaire.
+ * Les contenus plus grands sont décompressés en flux. Les statistiques sont publiées sous
+ * {@code cache.*{cache=content}}.
+ * <p>
+ * Pendant un déploiement progressif, une instance de la version précédente écrit encore le contenu en clair
+ * dans l'ancienne colonne {@code content}, sans corps ni empreinte. Toute écriture de la version courante vide
+ * cette colonne : un contenu en clair sans corps, ou dont l'empreinte ne correspond pas à celle enregistrée,
+ * est donc plus récent que le corps et c'est lui qui est servi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentStore {
+
+    private static final String CACHE_NAME = "content";
+
+    private final ContentBodyRepository contentBodyRepository;
+    private final ContentCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, byte[]> cache;
+
+    @PostConstruct
+    void initCache() {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight())
+                .weigher((String hash, byte[] raw) -> raw.length)
+                .expireAfterAccess(Duration.ofMillis(properties.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        log.info("Cache des contenus initialisé (poids max : {} octets, entrée max : {} octets, ttl : {} ms)",
+                properties.maximumWeight(), properties.maxEntrySize(), properties.ttl());
+    }
+
+    /**
+     * Enregistre le contenu d'une entité. Doit être appelé dans la transaction d'écriture de l'entité :
+     * un nouveau corps est persisté avec elle, un corps existant est mis à jour sur place.
+     *
+     * @param owner l'entité propriétaire du contenu
+     * @param content le nouveau contenu
+     */
+    public void write(ContentHolder owner, String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        String hash = ContentCompression.hash(raw);
+        ContentBody body = owner.getContentBody();
+        owner.setLegacyContent(null);
+
+        if (body != null && hash.equals(owner.getContentHash())) {
+            log.debug("Contenu inchangé, aucune écriture");
+            return;
+        }
+
+        byte[] compressed = ContentCompression.compress(raw);
+        if (body == null) {
+            owner.setContentBody(ContentBody.builder().data(compressed).build());
+        } else {
+            contentBodyRepository.updateData(body.getId(), compressed);
+        }
+        owner.setContentLength(raw.length);
+        owner.setContentHash(hash);
+
+        log.debug("Contenu enregistré : {} octets, {} compressés", raw.length, compressed.length);
+    }
+
+    /**
+     * Ouvre le contenu référencé, depuis le cache ou la base.
+     *
+     * @param ref la référence lue sur la ligne du propriétaire
+     * @return le contenu à transmettre en flux
+     * @throws ResourceNotFoundException si le corps référencé n'existe plus
+     */
+    public ContentStream open(ContentRef ref) {
+        if (ref.legacyContent() != null) {
+            byte[] legacy = ref.legacyContent().getBytes(StandardCharsets.UTF_8);
+            if (ref.bodyId() == null || !ContentCompression.hash(legacy).equals(ref.hash())) {
+                log.debug("Contenu écrit par la version précédente, servi depuis l'ancienne colonne");
+                return new ContentStream(legacy.length, new ByteArrayInputStream(legacy));
+            }
+        }
+        if (ref.bodyId() == null) {
+            return new ContentStream(0, InputStream.nullInputStream());
+        }
+
+        byte[] cached = ref.hash() != null ? cache.getIfPresent(ref.hash()) : null;
+        if (cached != null) {
+            return new ContentStream(cached.length, new ByteArrayInputStream(cached));
+        }
+
+        byte[] compressed = contentBodyRepository.findDataById(ref.bodyId())
+                .orElseThrow(() -> new ResourceNotFoundException("Contenu", ref.bodyId()));
+
+        // Taille et clé calculées sur les octets lus : un contenu remplacé entre la lecture de la référence
+        // et celle du corps n'est ni annoncé avec l'ancienne taille ni mal indexé
+        long length = ContentCompression.decompressedLength(compressed);
+        if (length > properties.maxEntrySize()) {
+            return new ContentStream(length, ContentCompression.decompressing(compressed));
+        }
+
+        byte[] raw = ContentCompression.decompress(compressed);
+        String hash = ContentCompression.hash(raw);
+        cache.put(hash, raw);
+        return new ContentStream(raw.length, new ByteArrayInputStream(raw));
+    }
+}
@@ -1,7 +1,11 @@
 package com.cheridanh.infradev.services;
 
 import com.cheridanh.infradev.dtos.request.CourseRequest;
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ContentStream;
 import com.cheridanh.infradev.dtos.response.CourseResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 
 import java.util.List;
 
@@ -9,10 +13,12 @@ public interface CourseService {
 
     /**
      * Récupère tous les cours.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des cours
+     * @param query le curseur, la taille, le tri, les filtres et les champs de la page
+     * @return la page demandée
      */
-    List<CourseResponse> getAllCourses();
+    CursorPage<CourseResponse> getAllCourses(PageQuery query);
 
     /**
      * Récupère un cours par son identifiant.
@@ -22,6 +28,24 @@ public interface CourseService {
      */
     CourseResponse getCourseById(Long id);
 
+    /**
+     * Récupère un cours par son identifiant.
+     *
+     * @param id l'identifiant du cours
+     * @param fields les champs à retourner
+     * @return le cours correspondant, restreint aux champs demandés
+     */
+    CourseResponse getCourseById(Long id, FieldSelection fields);
+
+    /**
+     * Ouvre le contenu du cours, à transmettre en flux.
+     * Les listes et le détail n'en exposent que la taille et l'empreinte.
+     *
+     * @param id l'identifiant du cours
+     * @return le contenu décompressé
+     */
+    ContentStream getCourseContent(Long id);
+
     /**
      * Récupère tous les cours d'un module donné.
      *
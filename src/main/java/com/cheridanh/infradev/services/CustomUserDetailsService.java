@@ -2,34 +2,61 @@ package com.cheridanh.infradev.services;
 
 import com.cheridanh.infradev.entities.User;
 import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.security.UserDetailsCache;
 import com.cheridanh.infradev.security.UserDetailsImpl;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Charge un utilisateur par son email pour l'authentification Spring Security.
+     * Le résultat est servi depuis {@link UserDetailsCache} lorsqu'il y est présent ;
+     * aucune transaction n'est ouverte dans ce cas.
      *
      * @param email l'email de l'utilisateur
      * @return l'entité User (qui implémente UserDetails).
      * @throws UsernameNotFoundException si aucun utilisateur n'est trouvé avec cet email
      */
     @Override
-    @Transactional(readOnly = true)
     @NonNull
     public UserDetails loadUserByUsername(@NonNull String email) throws UsernameNotFoundException {
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
+
+    /**
+     * Enregistre le mot de passe ré-haché au coût courant après une connexion réussie.
+     * Appelé par le {@code DaoAuthenticationProvider} lorsque l'encodeur signale un coût obsolète.
+     *
+     * @param user l'utilisateur authentifié
+     * @param newPassword le nouveau hash
+     * @return l'utilisateur avec le nouveau hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Mise à jour du coût de hachage du mot de passe pour : {}", user.getUsername());
+
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        userDetailsCache.evict(user.getUsername());
+
+        return user instanceof UserDetailsImpl userDetails
+                ? userDetails.withPassword(newPassword)
+                : loadFromDatabase(user.getUsername());
+    }
+
+    private UserDetailsImpl loadFromDatabase(String email) {
         log.debug("Chargement de l'utilisateur par email : {}", email);
 
         User user = userRepository.findByEmail(email)
@@ -1,6 +1,10 @@
 package com.cheridanh.infradev.services;
 
 import com.cheridanh.infradev.dtos.request.ExerciseRequest;
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.ExerciseResponse;
 
 import java.util.List;
@@ -9,10 +13,12 @@ public interface ExerciseService {
 
     /**
      * Récupère tous les exercices.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des exercices
+     * @param query le curseur, la taille, le tri, les filtres et les champs de la page
+     * @return la page demandée
      */
-    List<ExerciseResponse> getAllExercises();
+    CursorPage<ExerciseResponse> getAllExercises(PageQuery query);
 
     /**
      * Récupère un exercice par son identifiant.
@@ -22,6 +28,24 @@ public interface ExerciseService {
      */
     ExerciseResponse getExerciseById(Long id);
 
+    /**
+     * Récupère un exercice par son identifiant.
+     *
+     * @param id l'identifiant de l'exercice
+     * @param fields les champs à retourner
+     * @return l'exercice correspondant, restreint aux champs demandés
+     */
+    ExerciseResponse getExerciseById(Long id, FieldSelection fields);
+
+    /**
+     * Ouvre le contenu de l'exercice, à transmettre en flux.
+     * Les listes et le détail n'en exposent que la taille et l'empreinte.
+     *
+     * @param id l'identifiant de l'exercice
+     * @return le contenu décompressé
+     */
+    ContentStream getExerciseContent(Long id);
+
     /**
      * Récupère tous les exercices d'un module donné.
      *
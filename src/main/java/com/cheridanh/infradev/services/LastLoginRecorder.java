@@ -0,0 +1,83 @@
+package com.cheridanh.infradev.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enregistrement différé des dates de dernière connexion.
+ * <p>
+ * Les connexions sont accumulées en mémoire (une entrée par utilisateur, la plus récente l'emporte)
+ * puis écrites par lots à intervalle régulier et à l'arrêt de l'application. La connexion n'attend
+ * donc plus l'écriture, et la mise à jour ne passe pas par l'entité : {@code updatedAt} n'est pas modifié.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+
+    private static final String UPDATE_LAST_LOGIN_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Enregistre une connexion, fusionnée avec celle déjà en attente pour le même utilisateur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param loginAt la date de connexion
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    /**
+     * Écrit les dates en attente en un seul lot JDBC.
+     *
+     * @return le nombre d'utilisateurs mis à jour
+     */
+    @Scheduled(fixedDelayString = "${LAST_LOGIN_FLUSH_INTERVAL:10000}")
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch, batch.size(), (statement, entry) -> {
+                statement.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                statement.setLong(2, entry.getKey());
+            });
+        } catch (RuntimeException ex) {
+            log.error("Échec de l'écriture des dates de dernière connexion, nouvelle tentative au prochain cycle", ex);
+            return 0;
+        }
+
+        // Ne retire que les entrées inchangées : une connexion survenue pendant l'écriture reste en attente
+        batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+
+        log.debug("{} date(s) de dernière connexion enregistrée(s)", batch.size());
+        return batch.size();
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("Écriture des dates de dernière connexion en attente avant l'arrêt");
+        flush();
+    }
+}
@@ -1,6 +1,9 @@
 package com.cheridanh.infradev.services;
 
+import com.cheridanh.infradev.dtos.request.FieldSelection;
 import com.cheridanh.infradev.dtos.request.ModuleRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.ModuleResponse;
 
 import java.util.List;
@@ -9,10 +12,12 @@ public interface ModuleService {
 
     /**
      * Récupère tous les modules.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des modules
+     * @param query le curseur, la taille, le tri, les filtres et les champs de la page
+     * @return la page demandée
      */
-    List<ModuleResponse> getAllModules();
+    CursorPage<ModuleResponse> getAllModules(PageQuery query);
 
     /**
      * Récupère un module par son identifiant, avec ses cours, exercices et quiz.
@@ -22,6 +27,15 @@ public interface ModuleService {
      */
     ModuleResponse getModuleById(Long id);
 
+    /**
+     * Récupère un module par son identifiant, restreint aux champs demandés.
+     *
+     * @param id l'identifiant du module
+     * @param fields les champs à retourner
+     * @return le module restreint aux champs demandés
+     */
+    ModuleResponse getModuleById(Long id, FieldSelection fields);
+
     /**
      * Récupère tous les modules d'un bloc donné.
      *
@@ -1,18 +1,21 @@
 package com.cheridanh.infradev.services;
 
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.PromoRequest;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.PromoResponse;
 
-import java.util.List;
-
 public interface PromoService {
 
     /**
-     * Récupère toutes les promotions, triées par date de début.
+     * Récupère toutes les promotions.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des promotions
+     * @param query le curseur, la taille, le tri, les filtres et les champs de la page
+     * @return la page demandée
      */
-    List<PromoResponse> getAllPromos();
+    CursorPage<PromoResponse> getAllPromos(PageQuery query);
 
     /**
      * Récupère une promotion par son identifiant, avec la liste de ses utilisateurs.
@@ -22,6 +25,16 @@ public interface PromoService {
      */
     PromoResponse getPromoById(Long id);
 
+    /**
+     * Récupère une promotion par son identifiant, restreinte aux champs demandés.
+     * Les utilisateurs ne sont chargés que si la liste ou leur nombre est demandé.
+     *
+     * @param id l'identifiant de la promotion
+     * @param fields les champs à retourner
+     * @return la promotion restreinte aux champs demandés
+     */
+    PromoResponse getPromoById(Long id, FieldSelection fields);
+
     /**
      * Crée une nouvelle promotion.
      *
@@ -1,18 +1,22 @@
 package com.cheridanh.infradev.services;
 
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.QuizRequest;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.QuizResponse;
 
-import java.util.List;
-
 public interface QuizService {
 
     /**
      * Récupère tous les quiz.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des quiz
+     * @param query le curseur, la taille, le tri, les filtres et les champs de la page
+     * @return la page demandée
      */
-    List<QuizResponse> getAllQuizzes();
+    CursorPage<QuizResponse> getAllQuizzes(PageQuery query);
 
     /**
      * Récupère un quiz par son identifiant.
@@ -22,6 +26,24 @@ public interface QuizService {
      */
     QuizResponse getQuizById(Long id);
 
+    /**
+     * Récupère un quiz par son identifiant.
+     *
+     * @param id l'identifiant du quiz
+     * @param fields les champs à retourner
+     * @return le quiz correspondant, restreint aux champs demandés
+     */
+    QuizResponse getQuizById(Long id, FieldSelection fields);
+
+    /**
+     * Ouvre le contenu du quiz, à transmettre en flux.
+     * Les listes et le détail n'en exposent que la taille et l'empreinte.
+     *
+     * @param id l'identifiant du quiz
+     * @return le contenu décompressé
+     */
+    ContentStream getQuizContent(Long id);
+
     /**
      * Crée un nouveau quiz rattaché à un module (un seul quiz par module).
      *
@@ -0,0 +1,117 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.configs.RefreshTokenPurgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purge des refresh tokens révoqués ou expirés par lots bornés.
+ * <p>
+ * Chaque lot est une requête {@code DELETE ... LIMIT} indépendante (auto-commit), guidée par l'index
+ * sur {@code revoked} ou sur {@code expiry_date} : les verrous sont relâchés entre deux lots et une pause
+ * laisse passer les renouvellements concurrents. La purge s'arrête lorsque le budget de temps est épuisé ;
+ * le reliquat est traité à l'exécution suivante.
+ * <p>
+ * Métriques publiées : {@code auth.refresh-tokens.purge.deleted}, {@code auth.refresh-tokens.purge.chunks}
+ * et {@code auth.refresh-tokens.purge.duration}.
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurger {
+
+    private static final String METRIC_PREFIX = "auth.refresh-tokens.purge";
+
+    /* Prédicats traités séparément : avec un OR sur deux colonnes, MySQL ne peut pas parcourir un seul index. */
+    private static final String DELETE_REVOKED_SQL = "DELETE FROM refresh_tokens WHERE revoked = TRUE LIMIT ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM refresh_tokens WHERE expiry_date < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RefreshTokenPurgeProperties properties;
+    private final Counter deletedCounter;
+    private final Counter chunkCounter;
+    private final Timer durationTimer;
+
+    public RefreshTokenPurger(
+            JdbcTemplate jdbcTemplate,
+            RefreshTokenPurgeProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.deletedCounter = Counter.builder(METRIC_PREFIX + ".deleted")
+                .description("Nombre de refresh tokens supprimés")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder(METRIC_PREFIX + ".chunks")
+                .description("Nombre de lots de suppression exécutés")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Durée d'une exécution de la purge")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Supprime les tokens révoqués puis les tokens expirés, lot par lot, dans la limite du budget de temps.
+     *
+     * @param now la date de référence pour l'expiration
+     * @return le nombre de tokens supprimés
+     */
+    public int purge(Instant now) {
+        long start = System.nanoTime();
+        long deadline = start + properties.timeBudget() * 1_000_000L;
+
+        int deleted = purgeInChunks(DELETE_REVOKED_SQL, deadline);
+        deleted += purgeInChunks(DELETE_EXPIRED_SQL, deadline, Timestamp.from(now));
+
+        durationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (System.nanoTime() >= deadline) {
+            log.warn("Budget de temps de la purge épuisé après {} token(s) supprimé(s), reprise à la prochaine exécution",
+                    deleted);
+        }
+
+        return deleted;
+    }
+
+    private int purgeInChunks(String sql, long deadline, Object... predicateArgs) {
+        Object[] args = new Object[predicateArgs.length + 1];
+        System.arraycopy(predicateArgs, 0, args, 0, predicateArgs.length);
+        args[predicateArgs.length] = properties.chunkSize();
+
+        int total = 0;
+        while (System.nanoTime() < deadline) {
+            int deleted = jdbcTemplate.update(sql, args);
+            chunkCounter.increment();
+            deletedCounter.increment(deleted);
+            total += deleted;
+
+            if (deleted < properties.chunkSize()) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (properties.pause() == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.pause());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Purge des refresh tokens interrompue");
+            return false;
+        }
+    }
+}
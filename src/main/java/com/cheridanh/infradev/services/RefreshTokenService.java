@@ -25,10 +25,12 @@ public interface RefreshTokenService {
     RefreshToken validateRefreshToken(String token);
 
     /**
-     * Effectue une rotation du refresh token : révoque l'ancien et en crée un nouveau.
+     * Effectue une rotation du refresh token : la famille passe à la génération suivante,
+     * ce qui invalide le token présenté.
      *
      * @param oldRefreshToken le refresh token à remplacer
      * @return le nouveau refresh token
+     * @throws com.cheridanh.infradev.exceptions.InvalidTokenException si la famille a déjà été renouvelée
      */
     RefreshToken rotateRefreshToken(RefreshToken oldRefreshToken);
 
@@ -39,6 +41,13 @@ public interface RefreshTokenService {
      */
     void revokeAllUserTokens(Long userId);
 
+    /**
+     * Révoque une famille de refresh tokens (toutes ses générations).
+     *
+     * @param familyId l'identifiant de la famille
+     */
+    void revokeFamily(Long familyId);
+
     /**
      * Supprime les tokens expirés et révoqués de la base de données.
      *
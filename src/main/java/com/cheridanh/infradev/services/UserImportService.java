@@ -0,0 +1,49 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.dtos.request.UserImportFormat;
+import com.cheridanh.infradev.dtos.response.UserImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface UserImportService {
+
+    /**
+     * Importe des utilisateurs depuis un flux, lu ligne par ligne sans être chargé en mémoire.
+     * Les lignes invalides sont ignorées et rapportées ; les autres sont insérées par lots.
+     *
+     * @param input le flux du fichier, encodé en UTF-8
+     * @param format le format du fichier
+     * @return le rapport final de l'import
+     */
+    UserImportReport importUsers(InputStream input, UserImportFormat format);
+
+    /**
+     * Copie le flux dans un fichier temporaire puis l'importe en arrière-plan.
+     * L'appelant récupère aussitôt l'identifiant de l'import pour en suivre l'avancement.
+     *
+     * @param input le flux du fichier, encodé en UTF-8
+     * @param format le format du fichier
+     * @return le rapport de l'import, en attente de traitement
+     * @throws IOException si la copie du flux échoue
+     * @throws com.cheridanh.infradev.exceptions.PayloadTooLargeException si le fichier dépasse la taille maximale
+     * @throws com.cheridanh.infradev.exceptions.ServerBusyException si la file des imports est pleine
+     */
+    UserImportReport startImport(InputStream input, UserImportFormat format) throws IOException;
+
+    /**
+     * Récupère l'avancement d'un import, en cours ou terminé.
+     *
+     * @param jobId l'identifiant de l'import
+     * @return le rapport de l'import
+     */
+    UserImportReport getImport(String jobId);
+
+    /**
+     * Liste les imports récents, du plus récent au plus ancien.
+     *
+     * @return les rapports des imports conservés
+     */
+    List<UserImportReport> getImports();
+}
@@ -1,19 +1,22 @@
 package com.cheridanh.infradev.services;
 
 import com.cheridanh.infradev.dtos.request.AssignBlocksRequest;
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.UserUpdateRequest;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.UserResponse;
 
-import java.util.List;
-
 public interface UserService {
 
     /**
      * Récupère tous les utilisateurs.
+     * Les résultats sont paginés par curseur, avec tri et filtres sur des champs autorisés.
      *
-     * @return la liste des utilisateurs
+     * @param query le curseur, la taille, le tri, les filtres et les champs de la page
+     * @return la page demandée
      */
-    List<UserResponse> getAllUsers();
+    CursorPage<UserResponse> getAllUsers(PageQuery query);
 
     /**
      * Récupère un utilisateur par son identifiant avec ses blocs.
@@ -23,6 +26,16 @@ public interface UserService {
      */
     UserResponse getUserById(Long id);
 
+    /**
+     * Récupère un utilisateur par son identifiant, restreint aux champs demandés.
+     * Sans les blocs, seules les colonnes demandées sont lues, sans charger l'entité.
+     *
+     * @param id l'identifiant de l'utilisateur
+     * @param fields les champs à retourner
+     * @return l'utilisateur restreint aux champs demandés
+     */
+    UserResponse getUserById(Long id, FieldSelection fields);
+
     /**
      * Met à jour les informations d'un utilisateur.
      *
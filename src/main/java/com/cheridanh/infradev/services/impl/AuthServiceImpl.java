@@ -11,21 +11,31 @@ import com.cheridanh.infradev.entities.Role;
 import com.cheridanh.infradev.entities.User;
 import com.cheridanh.infradev.exceptions.EmailAlreadyExistsException;
 import com.cheridanh.infradev.exceptions.InvalidCredentialsException;
-import com.cheridanh.infradev.exceptions.UserNotFoundException;
+import com.cheridanh.infradev.exceptions.ServerBusyException;
 import com.cheridanh.infradev.repositories.PromotionRepository;
 import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.security.AccessTokenDenylist;
+import com.cheridanh.infradev.security.LoginThrottle;
+import com.cheridanh.infradev.security.UserDetailsCache;
 import com.cheridanh.infradev.security.UserDetailsImpl;
+import com.cheridanh.infradev.security.VerifiedJwt;
 import com.cheridanh.infradev.services.AuthService;
+import com.cheridanh.infradev.services.LastLoginRecorder;
 import com.cheridanh.infradev.services.RefreshTokenService;
 import com.cheridanh.infradev.utils.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -42,9 +52,18 @@ public class AuthServiceImpl implements AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final LoginThrottle loginThrottle;
 
+    /**
+     * Inscrit un nouvel utilisateur.
+     * Le mot de passe est haché avant l'ouverture de la transaction, pour ne pas
+     * retenir de connexion à la base pendant l'attente du pool de hachage.
+     */
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Tentative d'inscription d'un nouvel utilisateur");
 
@@ -52,56 +71,88 @@ public class AuthServiceImpl implements AuthService {
             throw new EmailAlreadyExistsException(request.getEmail());
         }
 
-        Optional<Promotion> activePromotion = promotionRepository.findActiveByDate(LocalDate.now());
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
-        if (activePromotion.isPresent()) {
-            log.debug("Promotion active trouvée pour l'inscription : {}", activePromotion.get().getName());
-        } else {
-            log.debug("Aucune promotion active trouvée pour la date du jour");
-        }
+        return transactionTemplate.execute(status -> {
+            Optional<Promotion> activePromotion = promotionRepository.findActiveByDate(LocalDate.now());
+
+            if (activePromotion.isPresent()) {
+                log.debug("Promotion active trouvée pour l'inscription : {}", activePromotion.get().getName());
+            } else {
+                log.debug("Aucune promotion active trouvée pour la date du jour");
+            }
 
-        User user = buildNewUser(request, activePromotion);
-        userRepository.save(user);
+            User user = buildNewUser(request, encodedPassword, activePromotion);
+            userRepository.save(user);
+            userDetailsCache.evict(user.getEmail());
 
-        log.info("Nouvel utilisateur inscrit avec succès, id : {}", user.getId());
+            log.info("Nouvel utilisateur inscrit avec succès, id : {}", user.getId());
 
-        String accessToken = jwtUtil.generateToken(UserDetailsImpl.build(user));
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+            String accessToken = jwtUtil.generateToken(UserDetailsImpl.build(user));
+            RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
-        return buildAuthResponse(accessToken, refreshToken.getToken(), user);
+            return buildAuthResponse(accessToken, refreshToken.getToken(), user);
+        });
     }
 
+    /**
+     * Authentifie un utilisateur.
+     * La vérification du mot de passe a lieu hors transaction et le principal qu'elle charge est réutilisé ;
+     * seules la révocation et la création du refresh token sont exécutées dans une transaction courte,
+     * sans relire l'utilisateur. La date de dernière connexion est écrite en différé par {@link LastLoginRecorder}.
+     */
     @Override
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Tentative de connexion");
 
+        loginThrottle.acquire(request.getEmail(), clientIp);
+
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
-
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new UserNotFoundException(request.getEmail()));
-
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-
-            refreshTokenService.revokeAllUserTokens(user.getId());
-            String accessToken = jwtUtil.generateToken(UserDetailsImpl.build(user));
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
-
-            log.info("Connexion réussie pour l'utilisateur id : {}", user.getId());
-
-            return buildAuthResponse(accessToken, refreshToken.getToken(), user);
-
         } catch (BadCredentialsException ex) {
+            loginThrottle.recordFailure(request.getEmail());
             log.warn("Échec de connexion : identifiants invalides");
             log.debug("BadCredentialsException : {}", ex.getMessage());
             throw new InvalidCredentialsException();
+        } catch (InternalAuthenticationServiceException ex) {
+            if (ex.getCause() instanceof ServerBusyException serverBusyException) {
+                throw serverBusyException;
+            }
+            throw ex;
         }
+
+        loginThrottle.recordSuccess(request.getEmail());
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+
+        // nouvelle famille : les sessions ouvertes ailleurs restent valides, chaque famille est révoquée
+        // à la déconnexion ou sur réutilisation d'une génération périmée
+        RefreshToken refreshToken = transactionTemplate.execute(status ->
+                refreshTokenService.createRefreshToken(userRepository.getReferenceById(principal.getId())));
+
+        lastLoginRecorder.record(principal.getId(), LocalDateTime.now());
+        String accessToken = jwtUtil.generateToken(principal);
+
+        log.info("Connexion réussie pour l'utilisateur id : {}", principal.getId());
+
+        return AuthResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken.getToken())
+                .type("Bearer")
+                .email(principal.getEmail())
+                .firstName(principal.getFirstName())
+                .lastName(principal.getLastName())
+                .role(principal.getRoleName())
+                .build();
     }
 
+    /**
+     * Renouvelle les tokens d'un utilisateur.
+     * L'état du compte est revérifié : un compte désactivé ou verrouillé n'obtient plus de token d'accès,
+     * même avec un refresh token encore valide.
+     */
     @Override
     @Transactional
     public AuthResponse refreshToken(RefreshTokenRequest request) {
@@ -109,8 +160,19 @@ public class AuthServiceImpl implements AuthService {
 
         RefreshToken validatedToken = refreshTokenService.validateRefreshToken(request.getRefreshToken());
         User user = validatedToken.getUser();
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+
+        if (!principal.isEnabled()) {
+            log.warn("Renouvellement refusé : compte désactivé, utilisateur id : {}", user.getId());
+            throw new DisabledException("Compte désactivé");
+        }
+        if (!principal.isAccountNonLocked()) {
+            log.warn("Renouvellement refusé : compte verrouillé, utilisateur id : {}", user.getId());
+            throw new LockedException("Compte verrouillé");
+        }
+
         RefreshToken newRefreshToken = refreshTokenService.rotateRefreshToken(validatedToken);
-        String newAccessToken = jwtUtil.generateToken(UserDetailsImpl.build(user));
+        String newAccessToken = jwtUtil.generateToken(principal);
 
         log.info("Tokens renouvelés pour l'utilisateur id : {}", user.getId());
 
@@ -119,11 +181,15 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     @Transactional
-    public void logout(LogoutRequest request) {
+    public void logout(LogoutRequest request, VerifiedJwt accessToken) {
         log.debug("Tentative de déconnexion");
 
         RefreshToken refreshToken = refreshTokenService.validateRefreshToken(request.getRefreshToken());
-        refreshTokenService.revokeAllUserTokens(refreshToken.getUser().getId());
+        refreshTokenService.revokeFamily(refreshToken.getId());
+
+        if (accessToken != null) {
+            accessTokenDenylist.revokeToken(accessToken);
+        }
 
         log.info("Déconnexion réussie pour l'utilisateur id : {}", refreshToken.getUser().getId());
     }
@@ -132,15 +198,16 @@ public class AuthServiceImpl implements AuthService {
      * Construit le nouvel utilisateur à partir d'un {@link RegisterRequest}
      *
      * @param request la requête d'inscription
+     * @param encodedPassword le mot de passe déjà haché
      * @param activePromotion la promotion active pour l'inscription
      * @return l'utilisateur construit
      */
-    private User buildNewUser(RegisterRequest request, Optional<Promotion> activePromotion) {
+    private User buildNewUser(RegisterRequest request, String encodedPassword, Optional<Promotion> activePromotion) {
         return User.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .role(Role.USER)
                 .promotion(activePromotion.orElse(null))
                 .build();
@@ -1,37 +1,46 @@
 package com.cheridanh.infradev.services.impl;
 
 import com.cheridanh.infradev.dtos.request.BlockRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.response.BlockResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.entities.Block;
 import com.cheridanh.infradev.exceptions.DuplicateResourceException;
 import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
 import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.services.BlockService;
+import com.cheridanh.infradev.services.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BlockServiceImpl implements BlockService {
 
+    private static final KeysetSpec<Block, Block> PAGE_SPEC = KeysetSpec.builder(Block.class, Block::getId)
+            .sort("name", String.class, Block::getName)
+            .sort("createdAt", LocalDateTime.class, Block::getCreatedAt)
+            .build();
+
     private final BlockRepository blockRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final CatalogCache catalogCache;
 
     @Override
-    @Transactional(readOnly = true)
-    public List<BlockResponse> getAllBlocks() {
-        log.debug("Récupération de tous les blocs");
+    public CursorPage<BlockResponse> getAllBlocks(PageQuery query) {
+        log.debug("Récupération d'une page de blocs");
 
-        List<BlockResponse> blocs = blockRepository.findAll()
-                .stream()
-                .map(BlockResponse::fromEntity)
-                .toList();
+        CursorPage<BlockResponse> blocs = catalogCache.get(CatalogCache.Region.BLOCK_PAGE, query,
+                () -> keysetPaginator.findPage(PAGE_SPEC, query).map(BlockResponse::fromEntity));
 
-        log.debug("Total de blocs obtenus : {}", blocs.size());
+        log.debug("Total de blocs obtenus : {}", blocs.items().size());
 
         return blocs;
     }
@@ -39,9 +48,11 @@ public class BlockServiceImpl implements BlockService {
     @Override
     public BlockResponse getBlockById(Long id) {
         log.debug("Récupération du bloc id : {}", id);
-        Block block = findOrThrow(id);
-        log.debug("Bloc récupéré : {}", block.getName());
-        return BlockResponse.fromEntity(block);
+        return catalogCache.get(CatalogCache.Region.BLOCK, id, () -> {
+            Block block = findOrThrow(id);
+            log.debug("Bloc récupéré : {}", block.getName());
+            return BlockResponse.fromEntity(block);
+        });
     }
 
     @Override
@@ -55,6 +66,7 @@ public class BlockServiceImpl implements BlockService {
 
         Block block = buildNewBlock(blockRequest);
         blockRepository.save(block);
+        catalogCache.evictBlock(block.getId());
 
         log.debug("Bloc créé : {}", block.getName());
 
@@ -74,6 +86,7 @@ public class BlockServiceImpl implements BlockService {
 
         updateBlockFields(blockRequest, block);
         blockRepository.save(block);
+        catalogCache.evictBlock(id);
 
         log.info("Bloc id {} : mise à jour", id);
 
@@ -87,6 +100,7 @@ public class BlockServiceImpl implements BlockService {
 
         Block block = findOrThrow(id);
         blockRepository.delete(block);
+        catalogCache.evictBlock(id);
 
         log.info("Bloc id : {} supprimée avec succès", id);
     }
@@ -0,0 +1,100 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.response.ApiResponse;
+import com.cheridanh.infradev.dtos.response.CatalogTreeResponse;
+import com.cheridanh.infradev.dtos.response.CatalogTreeResponse.BlockNode;
+import com.cheridanh.infradev.dtos.response.CatalogTreeResponse.ContentSummary;
+import com.cheridanh.infradev.dtos.response.CatalogTreeResponse.ModuleNode;
+import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.repositories.CourseRepository;
+import com.cheridanh.infradev.repositories.ExerciseRepository;
+import com.cheridanh.infradev.repositories.ModuleRepository;
+import com.cheridanh.infradev.repositories.projections.CatalogContentRow;
+import com.cheridanh.infradev.repositories.projections.CatalogModuleRow;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.CatalogService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogServiceImpl implements CatalogService {
+
+    private final BlockRepository blockRepository;
+    private final ModuleRepository moduleRepository;
+    private final CourseRepository courseRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte[] getCatalogTree() {
+        log.debug("Récupération de l'arbre du catalogue");
+        return catalogCache.getTree(this::buildTree, this::serialize);
+    }
+
+    /**
+     * Construit l'arbre en quatre requêtes à plat (blocs, modules avec leur quiz, cours, exercices),
+     * assemblées en mémoire par identifiant de parent. L'ordre par nom des requêtes est conservé.
+     *
+     * @return l'arbre du catalogue
+     */
+    private CatalogTreeResponse buildTree() {
+        Map<Long, List<ContentSummary>> coursesByModule = groupByModule(courseRepository.findCatalogRows());
+        Map<Long, List<ContentSummary>> exercisesByModule = groupByModule(exerciseRepository.findCatalogRows());
+
+        Map<Long, List<ModuleNode>> modulesByBlock = moduleRepository.findCatalogRows().stream()
+                .collect(Collectors.groupingBy(CatalogModuleRow::blockId, Collectors.mapping(
+                        module -> toModuleNode(module, coursesByModule, exercisesByModule), Collectors.toList())));
+
+        List<BlockNode> blocks = blockRepository.findCatalogRows().stream()
+                .map(block -> new BlockNode(block.id(), block.name(), block.description(), block.cover(),
+                        modulesByBlock.getOrDefault(block.id(), List.of())))
+                .toList();
+
+        log.info("Arbre du catalogue construit : {} blocs", blocks.size());
+
+        return new CatalogTreeResponse(blocks);
+    }
+
+    private static ModuleNode toModuleNode(CatalogModuleRow module,
+                                           Map<Long, List<ContentSummary>> coursesByModule,
+                                           Map<Long, List<ContentSummary>> exercisesByModule) {
+        ContentSummary quiz = module.quizId() != null
+                ? new ContentSummary(module.quizId(), module.quizName(), module.quizCompleted())
+                : null;
+
+        return new ModuleNode(module.id(), module.name(), module.description(),
+                coursesByModule.getOrDefault(module.id(), List.of()),
+                exercisesByModule.getOrDefault(module.id(), List.of()),
+                quiz);
+    }
+
+    private static Map<Long, List<ContentSummary>> groupByModule(List<CatalogContentRow> rows) {
+        return rows.stream()
+                .collect(Collectors.groupingBy(CatalogContentRow::moduleId, Collectors.mapping(
+                        row -> new ContentSummary(row.id(), row.name(), row.completed()), Collectors.toList())));
+    }
+
+    /**
+     * Sérialise l'arbre dans l'enveloppe {@link ApiResponse} habituelle ; l'horodatage est celui de sa construction.
+     *
+     * @param tree l'arbre du catalogue
+     * @return le corps JSON de la réponse
+     */
+    private byte[] serialize(CatalogTreeResponse tree) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(tree));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Échec de la sérialisation de l'arbre du catalogue", ex);
+        }
+    }
+}
@@ -1,19 +1,29 @@
 package com.cheridanh.infradev.services.impl;
 
 import com.cheridanh.infradev.dtos.request.CourseRequest;
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ContentStream;
 import com.cheridanh.infradev.dtos.response.CourseResponse;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.entities.Course;
 import com.cheridanh.infradev.entities.Module;
 import com.cheridanh.infradev.exceptions.DuplicateResourceException;
 import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
 import com.cheridanh.infradev.repositories.CourseRepository;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.repositories.ModuleRepository;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.ContentStore;
 import com.cheridanh.infradev.services.CourseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,52 +31,92 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CourseServiceImpl implements CourseService {
 
+    /**
+     * Lignes de {@link CourseResponse} construites par la requête, avec le module joint : aucune entité n'est chargée.
+     * Les colonnes suivent l'ordre des champs de {@link CourseResponse} (constructeur complet) ; seules celles
+     * des champs demandés sont sélectionnées.
+     */
+    private static final KeysetSpec<Course, CourseResponse> RESPONSE_SPEC = KeysetSpec
+            .projection(Course.class, CourseResponse.class, CourseResponse::getId)
+            .column("id", Long.class)
+            .column("name", String.class)
+            .column("description", String.class)
+            .column("videoUrl", String.class)
+            .column("contentLength", Integer.class)
+            .column("contentHash", String.class)
+            .column("completed", Boolean.class)
+            .column("moduleId", "module.id", Long.class)
+            .column("moduleName", "module.name", String.class)
+            .column("createdAt", LocalDateTime.class)
+            .column("updatedAt", LocalDateTime.class)
+            .sort("name", String.class, CourseResponse::getName)
+            .sort("createdAt", LocalDateTime.class, CourseResponse::getCreatedAt)
+            .filter("completed", Boolean.class)
+            .filter("moduleId", "module.id", Long.class)
+            .build();
+
     private final CourseRepository courseRepository;
     private final ModuleRepository moduleRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final CatalogCache catalogCache;
+    private final ContentStore contentStore;
 
     @Override
-    @Transactional(readOnly = true)
-    public List<CourseResponse> getAllCourses() {
-        log.debug("Récupération de tous les cours");
+    public CursorPage<CourseResponse> getAllCourses(PageQuery query) {
+        log.debug("Récupération d'une page de cours");
 
-        List<CourseResponse> courses = courseRepository.findAll()
-                .stream()
-                .map(CourseResponse::fromEntity)
-                .toList();
+        CursorPage<CourseResponse> courses = catalogCache.get(CatalogCache.Region.COURSE_PAGE, query,
+                () -> keysetPaginator.findPage(RESPONSE_SPEC, query).map(query.fields()::narrow));
 
-        log.debug("Total de cours obtenus : {}", courses.size());
+        log.debug("Total de cours obtenus : {}", courses.items().size());
 
         return courses;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public CourseResponse getCourseById(Long id) {
+        return getCourseById(id, FieldSelection.ALL);
+    }
+
+    @Override
+    public CourseResponse getCourseById(Long id, FieldSelection fields) {
         log.debug("Récupération du cours id : {}", id);
-        Course course = findOrThrow(id);
-        log.debug("Cours récupéré : {}", course.getName());
-        return CourseResponse.fromEntity(course);
+        return fields.narrow(catalogCache.get(CatalogCache.Region.COURSE, id, () -> {
+            CourseResponse course = keysetPaginator.findById(RESPONSE_SPEC, id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cours", id));
+            log.debug("Cours récupéré : {}", course.getName());
+            return course;
+        }));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<CourseResponse> getCoursesByModuleId(Long moduleId) {
         log.debug("Récupération des cours du module id : {}", moduleId);
 
-        if (!moduleRepository.existsById(moduleId)) {
-            throw new ResourceNotFoundException("Module", moduleId);
-        }
+        List<CourseResponse> courses = catalogCache.get(CatalogCache.Region.COURSES_BY_MODULE, moduleId, () -> {
+            if (!moduleRepository.existsById(moduleId)) {
+                throw new ResourceNotFoundException("Module", moduleId);
+            }
 
-        List<CourseResponse> courses = courseRepository.findByModuleId(moduleId)
-                .stream()
-                .map(CourseResponse::fromEntity)
-                .toList();
+            return courseRepository.findByModuleId(moduleId)
+                    .stream()
+                    .map(CourseResponse::fromEntity)
+                    .toList();
+        });
 
         log.debug("Total de cours obtenus pour le module id {} : {}", moduleId, courses.size());
 
         return courses;
     }
 
+    @Override
+    public ContentStream getCourseContent(Long id) {
+        log.debug("Lecture du contenu du cours id : {}", id);
+        ContentRef ref = courseRepository.findContentRefById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cours", id));
+        return contentStore.open(ref);
+    }
+
     @Override
     @Transactional
     public CourseResponse createCourse(CourseRequest courseRequest) {
@@ -80,7 +130,9 @@ public class CourseServiceImpl implements CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Module", courseRequest.getModuleId()));
 
         Course course = buildNewCourse(courseRequest, module);
+        contentStore.write(course, courseRequest.getContent());
         courseRepository.save(course);
+        catalogCache.evictCourse(course.getId(), module.getId());
 
         log.info("Cours créé avec succès, id : {}", course.getId());
 
@@ -101,8 +153,11 @@ public class CourseServiceImpl implements CourseService {
         Module module = moduleRepository.findById(courseRequest.getModuleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Module", courseRequest.getModuleId()));
 
+        Long previousModuleId = moduleIdOf(course);
         updateCourseFields(courseRequest, course, module);
+        contentStore.write(course, courseRequest.getContent());
         courseRepository.save(course);
+        catalogCache.evictCourse(id, previousModuleId, module.getId());
 
         log.info("Cours id : {} mis à jour avec succès", id);
 
@@ -115,6 +170,7 @@ public class CourseServiceImpl implements CourseService {
         log.info("Tentative de suppression du cours id : {}", id);
         Course course = findOrThrow(id);
         courseRepository.delete(course);
+        catalogCache.evictCourse(id, moduleIdOf(course));
         log.info("Cours id : {} supprimé avec succès", id);
     }
 
@@ -126,6 +182,7 @@ public class CourseServiceImpl implements CourseService {
         Course course = findOrThrow(id);
         course.setCompleted(!course.getCompleted());
         courseRepository.save(course);
+        catalogCache.evictCourse(id, moduleIdOf(course));
 
         log.info("Cours id : {} est désormais {}", id, course.getCompleted() ? "complété" : "non complété");
 
@@ -144,7 +201,6 @@ public class CourseServiceImpl implements CourseService {
                 .name(courseRequest.getName())
                 .description(courseRequest.getDescription())
                 .videoUrl(courseRequest.getVideoUrl())
-                .content(courseRequest.getContent())
                 .module(module)
                 .build();
     }
@@ -160,10 +216,19 @@ public class CourseServiceImpl implements CourseService {
         course.setName(courseRequest.getName());
         course.setDescription(courseRequest.getDescription());
         course.setVideoUrl(courseRequest.getVideoUrl());
-        course.setContent(courseRequest.getContent());
         course.setModule(module);
     }
 
+    /**
+     * Retourne l'identifiant du module d'un cours.
+     *
+     * @param course le cours
+     * @return l'identifiant de son module, ou {@code null} s'il n'en a pas
+     */
+    private static Long moduleIdOf(Course course) {
+        return course.getModule() != null ? course.getModule().getId() : null;
+    }
+
     /**
      * Récupère un cours par son identifiant ou lève une exception si introuvable.
      *
@@ -1,19 +1,29 @@
 package com.cheridanh.infradev.services.impl;
 
 import com.cheridanh.infradev.dtos.request.ExerciseRequest;
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.ExerciseResponse;
 import com.cheridanh.infradev.entities.Exercise;
 import com.cheridanh.infradev.entities.Module;
 import com.cheridanh.infradev.exceptions.DuplicateResourceException;
 import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
 import com.cheridanh.infradev.repositories.ExerciseRepository;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.repositories.ModuleRepository;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.ContentStore;
 import com.cheridanh.infradev.services.ExerciseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,52 +31,90 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ExerciseServiceImpl implements ExerciseService {
 
+    /**
+     * Lignes de {@link ExerciseResponse} construites par la requête, avec le module joint : aucune entité n'est chargée.
+     * Les colonnes suivent l'ordre des champs de {@link ExerciseResponse} (constructeur complet) ; seules celles
+     * des champs demandés sont sélectionnées.
+     */
+    private static final KeysetSpec<Exercise, ExerciseResponse> RESPONSE_SPEC = KeysetSpec
+            .projection(Exercise.class, ExerciseResponse.class, ExerciseResponse::getId)
+            .column("id", Long.class)
+            .column("name", String.class)
+            .column("contentLength", Integer.class)
+            .column("contentHash", String.class)
+            .column("completed", Boolean.class)
+            .column("moduleId", "module.id", Long.class)
+            .column("moduleName", "module.name", String.class)
+            .column("createdAt", LocalDateTime.class)
+            .column("updatedAt", LocalDateTime.class)
+            .sort("name", String.class, ExerciseResponse::getName)
+            .sort("createdAt", LocalDateTime.class, ExerciseResponse::getCreatedAt)
+            .filter("completed", Boolean.class)
+            .filter("moduleId", "module.id", Long.class)
+            .build();
+
     private final ExerciseRepository exerciseRepository;
     private final ModuleRepository moduleRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final CatalogCache catalogCache;
+    private final ContentStore contentStore;
 
     @Override
-    @Transactional(readOnly = true)
-    public List<ExerciseResponse> getAllExercises() {
-        log.debug("Récupération de tous les exercices");
+    public CursorPage<ExerciseResponse> getAllExercises(PageQuery query) {
+        log.debug("Récupération d'une page d'exercices");
 
-        List<ExerciseResponse> exercises = exerciseRepository.findAll()
-                .stream()
-                .map(ExerciseResponse::fromEntity)
-                .toList();
+        CursorPage<ExerciseResponse> exercises = catalogCache.get(CatalogCache.Region.EXERCISE_PAGE, query,
+                () -> keysetPaginator.findPage(RESPONSE_SPEC, query).map(query.fields()::narrow));
 
-        log.debug("Total d'exercices obtenus : {}", exercises.size());
+        log.debug("Total d'exercices obtenus : {}", exercises.items().size());
 
         return exercises;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ExerciseResponse getExerciseById(Long id) {
+        return getExerciseById(id, FieldSelection.ALL);
+    }
+
+    @Override
+    public ExerciseResponse getExerciseById(Long id, FieldSelection fields) {
         log.debug("Récupération de l'exercice id : {}", id);
-        Exercise exercise = findOrThrow(id);
-        log.debug("Exercice récupéré : {}", exercise.getName());
-        return ExerciseResponse.fromEntity(exercise);
+        return fields.narrow(catalogCache.get(CatalogCache.Region.EXERCISE, id, () -> {
+            ExerciseResponse exercise = keysetPaginator.findById(RESPONSE_SPEC, id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Exercice", id));
+            log.debug("Exercice récupéré : {}", exercise.getName());
+            return exercise;
+        }));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ExerciseResponse> getExercisesByModuleId(Long moduleId) {
         log.debug("Récupération des exercices du module id : {}", moduleId);
 
-        if (!moduleRepository.existsById(moduleId)) {
-            throw new ResourceNotFoundException("Module", moduleId);
-        }
+        List<ExerciseResponse> exercises = catalogCache.get(CatalogCache.Region.EXERCISES_BY_MODULE, moduleId, () -> {
+            if (!moduleRepository.existsById(moduleId)) {
+                throw new ResourceNotFoundException("Module", moduleId);
+            }
 
-        List<ExerciseResponse> exercises = exerciseRepository.findByModuleId(moduleId)
-                .stream()
-                .map(ExerciseResponse::fromEntity)
-                .toList();
+            return exerciseRepository.findByModuleId(moduleId)
+                    .stream()
+                    .map(ExerciseResponse::fromEntity)
+                    .toList();
+        });
 
         log.debug("Total d'exercices obtenus pour le module id {} : {}", moduleId, exercises.size());
 
         return exercises;
     }
 
+    @Override
+    public ContentStream getExerciseContent(Long id) {
+        log.debug("Lecture du contenu de l'exercice id : {}", id);
+        ContentRef ref = exerciseRepository.findContentRefById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Exercice", id));
+        return contentStore.open(ref);
+    }
+
     @Override
     @Transactional
     public ExerciseResponse createExercise(ExerciseRequest exerciseRequest) {
@@ -80,7 +128,9 @@ public class ExerciseServiceImpl implements ExerciseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Module", exerciseRequest.getModuleId()));
 
         Exercise exercise = buildNewExercise(exerciseRequest, module);
+        contentStore.write(exercise, exerciseRequest.getContent());
         exerciseRepository.save(exercise);
+        catalogCache.evictExercise(exercise.getId(), module.getId());
 
         log.info("Exercice créé avec succès, id : {}", exercise.getId());
 
@@ -101,8 +151,11 @@ public class ExerciseServiceImpl implements ExerciseService {
         Module module = moduleRepository.findById(exerciseRequest.getModuleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Module", exerciseRequest.getModuleId()));
 
+        Long previousModuleId = moduleIdOf(exercise);
         updateExerciseFields(exerciseRequest, exercise, module);
+        contentStore.write(exercise, exerciseRequest.getContent());
         exerciseRepository.save(exercise);
+        catalogCache.evictExercise(id, previousModuleId, module.getId());
 
         log.info("Exercice id : {} mis à jour avec succès", id);
 
@@ -115,6 +168,7 @@ public class ExerciseServiceImpl implements ExerciseService {
         log.info("Tentative de suppression de l'exercice id : {}", id);
         Exercise exercise = findOrThrow(id);
         exerciseRepository.delete(exercise);
+        catalogCache.evictExercise(id, moduleIdOf(exercise));
         log.info("Exercice id : {} supprimé avec succès", id);
     }
 
@@ -126,6 +180,7 @@ public class ExerciseServiceImpl implements ExerciseService {
         Exercise exercise = findOrThrow(id);
         exercise.setCompleted(!exercise.getCompleted());
         exerciseRepository.save(exercise);
+        catalogCache.evictExercise(id, moduleIdOf(exercise));
 
         log.info("Exercice id : {} est désormais {}", id, exercise.getCompleted() ? "complété" : "non complété");
 
@@ -142,7 +197,6 @@ public class ExerciseServiceImpl implements ExerciseService {
     private static Exercise buildNewExercise(ExerciseRequest exerciseRequest, Module module) {
         return Exercise.builder()
                 .name(exerciseRequest.getName())
-                .content(exerciseRequest.getContent())
                 .module(module)
                 .build();
     }
@@ -156,10 +210,19 @@ public class ExerciseServiceImpl implements ExerciseService {
      */
     private static void updateExerciseFields(ExerciseRequest exerciseRequest, Exercise exercise, Module module) {
         exercise.setName(exerciseRequest.getName());
-        exercise.setContent(exerciseRequest.getContent());
         exercise.setModule(module);
     }
 
+    /**
+     * Retourne l'identifiant du module d'un exercice.
+     *
+     * @param exercise l'exercice
+     * @return l'identifiant de son module, ou {@code null} s'il n'en a pas
+     */
+    private static Long moduleIdOf(Exercise exercise) {
+        return exercise.getModule() != null ? exercise.getModule().getId() : null;
+    }
+
     /**
      * Récupère un exercice par son identifiant ou lève une exception si introuvable.
      *
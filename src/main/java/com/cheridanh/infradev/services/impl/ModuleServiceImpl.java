@@ -1,66 +1,116 @@
 package com.cheridanh.infradev.services.impl;
 
+import com.cheridanh.infradev.dtos.request.FieldSelection;
 import com.cheridanh.infradev.dtos.request.ModuleRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.ModuleResponse;
 import com.cheridanh.infradev.entities.Block;
 import com.cheridanh.infradev.entities.Module;
 import com.cheridanh.infradev.exceptions.DuplicateResourceException;
 import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
 import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.repositories.ModuleRepository;
+import com.cheridanh.infradev.repositories.projections.ModuleContentCount;
+import com.cheridanh.infradev.services.CatalogCache;
 import com.cheridanh.infradev.services.ModuleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ModuleServiceImpl implements ModuleService {
 
+    /**
+     * Lignes de {@link ModuleResponse} construites par la requête, avec le bloc joint : aucune entité n'est chargée.
+     * Les colonnes suivent l'ordre du constructeur de projection de {@link ModuleResponse} ; seules celles
+     * des champs demandés sont sélectionnées. Les compteurs sont ajoutés ensuite, pour toute la page.
+     */
+    private static final KeysetSpec<Module, ModuleResponse> RESPONSE_SPEC = KeysetSpec
+            .projection(Module.class, ModuleResponse.class, ModuleResponse::getId)
+            .column("id", Long.class)
+            .column("name", String.class)
+            .column("description", String.class)
+            .column("blockId", "block.id", Long.class)
+            .column("blockName", "block.name", String.class)
+            .presence("hasQuiz", "quiz.id")
+            .column("createdAt", LocalDateTime.class)
+            .column("updatedAt", LocalDateTime.class)
+            .sort("name", String.class, ModuleResponse::getName)
+            .sort("createdAt", LocalDateTime.class, ModuleResponse::getCreatedAt)
+            .filter("blockId", "block.id", Long.class)
+            .build();
+
     private final ModuleRepository moduleRepository;
     private final BlockRepository blockRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final CatalogCache catalogCache;
 
     @Override
-    @Transactional(readOnly = true)
-    public List<ModuleResponse> getAllModules() {
-        log.debug("Récupération de tous les modules");
-
-        List<ModuleResponse> modules = moduleRepository.findAll()
-                .stream()
-                .map(ModuleResponse::fromEntity)
-                .toList();
-
-        log.debug("Total de modules obtenus : {}", modules.size());
+    public CursorPage<ModuleResponse> getAllModules(PageQuery query) {
+        log.debug("Récupération d'une page de modules");
+
+        CursorPage<ModuleResponse> modules = catalogCache.get(CatalogCache.Region.MODULE_PAGE, query, () -> {
+            CursorPage<ModuleResponse> page = keysetPaginator.findPage(RESPONSE_SPEC, query);
+            if (query.fields().includesAny("courseCount", "exerciseCount")) {
+                Map<Long, ModuleContentCount> counts = countContents(
+                        page.items().stream().map(ModuleResponse::getId).toList());
+                page.items().forEach(module -> {
+                    ModuleContentCount count = counts.get(module.getId());
+                    module.setCourseCount(count != null ? count.courseCount() : 0L);
+                    module.setExerciseCount(count != null ? count.exerciseCount() : 0L);
+                });
+            }
+            return page.map(query.fields()::narrow);
+        });
+
+        log.debug("Total de modules obtenus : {}", modules.items().size());
 
         return modules;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ModuleResponse getModuleById(Long id) {
+        return getModuleById(id, FieldSelection.ALL);
+    }
+
+    @Override
+    public ModuleResponse getModuleById(Long id, FieldSelection fields) {
         log.debug("Récupération du module id : {}", id);
-        Module module = findOrThrow(id);
-        log.debug("Module récupéré : {}", module.getName());
-        return ModuleResponse.fromEntityWithDetails(module);
+        return fields.narrow(catalogCache.get(CatalogCache.Region.MODULE, id, () -> {
+            Module module = moduleRepository.findDetailedById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Module", id));
+            log.debug("Module récupéré : {}", module.getName());
+            return ModuleResponse.fromEntityWithDetails(module);
+        }));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ModuleResponse> getModulesByBlockId(Long blocId) {
         log.debug("Récupération des modules du bloc id : {}", blocId);
 
-        if (!blockRepository.existsById(blocId)) {
-            throw new ResourceNotFoundException("Bloc", blocId);
-        }
+        List<ModuleResponse> modules = catalogCache.get(CatalogCache.Region.MODULES_BY_BLOCK, blocId, () -> {
+            if (!blockRepository.existsById(blocId)) {
+                throw new ResourceNotFoundException("Bloc", blocId);
+            }
 
-        List<ModuleResponse> modules = moduleRepository.findByBlockId(blocId)
-                .stream()
-                .map(ModuleResponse::fromEntity)
-                .toList();
+            List<Module> blockModules = moduleRepository.findByBlockId(blocId);
+            Map<Long, ModuleContentCount> counts = countContents(blockModules.stream().map(Module::getId).toList());
+            return blockModules.stream()
+                    .map(module -> ModuleResponse.fromEntity(module, counts.get(module.getId())))
+                    .toList();
+        });
 
         log.debug("Total de modules obtenus pour le bloc id {} : {}", blocId, modules.size());
 
@@ -81,6 +131,7 @@ public class ModuleServiceImpl implements ModuleService {
 
         Module module = buildNewModule(moduleRequest, block);
         moduleRepository.save(module);
+        catalogCache.evictModule(module.getId(), block.getId());
 
         log.info("Module créé avec succès, id : {}", module.getId());
 
@@ -101,8 +152,10 @@ public class ModuleServiceImpl implements ModuleService {
         Block block = blockRepository.findById(moduleRequest.getBlockId())
                 .orElseThrow(() -> new ResourceNotFoundException("Bloc", moduleRequest.getBlockId()));
 
+        Long previousBlockId = module.getBlock() != null ? module.getBlock().getId() : null;
         updateModuleFields(moduleRequest, module, block);
         moduleRepository.save(module);
+        catalogCache.evictModule(id, previousBlockId, block.getId());
 
         log.info("Module id : {} mis à jour avec succès", id);
 
@@ -115,6 +168,7 @@ public class ModuleServiceImpl implements ModuleService {
         log.info("Tentative de suppression du module id : {}", id);
         Module module = findOrThrow(id);
         moduleRepository.delete(module);
+        catalogCache.evictModule(id, module.getBlock() != null ? module.getBlock().getId() : null);
         log.info("Module id : {} supprimé avec succès", id);
     }
 
@@ -145,6 +199,21 @@ public class ModuleServiceImpl implements ModuleService {
         module.setBlock(block);
     }
 
+    /**
+     * Compte en une requête les cours et exercices des modules d'une liste.
+     *
+     * @param moduleIds les identifiants des modules listés
+     * @return les compteurs, par identifiant de module
+     */
+    private Map<Long, ModuleContentCount> countContents(List<Long> moduleIds) {
+        if (moduleIds.isEmpty()) {
+            return Map.of();
+        }
+        return moduleRepository.countContentsByModuleIds(moduleIds)
+                .stream()
+                .collect(Collectors.toMap(ModuleContentCount::moduleId, Function.identity()));
+    }
+
     /**
      * Récupère un module par son identifiant ou lève une exception si introuvable.
      *
@@ -1,39 +1,70 @@
 package com.cheridanh.infradev.services.impl;
 
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.PromoRequest;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.PromoResponse;
 import com.cheridanh.infradev.entities.Promotion;
 import com.cheridanh.infradev.exceptions.DuplicateResourceException;
 import com.cheridanh.infradev.exceptions.PromotionNotFoundException;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.repositories.PromotionRepository;
+import com.cheridanh.infradev.repositories.projections.PromotionUserCount;
 import com.cheridanh.infradev.services.PromoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PromoServiceImpl implements PromoService {
 
+    /**
+     * Lignes de {@link PromoResponse} construites par la requête : aucune entité n'est chargée.
+     * Les colonnes suivent l'ordre du constructeur de projection de {@link PromoResponse} ; seules celles
+     * des champs demandés sont sélectionnées. Le nombre d'utilisateurs est ajouté ensuite, pour toute la page.
+     */
+    private static final KeysetSpec<Promotion, PromoResponse> RESPONSE_SPEC = KeysetSpec
+            .projection(Promotion.class, PromoResponse.class, PromoResponse::getId)
+            .column("id", Long.class)
+            .column("name", String.class)
+            .column("startDate", LocalDate.class)
+            .column("endDate", LocalDate.class)
+            .column("active", Boolean.class)
+            .column("createdAt", LocalDateTime.class)
+            .sort("startDate", LocalDate.class, PromoResponse::getStartDate)
+            .sort("name", String.class, PromoResponse::getName)
+            .sort("createdAt", LocalDateTime.class, PromoResponse::getCreatedAt)
+            .filter("active", Boolean.class)
+            .defaultSort("startDate")
+            .build();
+
     private final PromotionRepository promotionRepository;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional(readOnly = true)
-    public List<PromoResponse> getAllPromos() {
-        log.debug("Récupération de toutes les promotions");
+    public CursorPage<PromoResponse> getAllPromos(PageQuery query) {
+        log.debug("Récupération d'une page de promotions");
 
-        List<PromoResponse> promotions = promotionRepository.findAll()
-                .stream()
-                .map(PromoResponse::fromEntity)
-                .sorted(Comparator.comparing(PromoResponse::getStartDate))
-                .toList();
+        CursorPage<PromoResponse> page = keysetPaginator.findPage(RESPONSE_SPEC, query);
+        if (query.fields().includes("userCount")) {
+            Map<Long, Long> userCounts = countUsers(page.items().stream().map(PromoResponse::getId).toList());
+            page.items().forEach(promotion -> promotion.setUserCount(userCounts.getOrDefault(promotion.getId(), 0L)));
+        }
+        CursorPage<PromoResponse> promotions = page.map(query.fields()::narrow);
 
-        log.debug("Total de promotions obtenues : {}", promotions.size());
+        log.debug("Total de promotions obtenues : {}", promotions.items().size());
 
         return promotions;
     }
@@ -41,9 +72,18 @@ public class PromoServiceImpl implements PromoService {
     @Override
     @Transactional(readOnly = true)
     public PromoResponse getPromoById(Long id) {
+        return getPromoById(id, FieldSelection.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PromoResponse getPromoById(Long id, FieldSelection fields) {
         log.info("Récupération de la promotion id : {}", id);
-        Promotion promotion = findOrThrow(id);
-        return PromoResponse.fromEntityWithUsers(promotion);
+        if (!fields.includesAny("users", "userCount")) {
+            return fields.narrow(PromoResponse.fromEntity(findOrThrow(id), 0L));
+        }
+        Promotion promotion = findDetailedOrThrow(id);
+        return fields.narrow(PromoResponse.fromEntityWithUsers(promotion));
     }
 
     @Override
@@ -68,7 +108,7 @@ public class PromoServiceImpl implements PromoService {
     public PromoResponse updatePromo(Long id, PromoRequest promoRequest) {
         log.info("Tentative de mise à jour de la promotion id : {}", id);
 
-        Promotion promotion = findOrThrow(id);
+        Promotion promotion = findDetailedOrThrow(id);
 
         if (promotionRepository.existsByNameEqualsIgnoreCaseAndIdNot(promoRequest.getName(), id)) {
             throw new DuplicateResourceException("Promotion", "nom", promoRequest.getName());
@@ -133,6 +173,21 @@ public class PromoServiceImpl implements PromoService {
         promotion.setEndDate(promoRequest.getEndDate());
     }
 
+    /**
+     * Compte en une requête groupée les utilisateurs des promotions d'une liste.
+     *
+     * @param promotionIds les identifiants des promotions listées
+     * @return le nombre d'utilisateurs, par identifiant de promotion
+     */
+    private Map<Long, Long> countUsers(List<Long> promotionIds) {
+        if (promotionIds.isEmpty()) {
+            return Map.of();
+        }
+        return promotionRepository.countUsersByPromotionIds(promotionIds)
+                .stream()
+                .collect(Collectors.toMap(PromotionUserCount::promotionId, PromotionUserCount::userCount));
+    }
+
     /**
      * Récupère une promotion par son identifiant ou lève une exception si introuvable.
      *
@@ -144,4 +199,16 @@ public class PromoServiceImpl implements PromoService {
         return promotionRepository.findById(id)
                 .orElseThrow(() -> new PromotionNotFoundException(id));
     }
+
+    /**
+     * Récupère une promotion avec ses utilisateurs ou lève une exception si introuvable.
+     *
+     * @param id l'identifiant de la promotion
+     * @return l'entité {@link Promotion}, utilisateurs chargés
+     * @throws PromotionNotFoundException si aucune promotion ne correspond à l'id
+     */
+    private Promotion findDetailedOrThrow(Long id) {
+        return promotionRepository.findDetailedById(id)
+                .orElseThrow(() -> new PromotionNotFoundException(id));
+    }
 }
@@ -1,51 +1,96 @@
 package com.cheridanh.infradev.services.impl;
 
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.QuizRequest;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.QuizResponse;
 import com.cheridanh.infradev.entities.Module;
 import com.cheridanh.infradev.entities.Quiz;
 import com.cheridanh.infradev.exceptions.DuplicateResourceException;
 import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.repositories.ModuleRepository;
 import com.cheridanh.infradev.repositories.QuizRepository;
+import com.cheridanh.infradev.repositories.projections.ContentRef;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.ContentStore;
 import com.cheridanh.infradev.services.QuizService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuizServiceImpl implements QuizService {
 
+    /**
+     * Lignes de {@link QuizResponse} construites par la requête, avec le module joint : aucune entité n'est chargée.
+     * Les colonnes suivent l'ordre des champs de {@link QuizResponse} (constructeur complet) ; seules celles
+     * des champs demandés sont sélectionnées.
+     */
+    private static final KeysetSpec<Quiz, QuizResponse> RESPONSE_SPEC = KeysetSpec
+            .projection(Quiz.class, QuizResponse.class, QuizResponse::getId)
+            .column("id", Long.class)
+            .column("name", String.class)
+            .column("contentLength", Integer.class)
+            .column("contentHash", String.class)
+            .column("completed", Boolean.class)
+            .column("moduleId", "module.id", Long.class)
+            .column("moduleName", "module.name", String.class)
+            .column("createdAt", LocalDateTime.class)
+            .column("updatedAt", LocalDateTime.class)
+            .sort("name", String.class, QuizResponse::getName)
+            .sort("createdAt", LocalDateTime.class, QuizResponse::getCreatedAt)
+            .filter("completed", Boolean.class)
+            .build();
+
     private final QuizRepository quizRepository;
     private final ModuleRepository moduleRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final CatalogCache catalogCache;
+    private final ContentStore contentStore;
 
     @Override
-    @Transactional(readOnly = true)
-    public List<QuizResponse> getAllQuizzes() {
-        log.debug("Récupération de tous les quiz");
+    public CursorPage<QuizResponse> getAllQuizzes(PageQuery query) {
+        log.debug("Récupération d'une page de quiz");
 
-        List<QuizResponse> quizzes = quizRepository.findAll()
-                .stream()
-                .map(QuizResponse::fromEntity)
-                .toList();
+        CursorPage<QuizResponse> quizzes = catalogCache.get(CatalogCache.Region.QUIZ_PAGE, query,
+                () -> keysetPaginator.findPage(RESPONSE_SPEC, query).map(query.fields()::narrow));
 
-        log.debug("Total de quiz obtenus : {}", quizzes.size());
+        log.debug("Total de quiz obtenus : {}", quizzes.items().size());
 
         return quizzes;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public QuizResponse getQuizById(Long id) {
+        return getQuizById(id, FieldSelection.ALL);
+    }
+
+    @Override
+    public QuizResponse getQuizById(Long id, FieldSelection fields) {
         log.debug("Récupération du quiz id : {}", id);
-        Quiz quiz = findOrThrow(id);
-        log.debug("Quiz récupéré : {}", quiz.getName());
-        return QuizResponse.fromEntity(quiz);
+        return fields.narrow(catalogCache.get(CatalogCache.Region.QUIZ, id, () -> {
+            QuizResponse quiz = keysetPaginator.findById(RESPONSE_SPEC, id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Quiz", id));
+            log.debug("Quiz récupéré : {}", quiz.getName());
+            return quiz;
+        }));
+    }
+
+    @Override
+    public ContentStream getQuizContent(Long id) {
+        log.debug("Lecture du contenu du quiz id : {}", id);
+        ContentRef ref = quizRepository.findContentRefById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz", id));
+        return contentStore.open(ref);
     }
 
     @Override
@@ -66,9 +111,11 @@ public class QuizServiceImpl implements QuizService {
         }
 
         Quiz quiz = buildNewQuiz(quizRequest);
+        contentStore.write(quiz, quizRequest.getContent());
         quizRepository.save(quiz);
         module.setQuiz(quiz);
         moduleRepository.save(module);
+        catalogCache.evictQuiz(quiz.getId(), module.getId());
 
         log.info("Quiz créé avec succès, id : {}", quiz.getId());
 
@@ -88,6 +135,7 @@ public class QuizServiceImpl implements QuizService {
 
         Module newModule = moduleRepository.findById(quizRequest.getModuleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Module", quizRequest.getModuleId()));
+        Long previousModuleId = moduleIdOf(quiz);
 
         if (quiz.getModule() != null && !quiz.getModule().getId().equals(newModule.getId())) {
             if (newModule.getQuiz() != null) {
@@ -104,8 +152,9 @@ public class QuizServiceImpl implements QuizService {
         }
 
         quiz.setName(quizRequest.getName());
-        quiz.setContent(quizRequest.getContent());
+        contentStore.write(quiz, quizRequest.getContent());
         quizRepository.save(quiz);
+        catalogCache.evictQuiz(id, previousModuleId, newModule.getId());
 
         log.info("Quiz id : {} mis à jour avec succès", id);
 
@@ -118,6 +167,7 @@ public class QuizServiceImpl implements QuizService {
         log.info("Tentative de suppression du quiz id : {}", id);
 
         Quiz quiz = findOrThrow(id);
+        Long moduleId = moduleIdOf(quiz);
 
         // Détacher le quiz du module avant la suppression
         if (quiz.getModule() != null) {
@@ -127,6 +177,7 @@ public class QuizServiceImpl implements QuizService {
         }
 
         quizRepository.delete(quiz);
+        catalogCache.evictQuiz(id, moduleId);
 
         log.info("Quiz id : {} supprimé avec succès", id);
     }
@@ -139,6 +190,7 @@ public class QuizServiceImpl implements QuizService {
         Quiz quiz = findOrThrow(id);
         quiz.setCompleted(!quiz.getCompleted());
         quizRepository.save(quiz);
+        catalogCache.evictQuiz(id, moduleIdOf(quiz));
 
         log.info("Quiz id : {} est désormais {}", id, quiz.getCompleted() ? "complété" : "non complété");
 
@@ -154,10 +206,19 @@ public class QuizServiceImpl implements QuizService {
     private static Quiz buildNewQuiz(QuizRequest quizRequest) {
         return Quiz.builder()
                 .name(quizRequest.getName())
-                .content(quizRequest.getContent())
                 .build();
     }
 
+    /**
+     * Retourne l'identifiant du module d'un quiz.
+     *
+     * @param quiz le quiz
+     * @return l'identifiant de son module, ou {@code null} s'il n'en a pas
+     */
+    private static Long moduleIdOf(Quiz quiz) {
+        return quiz.getModule() != null ? quiz.getModule().getId() : null;
+    }
+
     /**
      * Récupère un quiz par son identifiant ou lève une exception si introuvable.
      *
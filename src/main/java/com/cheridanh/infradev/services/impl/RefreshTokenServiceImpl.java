@@ -6,7 +6,9 @@ import com.cheridanh.infradev.entities.User;
 import com.cheridanh.infradev.exceptions.InvalidTokenException;
 import com.cheridanh.infradev.exceptions.RefreshTokenExpiredException;
 import com.cheridanh.infradev.repositories.RefreshTokenRepository;
+import com.cheridanh.infradev.services.RefreshTokenPurger;
 import com.cheridanh.infradev.services.RefreshTokenService;
+import com.cheridanh.infradev.utils.RefreshTokenGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,7 +16,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -23,6 +24,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtProperties jwtProperties;
+    private final RefreshTokenPurger refreshTokenPurger;
 
     @Override
     @Transactional
@@ -32,19 +34,20 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         return savedToken;
     }
 
+    /**
+     * Les tokens de famille sont retrouvés par clé primaire ; les anciens tokens par empreinte.
+     * La présentation authentifiée de la génération précédente révoque toute la famille.
+     */
     @Override
     @Transactional(readOnly = true)
     public RefreshToken validateRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenAndRevokedFalse(token)
-                .orElseThrow(() -> {
-                    log.warn("Refresh token introuvable ou déjà révoqué");
-                    return new InvalidTokenException("Refresh token invalide ou révoqué");
-                });
+        RefreshToken refreshToken = RefreshTokenGenerator.decode(token)
+                .map(this::findFamily)
+                .orElseGet(() -> findLegacyToken(token));
 
         if (refreshToken.isExpired()) {
             log.warn("Refresh token expiré pour l'utilisateur id : {}", refreshToken.getUser().getId());
-            refreshToken.setRevoked(true);
-            refreshTokenRepository.save(refreshToken);
+            refreshTokenRepository.revokeFamily(refreshToken.getId());
             throw new RefreshTokenExpiredException();
         }
 
@@ -52,15 +55,38 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         return refreshToken;
     }
 
+    /**
+     * Rotation par une seule mise à jour conditionnelle de la famille : la génération est incrémentée
+     * et le secret remplacé uniquement si la famille est encore à la génération validée.
+     */
     @Override
     @Transactional
     public RefreshToken rotateRefreshToken(RefreshToken oldRefreshToken) {
-        oldRefreshToken.setRevoked(true);
-        refreshTokenRepository.save(oldRefreshToken);
-        log.debug("Ancien refresh token révoqué pour rotation, utilisateur id : {}", oldRefreshToken.getUser().getId());
-        RefreshToken newToken = buildAndSaveRefreshToken(oldRefreshToken.getUser());
-        log.debug("Nouveau refresh token créé pour rotation, utilisateur id : {}", oldRefreshToken.getUser().getId());
-        return newToken;
+        byte[] secret = RefreshTokenGenerator.newSecret();
+        Instant expiryDate = Instant.now().plusMillis(jwtProperties.refreshExpiration());
+        int nextGeneration = oldRefreshToken.getGeneration() + 1;
+
+        int rotated = refreshTokenRepository.rotate(
+                oldRefreshToken.getId(),
+                oldRefreshToken.getGeneration(),
+                RefreshTokenGenerator.hash(secret),
+                expiryDate
+        );
+
+        if (rotated == 0) {
+            log.warn("Rotation concurrente détectée pour la famille id : {}", oldRefreshToken.getId());
+            throw new InvalidTokenException("Refresh token invalide ou révoqué");
+        }
+
+        log.debug("Famille id : {} renouvelée en génération {}", oldRefreshToken.getId(), nextGeneration);
+
+        return RefreshToken.builder()
+                .id(oldRefreshToken.getId())
+                .token(RefreshTokenGenerator.encode(oldRefreshToken.getId(), nextGeneration, secret))
+                .user(oldRefreshToken.getUser())
+                .expiryDate(expiryDate)
+                .generation(nextGeneration)
+                .build();
     }
 
     @Override
@@ -72,22 +98,82 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     @Override
     @Transactional
+    public void revokeFamily(Long familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        log.debug("Famille de refresh tokens id : {} révoquée", familyId);
+    }
+
+    /**
+     * Exécutée hors transaction : chaque lot de la purge est validé indépendamment.
+     */
+    @Override
     @Scheduled(cron = "${TOKEN_CLEANUP_CRON}")
     public int deleteExpiredAndRevokedTokens() {
         log.info("Nettoyage des tokens expirés et révoqués");
-        int deletedTokenCount = refreshTokenRepository.deleteExpiredAndRevokedTokens(Instant.now());
+        int deletedTokenCount = refreshTokenPurger.purge(Instant.now());
         log.info("{} tokens expirés et révoqués supprimés", deletedTokenCount);
         return deletedTokenCount;
     }
 
     private RefreshToken buildAndSaveRefreshToken(User user) {
+        byte[] secret = RefreshTokenGenerator.newSecret();
+
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(UUID.randomUUID().toString())
+                .tokenHash(RefreshTokenGenerator.hash(secret))
                 .user(user)
                 .expiryDate(Instant.now().plusMillis(jwtProperties.refreshExpiration()))
                 .revoked(false)
+                .generation(0)
                 .build();
 
-        return refreshTokenRepository.save(refreshToken);
+        RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
+        savedToken.setToken(RefreshTokenGenerator.encode(savedToken.getId(), 0, secret));
+        return savedToken;
+    }
+
+    /**
+     * Recherche une famille par clé primaire et vérifie la génération et le secret présentés.
+     * <p>
+     * L'identifiant et la génération figurent en clair dans le token : seul le secret prouve son authenticité.
+     * La famille n'est donc révoquée que si le secret correspond à celui de la génération précédente ;
+     * tout autre token (génération plus ancienne, invalide ou forgé) est rejeté sans effet sur la famille.
+     */
+    private RefreshToken findFamily(RefreshTokenGenerator.FamilyToken familyToken) {
+        RefreshToken family = refreshTokenRepository.findById(familyToken.familyId())
+                .filter(token -> !token.isRevoked())
+                .orElseThrow(() -> {
+                    log.warn("Famille de refresh tokens introuvable ou révoquée");
+                    return new InvalidTokenException("Refresh token invalide ou révoqué");
+                });
+
+        byte[] presentedHash = RefreshTokenGenerator.hash(familyToken.secret());
+
+        if (familyToken.generation() == family.getGeneration()
+                && RefreshTokenGenerator.matches(family.getTokenHash(), presentedHash)) {
+            return family;
+        }
+
+        if (familyToken.generation() == family.getGeneration() - 1
+                && family.getPreviousTokenHash() != null
+                && RefreshTokenGenerator.matches(family.getPreviousTokenHash(), presentedHash)) {
+            log.warn("Réutilisation d'un refresh token détectée, révocation de la famille id : {}", family.getId());
+            refreshTokenRepository.revokeFamily(family.getId());
+            throw new InvalidTokenException("Refresh token déjà utilisé, la session a été révoquée");
+        }
+
+        log.warn("Refresh token invalide pour la famille id : {}", family.getId());
+        throw new InvalidTokenException("Refresh token invalide ou révoqué");
+    }
+
+    /**
+     * Recherche un ancien token (antérieur aux familles) par l'empreinte de sa valeur.
+     */
+    private RefreshToken findLegacyToken(String token) {
+        return refreshTokenRepository
+                .findByTokenHashAndRevokedFalse(RefreshTokenGenerator.hash(token))
+                .orElseThrow(() -> {
+                    log.warn("Refresh token introuvable ou déjà révoqué");
+                    return new InvalidTokenException("Refresh token invalide ou révoqué");
+                });
     }
 }
@@ -0,0 +1,576 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.configs.UserImportProperties;
+import com.cheridanh.infradev.dtos.request.UserImportFormat;
+import com.cheridanh.infradev.dtos.request.UserImportRow;
+import com.cheridanh.infradev.dtos.response.UserImportReport;
+import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.exceptions.PayloadTooLargeException;
+import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
+import com.cheridanh.infradev.exceptions.ServerBusyException;
+import com.cheridanh.infradev.repositories.PromotionRepository;
+import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.security.BoundedPasswordEncoder;
+import com.cheridanh.infradev.services.UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Import d'utilisateurs en flux.
+ * <p>
+ * Le fichier est lu ligne par ligne et traité par lots de {@value #BATCH_SIZE} lignes :
+ * <ol>
+ *     <li>validation de chaque ligne et détection des doublons au sein du lot ;</li>
+ *     <li>une seule requête pour écarter les emails déjà présents en base, y compris ceux des lots précédents ;</li>
+ *     <li>hachage des mots de passe en parallèle sur le pool de hachage, sans jamais occuper plus de places
+ *     dans sa file que le pool n'a de threads, afin de laisser de la capacité aux connexions ;</li>
+ *     <li>insertion en une transaction par lot : les identifiants étant réservés par blocs
+ *     (voir {@link com.cheridanh.infradev.entities.IdGenerators}), Hibernate regroupe les INSERT en lots JDBC
+ *     ({@code hibernate.jdbc.batch_size}) que le driver MySQL réécrit en INSERT multi-lignes
+ *     ({@code rewriteBatchedStatements}).</li>
+ * </ol>
+ * La mémoire retenue est bornée par la taille d'un lot, quelle que soit la taille du fichier : aucun état
+ * n'est conservé d'un lot à l'autre, l'index unique sur l'email écartant les doublons qui lui échapperaient.
+ * La promotion active est résolue une seule fois par import. L'avancement est consultable pendant l'import.
+ * <p>
+ * Un import en arrière-plan copie d'abord le corps de la requête dans un fichier temporaire, puis le traite
+ * sur un thread dédié : les imports s'y exécutent l'un après l'autre. La copie est plafonnée
+ * ({@link PayloadTooLargeException}, 413) et la file des imports en attente est bornée : lorsqu'elle est pleine,
+ * l'import est refusé par une {@link ServerBusyException} (503) avant toute copie.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private static final int SPOOL_BUFFER_SIZE = 8192;
+
+    private static final List<String> CSV_COLUMNS = List.of("firstName", "lastName", "email", "password");
+
+    private final UserRepository userRepository;
+    private final PromotionRepository promotionRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserImportProperties properties;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor backgroundImports;
+
+    @PostConstruct
+    void initExecutor() {
+        backgroundImports = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        backgroundImports.shutdownNow();
+    }
+
+    @Override
+    public UserImportReport importUsers(InputStream input, UserImportFormat format) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format);
+        registerJob(job);
+        runImport(job, input);
+        return job.toReport();
+    }
+
+    @Override
+    public UserImportReport startImport(InputStream input, UserImportFormat format) throws IOException {
+        if (backgroundImports.getQueue().remainingCapacity() == 0) {
+            log.warn("File des imports pleine, import refusé avant la copie du fichier");
+            throw new ServerBusyException(properties.retryAfter());
+        }
+
+        Path spool = Files.createTempFile("user-import-", ".tmp");
+        try {
+            copyToSpool(input, spool);
+        } catch (IOException | RuntimeException ex) {
+            deleteSpool(spool);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format);
+        try {
+            backgroundImports.execute(() -> {
+                try (InputStream spooled = Files.newInputStream(spool)) {
+                    runImport(job, spooled);
+                } catch (IOException ex) {
+                    log.error("Lecture impossible du fichier de l'import {}", job.id, ex);
+                    job.reportError(0, null, "Import interrompu : " + ex.getMessage());
+                    job.finish(ImportStatus.FAILED);
+                } finally {
+                    deleteSpool(spool);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            deleteSpool(spool);
+            log.warn("File des imports pleine, import refusé");
+            throw new ServerBusyException(properties.retryAfter());
+        }
+        registerJob(job);
+
+        log.info("Import d'utilisateurs {} ({}) mis en file", job.id, format);
+        return job.toReport();
+    }
+
+    /**
+     * Traite le flux de l'import jusqu'à sa fin et met à jour son état.
+     */
+    private void runImport(ImportJob job, InputStream input) {
+        log.info("Début de l'import d'utilisateurs {} ({})", job.id, job.format);
+        UserImportFormat format = job.format;
+
+        List<PendingUser> batch = new ArrayList<>(BATCH_SIZE);
+        long lineNumber = 0;
+
+        // Toute erreur, y compris avant la première ligne, termine l'import : il ne reste jamais en cours
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Long promotionId = promotionRepository.findActiveByDate(LocalDate.now())
+                    .map(Promotion::getId)
+                    .orElse(null);
+            ObjectReader ndjsonReader = objectMapper.readerFor(UserImportRow.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+            int[] csvColumns = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == UserImportFormat.CSV && csvColumns == null) {
+                    csvColumns = parseCsvHeader(line);
+                    continue;
+                }
+
+                job.processed.incrementAndGet();
+                PendingUser pending = parseRow(job, line, lineNumber, format, csvColumns, ndjsonReader);
+                if (pending != null) {
+                    batch.add(pending);
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    importBatch(job, batch, promotionId);
+                    batch.clear();
+                }
+            }
+            importBatch(job, batch, promotionId);
+            job.finish(ImportStatus.COMPLETED);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Échec de l'import d'utilisateurs {} à la ligne {}", job.id, lineNumber, ex);
+            job.reportError(lineNumber, null, "Import interrompu : " + ex.getMessage());
+            job.finish(ImportStatus.FAILED);
+        }
+
+        log.info("Fin de l'import d'utilisateurs {} : {} lignes, {} importées, {} en erreur",
+                job.id, job.processed.get(), job.imported.get(), job.failed.get());
+    }
+
+    @Override
+    public UserImportReport getImport(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import", "id", jobId);
+        }
+        return job.toReport();
+    }
+
+    @Override
+    public List<UserImportReport> getImports() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .map(ImportJob::toReport)
+                .toList();
+    }
+
+    /**
+     * Analyse et valide une ligne. Les erreurs sont rapportées sur l'import.
+     *
+     * @return l'utilisateur à insérer, ou {@code null} si la ligne est rejetée
+     */
+    private PendingUser parseRow(ImportJob job, String line, long lineNumber, UserImportFormat format,
+                                 int[] csvColumns, ObjectReader ndjsonReader) {
+        UserImportRow row;
+        try {
+            row = format == UserImportFormat.CSV
+                    ? parseCsvRow(line, csvColumns)
+                    : ndjsonReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            job.reject(lineNumber, null, "Ligne illisible : " + ex.getOriginalMessage());
+            return null;
+        } catch (IllegalArgumentException ex) {
+            job.reject(lineNumber, null, "Ligne illisible : " + ex.getMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            job.reject(lineNumber, row.getEmail(), message);
+            return null;
+        }
+
+        return new PendingUser(lineNumber, row);
+    }
+
+    /**
+     * Écarte les emails en double dans le lot et ceux déjà présents en base, hache les mots de passe
+     * puis insère le lot. Un email repris d'un lot précédent est déjà en base et écarté comme tel.
+     */
+    private void importBatch(ImportJob job, List<PendingUser> batch, Long promotionId) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingEmails = userRepository.findExistingEmails(
+                        batch.stream().map(pending -> pending.row.getEmail()).toList()
+                ).stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        Set<String> batchEmails = new HashSet<>(batch.size());
+        List<PendingUser> toInsert = new ArrayList<>(batch.size());
+        for (PendingUser pending : batch) {
+            String email = pending.row.getEmail().toLowerCase(Locale.ROOT);
+            if (existingEmails.contains(email)) {
+                job.reject(pending.line, pending.row.getEmail(), "Email déjà utilisé");
+            } else if (!batchEmails.add(email)) {
+                job.reject(pending.line, pending.row.getEmail(), "Email présent plusieurs fois dans le fichier");
+            } else {
+                toInsert.add(pending);
+            }
+        }
+
+        hashPasswords(toInsert);
+        insertUsers(job, toInsert, promotionId);
+
+        log.info("Import d'utilisateurs {} : {} lignes traitées, {} importées, {} en erreur",
+                job.id, job.processed.get(), job.imported.get(), job.failed.get());
+    }
+
+    /**
+     * Hache les mots de passe du lot en parallèle. Le nombre de hachages soumis et non terminés est limité
+     * au nombre de threads du pool ; si la file est pleine (connexions simultanées), l'import attend
+     * le plus ancien hachage en cours plutôt que d'échouer.
+     */
+    private void hashPasswords(List<PendingUser> users) {
+        int window = passwordEncoder.getParallelism();
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+        List<Future<String>> hashes = new ArrayList<>(users.size());
+
+        for (PendingUser pending : users) {
+            while (inFlight.size() >= window) {
+                passwordEncoder.await(inFlight.poll());
+            }
+            Future<String> hash = null;
+            while (hash == null) {
+                try {
+                    hash = passwordEncoder.encodeAsync(pending.row.getPassword());
+                } catch (ServerBusyException ex) {
+                    if (inFlight.isEmpty()) {
+                        throw ex;
+                    }
+                    passwordEncoder.await(inFlight.poll());
+                }
+            }
+            inFlight.add(hash);
+            hashes.add(hash);
+        }
+
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).encodedPassword = passwordEncoder.await(hashes.get(i));
+        }
+    }
+
+    /**
+     * Insère le lot en une transaction. Si un email a été pris entre la vérification et l'insertion,
+     * le lot est annulé puis rejoué ligne par ligne pour n'écarter que les doublons.
+     */
+    private void insertUsers(ImportJob job, List<PendingUser> users, Long promotionId) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Promotion promotion = promotionReference(promotionId);
+                userRepository.saveAll(users.stream().map(pending -> buildUser(pending, promotion)).toList());
+                userRepository.flush();
+            });
+            job.imported.addAndGet(users.size());
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Doublon détecté dans le lot de l'import {}, insertion ligne par ligne", job.id);
+            for (PendingUser pending : users) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            userRepository.saveAndFlush(buildUser(pending, promotionReference(promotionId))));
+                    job.imported.incrementAndGet();
+                } catch (DataIntegrityViolationException duplicate) {
+                    job.reject(pending.line, pending.row.getEmail(), "Email déjà utilisé");
+                }
+            }
+        }
+    }
+
+    /**
+     * Copie le flux dans le fichier temporaire en s'arrêtant dès que la taille maximale est dépassée.
+     *
+     * @throws PayloadTooLargeException si le flux dépasse la taille maximale d'un fichier d'import
+     */
+    private void copyToSpool(InputStream input, Path spool) throws IOException {
+        long maxBytes = properties.maxFileSize();
+        long copied = 0;
+        byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+        try (OutputStream output = Files.newOutputStream(spool)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                copied += read;
+                if (copied > maxBytes) {
+                    log.warn("Fichier d'import refusé : plus de {} octets", maxBytes);
+                    throw new PayloadTooLargeException(maxBytes);
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException ex) {
+            log.warn("Suppression impossible du fichier temporaire {}", spool, ex);
+        }
+    }
+
+    private Promotion promotionReference(Long promotionId) {
+        return promotionId != null ? promotionRepository.getReferenceById(promotionId) : null;
+    }
+
+    private User buildUser(PendingUser pending, Promotion promotion) {
+        return User.builder()
+                .firstName(pending.row.getFirstName())
+                .lastName(pending.row.getLastName())
+                .email(pending.row.getEmail())
+                .password(pending.encodedPassword)
+                .role(Role.USER)
+                .promotion(promotion)
+                .build();
+    }
+
+    /**
+     * Retourne, pour chaque colonne attendue, sa position dans l'en-tête CSV.
+     */
+    private int[] parseCsvHeader(String line) {
+        List<String> header = splitCsvLine(line).stream()
+                .map(column -> column.strip().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] positions = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            positions[i] = header.indexOf(CSV_COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (positions[i] < 0) {
+                throw new IllegalArgumentException("Colonne manquante dans l'en-tête CSV : " + CSV_COLUMNS.get(i));
+            }
+        }
+        return positions;
+    }
+
+    private UserImportRow parseCsvRow(String line, int[] columns) {
+        List<String> values = splitCsvLine(line);
+        return UserImportRow.builder()
+                .firstName(csvValue(values, columns[0]))
+                .lastName(csvValue(values, columns[1]))
+                .email(csvValue(values, columns[2]))
+                .password(csvValue(values, columns[3]))
+                .build();
+    }
+
+    private String csvValue(List<String> values, int position) {
+        return position < values.size() ? values.get(position).strip() : null;
+    }
+
+    /**
+     * Découpe une ligne CSV (RFC 4180) : champs entre guillemets, guillemets doublés.
+     * Les champs sur plusieurs lignes ne sont pas supportés.
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>(CSV_COLUMNS.size());
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Guillemet non fermé");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * Enregistre un import et oublie les plus anciens imports terminés au-delà de {@value #MAX_RETAINED_JOBS}.
+     */
+    private void registerJob(ImportJob job) {
+        jobs.put(job.id, job);
+        int excess = jobs.size() - MAX_RETAINED_JOBS;
+        if (excess > 0) {
+            jobs.values().stream()
+                    .filter(candidate -> candidate.status != ImportStatus.RUNNING)
+                    .sorted(Comparator.comparing(candidate -> candidate.startedAt))
+                    .limit(excess)
+                    .map(candidate -> candidate.id)
+                    .toList()
+                    .forEach(jobs::remove);
+        }
+    }
+
+    private enum ImportStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private static final class PendingUser {
+
+        private final long line;
+        private final UserImportRow row;
+        private String encodedPassword;
+
+        private PendingUser(long line, UserImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+    }
+
+    /**
+     * État d'un import, écrit par le thread qui traite le fichier et lu par les requêtes de suivi.
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final UserImportFormat format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private final ConcurrentLinkedQueue<UserImportReport.RowError> errors = new ConcurrentLinkedQueue<>();
+        private volatile ImportStatus status = ImportStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id, UserImportFormat format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        private void reject(long line, String email, String message) {
+            failed.incrementAndGet();
+            reportError(line, email, message);
+        }
+
+        private void reportError(long line, String email, String message) {
+            if (reportedErrors.getAndIncrement() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportReport.RowError(line, email, message));
+            }
+        }
+
+        private void finish(ImportStatus finalStatus) {
+            this.finishedAt = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        private UserImportReport toReport() {
+            return UserImportReport.builder()
+                    .jobId(id)
+                    .status(status.name())
+                    .format(format.name())
+                    .processed(processed.get())
+                    .imported(imported.get())
+                    .failed(failed.get())
+                    .errors(List.copyOf(errors))
+                    .errorsTruncated(reportedErrors.get() > MAX_REPORTED_ERRORS)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
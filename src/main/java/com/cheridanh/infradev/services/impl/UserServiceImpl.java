@@ -1,7 +1,10 @@
 package com.cheridanh.infradev.services.impl;
 
 import com.cheridanh.infradev.dtos.request.AssignBlocksRequest;
+import com.cheridanh.infradev.dtos.request.FieldSelection;
+import com.cheridanh.infradev.dtos.request.PageQuery;
 import com.cheridanh.infradev.dtos.request.UserUpdateRequest;
+import com.cheridanh.infradev.dtos.response.CursorPage;
 import com.cheridanh.infradev.dtos.response.UserResponse;
 import com.cheridanh.infradev.entities.Block;
 import com.cheridanh.infradev.entities.Promotion;
@@ -10,14 +13,22 @@ import com.cheridanh.infradev.entities.User;
 import com.cheridanh.infradev.exceptions.EmailAlreadyExistsException;
 import com.cheridanh.infradev.exceptions.ResourceNotFoundException;
 import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.repositories.KeysetPaginator;
+import com.cheridanh.infradev.repositories.KeysetSpec;
 import com.cheridanh.infradev.repositories.PromotionRepository;
 import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.security.AccessTokenDenylist;
+import com.cheridanh.infradev.security.UserDetailsCache;
+import com.cheridanh.infradev.security.UserSecurityVersionRegistry;
+import com.cheridanh.infradev.services.RefreshTokenService;
 import com.cheridanh.infradev.services.UserService;
+import com.cheridanh.infradev.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -25,21 +36,48 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    /**
+     * Lignes de {@link UserResponse} construites par la requête, avec la promotion jointe : aucune entité n'est chargée.
+     * Les colonnes suivent l'ordre du constructeur de projection de {@link UserResponse} ; seules celles
+     * des champs demandés sont sélectionnées.
+     */
+    private static final KeysetSpec<User, UserResponse> RESPONSE_SPEC = KeysetSpec
+            .projection(User.class, UserResponse.class, UserResponse::getId)
+            .column("id", Long.class)
+            .column("firstName", String.class)
+            .column("lastName", String.class)
+            .column("email", String.class)
+            .column("role", Role.class)
+            .column("avatar", String.class)
+            .column("enabled", Boolean.class)
+            .column("promotionId", "promotion.id", Long.class)
+            .column("promotionName", "promotion.name", String.class)
+            .column("lastLogin", LocalDateTime.class)
+            .column("createdAt", LocalDateTime.class)
+            .column("updatedAt", LocalDateTime.class)
+            .sort("createdAt", LocalDateTime.class, UserResponse::getCreatedAt)
+            .sort("email", String.class, UserResponse::getEmail)
+            .filter("role", Role.class)
+            .filter("promotionId", "promotion.id", Long.class)
+            .build();
+
     private final UserRepository userRepository;
     private final PromotionRepository promotionRepository;
     private final BlockRepository blockRepository;
+    private final UserSecurityVersionRegistry securityVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final RefreshTokenService refreshTokenService;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        log.debug("Récupération de tous les utilisateurs");
+    public CursorPage<UserResponse> getAllUsers(PageQuery query) {
+        log.debug("Récupération d'une page d'utilisateurs");
 
-        List<UserResponse> users = userRepository.findAll()
-                .stream()
-                .map(UserResponse::fromEntity)
-                .toList();
+        CursorPage<UserResponse> users = keysetPaginator.findPage(RESPONSE_SPEC, query).map(query.fields()::narrow);
 
-        log.debug("Total d'utilisateurs obtenus : {}", users.size());
+        log.debug("Total d'utilisateurs obtenus : {}", users.items().size());
 
         return users;
     }
@@ -47,10 +85,21 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
+        return getUserById(id, FieldSelection.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(Long id, FieldSelection fields) {
         log.debug("Récupération de l'utilisateur id : {}", id);
-        User user = findOrThrow(id);
+        if (!fields.includes("blocks")) {
+            return keysetPaginator.findById(RESPONSE_SPEC, id, fields)
+                    .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", id));
+        }
+        User user = userRepository.findDetailedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", id));
         log.debug("Utilisateur récupéré : {}", user.getEmail());
-        return UserResponse.fromEntityWithBlocs(user);
+        return fields.narrow(UserResponse.fromEntityWithBlocs(user));
     }
 
     @Override
@@ -64,9 +113,18 @@ public class UserServiceImpl implements UserService {
             throw new EmailAlreadyExistsException(request.getEmail());
         }
 
+        String previousEmail = user.getEmail();
+        boolean emailChanged = !previousEmail.equals(request.getEmail());
+
         updateUserFields(request, user);
+        if (emailChanged) {
+            revokeTokens(user);
+        }
         userRepository.save(user);
 
+        userDetailsCache.evict(previousEmail);
+        userDetailsCache.evict(user.getEmail());
+
         log.info("Utilisateur id : {} mis à jour avec succès", id);
 
         return UserResponse.fromEntity(user);
@@ -79,6 +137,7 @@ public class UserServiceImpl implements UserService {
 
         User user = findOrThrow(id);
         user.setRole(user.getRole() == Role.ADMIN ? Role.USER : Role.ADMIN);
+        revokeTokens(user);
         userRepository.save(user);
 
         log.info("Utilisateur id : {} a désormais le rôle {}", id, user.getRole().name());
@@ -93,6 +152,7 @@ public class UserServiceImpl implements UserService {
 
         User user = findOrThrow(id);
         user.setEnabled(!user.getEnabled());
+        revokeTokens(user);
         userRepository.save(user);
 
         log.info("Utilisateur id : {} est désormais {}", id, user.getEnabled() ? "activé" : "désactivé");
@@ -160,7 +220,11 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         log.info("Tentative de suppression de l'utilisateur id : {}", id);
         User user = findOrThrow(id);
+        refreshTokenService.revokeAllUserTokens(id);
         userRepository.delete(user);
+        securityVersionRegistry.invalidate(id);
+        userDetailsCache.evict(user.getEmail());
+        TransactionUtils.afterCommit(() -> accessTokenDenylist.revokeUser(id, Integer.MAX_VALUE));
         log.info("Utilisateur id : {} supprimé avec succès", id);
     }
 
@@ -176,6 +240,21 @@ public class UserServiceImpl implements UserService {
         user.setEmail(request.getEmail());
     }
 
+    /**
+     * Incrémente la version de sécurité de l'utilisateur, révoque ses refresh tokens et ses tokens d'accès
+     * en cours (après le commit) et le retire du cache des utilisateurs.
+     *
+     * @param user l'utilisateur concerné
+     */
+    private void revokeTokens(User user) {
+        int securityVersion = user.getSecurityVersion() + 1;
+        user.setSecurityVersion(securityVersion);
+        refreshTokenService.revokeAllUserTokens(user.getId());
+        securityVersionRegistry.invalidate(user.getId());
+        userDetailsCache.evict(user.getEmail());
+        TransactionUtils.afterCommit(() -> accessTokenDenylist.revokeUser(user.getId(), securityVersion));
+    }
+
     /**
      * Récupère un utilisateur par son identifiant ou lève une exception si introuvable.
      *
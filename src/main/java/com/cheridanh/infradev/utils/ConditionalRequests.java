@@ -0,0 +1,27 @@
+package com.cheridanh.infradev.utils;
+
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utilitaires pour les requêtes HTTP conditionnelles ({@code If-None-Match}).
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Compare la version courante d'une ressource aux en-têtes conditionnels de la requête.
+     * L'en-tête {@code ETag} est ajouté à la réponse ; si la version du client est à jour, le statut 304 est
+     * positionné et le contrôleur doit retourner {@code null} sans charger la ressource. Sinon, le corps doit
+     * être lu à cette version ({@code CatalogCache#readAt}) pour ne jamais associer l'ETag à une copie antérieure.
+     *
+     * @param request la requête en cours
+     * @param version la version courante de la ressource
+     * @return true si le client possède déjà cette version
+     */
+    public static boolean notModified(WebRequest request, ResourceVersions.Version version) {
+        return request.checkNotModified(version.etag());
+    }
+}
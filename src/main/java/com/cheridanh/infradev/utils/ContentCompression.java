@@ -0,0 +1,97 @@
+package com.cheridanh.infradev.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression (gzip) et empreinte des contenus stockés dans {@code content_bodies}.
+ */
+public final class ContentCompression {
+
+    private ContentCompression() {
+    }
+
+    /**
+     * Compresse un contenu textuel encodé en UTF-8.
+     *
+     * @param raw les octets UTF-8 du contenu
+     * @return les octets compressés
+     */
+    public static byte[] compress(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Compression du contenu impossible", ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Décompresse entièrement un contenu.
+     *
+     * @param compressed les octets compressés
+     * @return les octets UTF-8 du contenu
+     */
+    public static byte[] decompress(byte[] compressed) {
+        try (InputStream in = decompressing(compressed)) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Décompression du contenu impossible", ex);
+        }
+    }
+
+    /**
+     * Lit la taille du contenu décompressé dans l'en-queue gzip (champ ISIZE, taille modulo 2<sup>32</sup>),
+     * sans décompresser. Les contenus sont écrits en un seul membre gzip et font moins de 4 Go.
+     *
+     * @param compressed les octets compressés
+     * @return la taille du contenu décompressé, en octets
+     */
+    public static long decompressedLength(byte[] compressed) {
+        if (compressed.length < 4) {
+            throw new UncheckedIOException(new IOException("Contenu compressé invalide"));
+        }
+        int end = compressed.length;
+        return (compressed[end - 4] & 0xFFL)
+                | (compressed[end - 3] & 0xFFL) << 8
+                | (compressed[end - 2] & 0xFFL) << 16
+                | (compressed[end - 1] & 0xFFL) << 24;
+    }
+
+    /**
+     * Ouvre un flux décompressant le contenu au fil de la lecture.
+     *
+     * @param compressed les octets compressés
+     * @return le flux des octets UTF-8 du contenu
+     */
+    public static InputStream decompressing(byte[] compressed) {
+        try {
+            return new GZIPInputStream(new ByteArrayInputStream(compressed));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Contenu compressé invalide", ex);
+        }
+    }
+
+    /**
+     * Calcule l'empreinte SHA-256 d'un contenu décompressé.
+     *
+     * @param raw les octets UTF-8 du contenu
+     * @return l'empreinte en hexadécimal (64 caractères)
+     */
+    public static String hash(byte[] raw) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.cheridanh.infradev.utils;
 
 import com.cheridanh.infradev.configs.JwtProperties;
 import com.cheridanh.infradev.security.UserDetailsImpl;
+import com.cheridanh.infradev.security.VerifiedJwt;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -16,10 +18,12 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Slf4j
@@ -27,21 +31,34 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 public class JwtUtil {
 
+    private static final String ROLES_CLAIM = "roles";
+    private static final String FULL_NAME_CLAIM = "fullName";
+    private static final String FIRST_NAME_CLAIM = "firstName";
+    private static final String LAST_NAME_CLAIM = "lastName";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String SECURITY_VERSION_CLAIM = "sv";
+
     private final JwtProperties jwtProperties;
     private SecretKey signingKey;
+    private JwtParser jwtParser;
 
     /**
-     * Initialise et met en cache la clé de signature HMAC au démarrage.
+     * Initialise et met en cache la clé de signature HMAC et le parser JWT au démarrage.
+     * Le parser est immuable et thread-safe : il est réutilisé pour chaque requête.
      */
     @PostConstruct
     void initSigningKey() {
         this.signingKey = Keys.hmacShaKeyFor(jwtProperties.secret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
         log.info("Clé de signature JWT initialisée avec succès");
     }
 
     /**
      * Génère un token JWT pour un utilisateur authentifié.
-     * Inclut les roles dans les claims du token.
+     * Inclut les rôles, l'identifiant et la version de sécurité dans les claims du token,
+     * ce qui permet de reconstruire le principal sans accès à la base.
      *
      * @param userDetails les détails de l'utilisateur Spring Security
      * @return le token JWT généré
@@ -52,8 +69,12 @@ public class JwtUtil {
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList();
-        claims.put("roles", roles);
-        claims.put("fullName", userDetails.getFullName());
+        claims.put(ROLES_CLAIM, roles);
+        claims.put(FULL_NAME_CLAIM, userDetails.getFullName());
+        claims.put(FIRST_NAME_CLAIM, userDetails.getFirstName());
+        claims.put(LAST_NAME_CLAIM, userDetails.getLastName());
+        claims.put(USER_ID_CLAIM, userDetails.getId());
+        claims.put(SECURITY_VERSION_CLAIM, userDetails.getSecurityVersion());
 
         log.debug("Génération du token JWT pour : {} avec les rôles : {}", userDetails.getUsername(), roles);
 
@@ -61,23 +82,25 @@ public class JwtUtil {
     }
 
     /**
-     * Extrait le nom d'utilisateur (email) du token JWT.
+     * Parse et vérifie un token JWT en une seule passe : signature, format et expiration.
      *
      * @param token le token JWT
-     * @return l'email de l'utilisateur
+     * @return les claims vérifiés du token
+     * @throws ExpiredJwtException si le token est expiré
+     * @throws JwtException si le token est malformé ou sa signature invalide
      */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public VerifiedJwt verify(String token) {
+        return toVerifiedJwt(extractAllClaims(token));
     }
 
     /**
-     * Extrait la date d'expiration du token JWT.
+     * Extrait le nom d'utilisateur (email) du token JWT.
      *
      * @param token le token JWT
-     * @return la date d'expiration
+     * @return l'email de l'utilisateur
      */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
     }
 
     /**
@@ -101,14 +124,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-
-            if (!isValid) {
-                log.warn("Token JWT invalide : correspondance utilisateur ou expiration échouée");
-            }
-
-            return isValid;
+            return isTokenValidFor(verify(token), userDetails);
         } catch (ExpiredJwtException ex) {
             log.warn("Token JWT expiré lors de la validation");
             log.debug("ExpiredJwtException : {}", ex.getMessage());
@@ -119,6 +135,23 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Vérifie qu'un token déjà vérifié correspond bien à l'utilisateur attendu.
+     *
+     * @param verifiedJwt les claims vérifiés du token
+     * @param userDetails les détails de l'utilisateur attendu
+     * @return true si le sujet du token correspond à l'utilisateur
+     */
+    public boolean isTokenValidFor(VerifiedJwt verifiedJwt, UserDetails userDetails) {
+        boolean isValid = verifiedJwt.subject() != null && verifiedJwt.subject().equals(userDetails.getUsername());
+
+        if (!isValid) {
+            log.warn("Token JWT invalide : correspondance utilisateur échouée");
+        }
+
+        return isValid;
+    }
+
     /**
      * Crée un token JWT signé avec les claims, le sujet et la date d'expiration.
      */
@@ -130,6 +163,7 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expirationDate)
@@ -141,20 +175,31 @@ public class JwtUtil {
      * Extrait tous les claims d'un token JWT.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Vérifie si le refresh token n'est plus valide.
-     *
-     * @param token le token JWT à vérifier
-     * @return true si le token a expiré
+     * Convertit les claims parsés en {@link VerifiedJwt} immuable.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static VerifiedJwt toVerifiedJwt(Claims claims) {
+        List<String> roles = claims.get(ROLES_CLAIM) instanceof Collection<?> rawRoles
+                ? rawRoles.stream().map(String::valueOf).toList()
+                : List.of();
+
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number securityVersion = claims.get(SECURITY_VERSION_CLAIM, Number.class);
+
+        return new VerifiedJwt(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                roles,
+                claims.get(FIRST_NAME_CLAIM, String.class),
+                claims.get(LAST_NAME_CLAIM, String.class),
+                claims.get(FULL_NAME_CLAIM, String.class),
+                securityVersion != null ? securityVersion.intValue() : null,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
     }
 }
@@ -0,0 +1,138 @@
+package com.cheridanh.infradev.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Génération, encodage et empreinte des refresh tokens.
+ * <p>
+ * Un token encode l'identifiant de sa famille (8 octets), sa génération (4 octets) et un secret
+ * aléatoire (32 octets), en Base64 URL sans padding. Seule l'empreinte SHA-256 du secret est stockée,
+ * la famille étant retrouvée par clé primaire.
+ * <p>
+ * Chaque thread dispose de son propre {@link SecureRandom} DRBG et de son propre {@link MessageDigest}.
+ * Le générateur par défaut sous Linux ({@code NativePRNG}) lit une source partagée derrière un verrou global,
+ * même instancié par thread ; un DRBG ne retient que son propre état et ne se réensemence que rarement.
+ */
+public final class RefreshTokenGenerator {
+
+    /** Taille de l'empreinte SHA-256 stockée, en octets. */
+    public static final int HASH_LENGTH = 32;
+
+    private static final int SECRET_BYTES = 32;
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + SECRET_BYTES;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(() -> {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("DRBG indisponible", ex);
+        }
+    });
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    });
+
+    private RefreshTokenGenerator() {
+    }
+
+    /**
+     * Génère un nouveau secret de 256 bits.
+     *
+     * @return le secret
+     */
+    public static byte[] newSecret() {
+        byte[] secret = new byte[SECRET_BYTES];
+        RANDOM.get().nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * Encode le token transmis au client.
+     *
+     * @param familyId l'identifiant de la famille
+     * @param generation la génération du token dans sa famille
+     * @param secret le secret aléatoire
+     * @return le token encodé
+     */
+    public static String encode(long familyId, int generation, byte[] secret) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(familyId)
+                .putInt(generation)
+                .put(secret)
+                .array());
+    }
+
+    /**
+     * Décode un token présenté par le client.
+     *
+     * @param token le token présenté
+     * @return le token décodé, ou {@link Optional#empty()} s'il n'a pas le format d'un token de famille
+     *         (anciens tokens, valeurs invalides)
+     */
+    public static Optional<FamilyToken> decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        if (bytes.length != TOKEN_BYTES) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long familyId = buffer.getLong();
+        int generation = buffer.getInt();
+        byte[] secret = new byte[SECRET_BYTES];
+        buffer.get(secret);
+
+        return Optional.of(new FamilyToken(familyId, generation, secret));
+    }
+
+    /**
+     * Calcule l'empreinte SHA-256 d'un secret, telle que stockée en base.
+     *
+     * @param secret le secret du token
+     * @return l'empreinte de 32 octets
+     */
+    public static byte[] hash(byte[] secret) {
+        return SHA_256.get().digest(secret);
+    }
+
+    /**
+     * Calcule l'empreinte SHA-256 d'un ancien token (antérieur aux familles), stocké par empreinte de sa valeur.
+     *
+     * @param token le token présenté par le client
+     * @return l'empreinte de 32 octets
+     */
+    public static byte[] hash(String token) {
+        return hash(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compare deux empreintes en temps constant.
+     */
+    public static boolean matches(byte[] expectedHash, byte[] actualHash) {
+        return MessageDigest.isEqual(expectedHash, actualHash);
+    }
+
+    /**
+     * Token décodé : famille, génération et secret.
+     */
+    public record FamilyToken(long familyId, int generation, byte[] secret) {
+    }
+}
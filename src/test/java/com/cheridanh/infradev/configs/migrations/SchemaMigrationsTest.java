@@ -0,0 +1,315 @@
+package com.cheridanh.infradev.configs.migrations;
+
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.IdGenerators;
+import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.services.CourseService;
+import com.cheridanh.infradev.services.RefreshTokenService;
+import com.cheridanh.infradev.utils.ContentCompression;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Démarre l'application sur une base MySQL créée par la version précédant les migrations (identifiants
+ * {@code AUTO_INCREMENT}, refresh tokens et contenus en clair), puis vérifie le résultat des migrations Flyway.
+ * <p>
+ * Les migrations interrogent {@code information_schema} avec {@code DATABASE()} et ne font rien sur H2 :
+ * seul ce test les exécute. Il est ignoré sans Docker.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationsTest {
+
+    private static final String LEGACY_TOKEN = "5f0c6a1e-legacy-refresh-token";
+    private static final String COURSE_CONTENT = "Contenu du cours en clair";
+    private static final String EXERCISE_CONTENT = "Énoncé de l'exercice";
+    private static final String QUIZ_CONTENT = "Questions du quiz";
+
+    private static final long MAX_USER_ID = 120;
+
+    @Container
+    private static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.4");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    /**
+     * Pointe l'application sur le conteneur et y crée le schéma existant avant le démarrage du contexte,
+     * donc avant Flyway.
+     */
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) throws SQLException {
+        MYSQL.start();
+        seedLegacySchema();
+
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Test
+    void refreshTokensAreStoredAsHashesAndStillAccepted() {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT token, token_hash FROM refresh_tokens WHERE id = 1");
+
+        assertThat(row.get("token")).isNull();
+        assertThat((byte[]) row.get("token_hash")).isEqualTo(sha256(LEGACY_TOKEN));
+        assertThat(refreshTokenService.validateRefreshToken(LEGACY_TOKEN).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void idGeneratorsStartAboveExistingIds() {
+        assertThat(nextVal("blocks")).isEqualTo(5 + IdGenerators.ALLOCATION_SIZE);
+        assertThat(nextVal("modules")).isEqualTo(9 + IdGenerators.ALLOCATION_SIZE);
+        assertThat(nextVal("courses")).isEqualTo(12 + IdGenerators.ALLOCATION_SIZE);
+        assertThat(nextVal("exercises")).isEqualTo(3 + IdGenerators.ALLOCATION_SIZE);
+        assertThat(nextVal("quizzes")).isEqualTo(4 + IdGenerators.ALLOCATION_SIZE);
+        assertThat(nextVal("promotions")).isEqualTo(7 + IdGenerators.ALLOCATION_SIZE);
+        assertThat(nextVal("refresh_tokens")).isEqualTo(2 + IdGenerators.ALLOCATION_SIZE);
+        // Le compte administrateur créé au démarrage a déjà réservé un bloc au-delà de MAX(id) + 50
+        assertThat(nextVal("users")).isGreaterThanOrEqualTo(MAX_USER_ID + IdGenerators.ALLOCATION_SIZE);
+    }
+
+    @Test
+    void firstInsertsAfterStartupDoNotReuseExistingIds() {
+        Long adminId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'admin@infradev.test'", Long.class);
+        assertThat(adminId).isGreaterThan(MAX_USER_ID);
+
+        Block block = blockRepository.save(Block.builder().name("Bloc créé après migration").build());
+        assertThat(block.getId()).isGreaterThan(5L);
+    }
+
+    @Test
+    void legacyContentsAreMovedToCompressedBodies() throws IOException {
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM content_bodies ORDER BY id", Long.class))
+                .containsExactly(1L, 2L, 3L, 4L);
+        // Quatre identifiants réservés à partir du premier bloc : la valeur suivante repart un bloc plus loin
+        assertThat(nextVal("content_bodies")).isEqualTo(4 + IdGenerators.ALLOCATION_SIZE);
+
+        Map<String, Object> course = jdbcTemplate.queryForMap(
+                "SELECT content_body_id, content_length, content_hash FROM courses WHERE id = 11");
+        byte[] raw = COURSE_CONTENT.getBytes(StandardCharsets.UTF_8);
+        assertThat(((Number) course.get("content_length")).intValue()).isEqualTo(raw.length);
+        assertThat(course.get("content_hash")).isEqualTo(ContentCompression.hash(raw));
+        byte[] data = jdbcTemplate.queryForObject(
+                "SELECT data FROM content_bodies WHERE id = ?", byte[].class, course.get("content_body_id"));
+        assertThat(ContentCompression.decompress(data)).isEqualTo(raw);
+
+        ContentStream content = courseService.getCourseContent(11L);
+        try (InputStream body = content.body()) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(COURSE_CONTENT);
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM exercises WHERE content_body_id IS NULL", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM quizzes WHERE content_body_id IS NULL", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT is_nullable FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = 'courses' AND column_name = 'content'
+                """, String.class)).isEqualTo("YES");
+    }
+
+    private long nextVal(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                + " WHERE " + IdGenerators.PK_COLUMN + " = ?", Long.class, sequence);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Schéma tel que le créait Hibernate avant les migrations, avec des identifiants non contigus.
+     */
+    private static void seedLegacySchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE promotions (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(255) NOT NULL UNIQUE,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL,
+                        active BIT NOT NULL,
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6))
+                    """);
+            statement.execute("""
+                    CREATE TABLE users (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        first_name VARCHAR(50) NOT NULL,
+                        last_name VARCHAR(50) NOT NULL,
+                        email VARCHAR(100) NOT NULL,
+                        password VARCHAR(255) NOT NULL,
+                        role ENUM('ADMIN', 'USER') NOT NULL,
+                        avatar VARCHAR(255),
+                        promotion_id BIGINT,
+                        enabled BIT NOT NULL,
+                        account_non_expired BIT NOT NULL,
+                        account_non_locked BIT NOT NULL,
+                        credentials_non_expired BIT NOT NULL,
+                        last_login DATETIME(6),
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6),
+                        UNIQUE INDEX idx_email (email),
+                        INDEX idx_promotion_id (promotion_id),
+                        INDEX idx_user_role (role),
+                        FOREIGN KEY (promotion_id) REFERENCES promotions (id))
+                    """);
+            statement.execute("""
+                    CREATE TABLE refresh_tokens (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        token VARCHAR(255) NOT NULL,
+                        user_id BIGINT NOT NULL,
+                        expiry_date DATETIME(6) NOT NULL,
+                        revoked BIT NOT NULL,
+                        UNIQUE INDEX idx_refresh_token (token),
+                        INDEX idx_refresh_token_user (user_id),
+                        FOREIGN KEY (user_id) REFERENCES users (id))
+                    """);
+            statement.execute("""
+                    CREATE TABLE blocks (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(255) NOT NULL,
+                        description VARCHAR(255),
+                        cover VARCHAR(255),
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6),
+                        UNIQUE INDEX idx_block_name (name))
+                    """);
+            statement.execute("""
+                    CREATE TABLE quizzes (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(255) NOT NULL,
+                        content VARCHAR(255) NOT NULL,
+                        completed BIT NOT NULL,
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6),
+                        UNIQUE INDEX idx_quiz_name (name),
+                        INDEX idx_quiz_completed (completed))
+                    """);
+            statement.execute("""
+                    CREATE TABLE modules (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(255) NOT NULL,
+                        description VARCHAR(255),
+                        block_id BIGINT,
+                        quiz_id BIGINT UNIQUE,
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6),
+                        UNIQUE INDEX idx_module_name (name),
+                        INDEX idx_module_block (block_id),
+                        INDEX idx_module_quiz (quiz_id),
+                        FOREIGN KEY (block_id) REFERENCES blocks (id),
+                        FOREIGN KEY (quiz_id) REFERENCES quizzes (id))
+                    """);
+            statement.execute("""
+                    CREATE TABLE courses (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(255) NOT NULL,
+                        description VARCHAR(255),
+                        video_url VARCHAR(255),
+                        content VARCHAR(255) NOT NULL,
+                        completed BIT NOT NULL,
+                        module_id BIGINT,
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6),
+                        UNIQUE INDEX idx_course_name (name),
+                        INDEX idx_course_module (module_id),
+                        INDEX idx_course_completed (completed),
+                        FOREIGN KEY (module_id) REFERENCES modules (id))
+                    """);
+            statement.execute("""
+                    CREATE TABLE exercises (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(255) NOT NULL,
+                        content VARCHAR(255) NOT NULL,
+                        completed BIT NOT NULL,
+                        module_id BIGINT,
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6),
+                        UNIQUE INDEX idx_exercise_name (name),
+                        INDEX idx_exercise_module (module_id),
+                        INDEX idx_exercise_completed (completed),
+                        FOREIGN KEY (module_id) REFERENCES modules (id))
+                    """);
+
+            statement.execute("""
+                    INSERT INTO promotions (id, name, start_date, end_date, active, created_at, updated_at)
+                    VALUES (7, 'Promo existante', CURDATE() - INTERVAL 1 MONTH, CURDATE() + INTERVAL 1 MONTH, 1, NOW(6), NOW(6))
+                    """);
+            statement.execute("""
+                    INSERT INTO users (id, first_name, last_name, email, password, role, promotion_id, enabled,
+                                       account_non_expired, account_non_locked, credentials_non_expired, created_at, updated_at)
+                    VALUES (1, 'Ada', 'Existante', 'ada@infradev.test', 'unused', 'USER', 7, 1, 1, 1, 1, NOW(6), NOW(6)),
+                           (%d, 'Alan', 'Existant', 'alan@infradev.test', 'unused', 'USER', 7, 1, 1, 1, 1, NOW(6), NOW(6))
+                    """.formatted(MAX_USER_ID));
+            statement.execute("""
+                    INSERT INTO refresh_tokens (id, token, user_id, expiry_date, revoked)
+                    VALUES (1, '%s', %d, NOW(6) + INTERVAL 7 DAY, 0),
+                           (2, 'autre-token-existant', 1, NOW(6) + INTERVAL 7 DAY, 0)
+                    """.formatted(LEGACY_TOKEN, MAX_USER_ID));
+            statement.execute("""
+                    INSERT INTO blocks (id, name, created_at, updated_at) VALUES (5, 'Bloc existant', NOW(6), NOW(6))
+                    """);
+            statement.execute("""
+                    INSERT INTO quizzes (id, name, content, completed, created_at, updated_at)
+                    VALUES (4, 'Quiz existant', '%s', 0, NOW(6), NOW(6))
+                    """.formatted(QUIZ_CONTENT));
+            statement.execute("""
+                    INSERT INTO modules (id, name, block_id, quiz_id, created_at, updated_at)
+                    VALUES (9, 'Module existant', 5, 4, NOW(6), NOW(6))
+                    """);
+            statement.execute("""
+                    INSERT INTO courses (id, name, content, completed, module_id, created_at, updated_at)
+                    VALUES (11, 'Cours existant', '%s', 0, 9, NOW(6), NOW(6)),
+                           (12, 'Autre cours existant', 'Autre contenu', 0, 9, NOW(6), NOW(6))
+                    """.formatted(COURSE_CONTENT));
+            statement.execute("""
+                    INSERT INTO exercises (id, name, content, completed, module_id, created_at, updated_at)
+                    VALUES (3, 'Exercice existant', '%s', 0, 9, NOW(6), NOW(6))
+                    """.formatted(EXERCISE_CONTENT));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cheridanh.infradev.exceptions;
+
+import com.cheridanh.infradev.dtos.response.ErrorResponse;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.support.CatalogFixture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GlobalExceptionHandlerTest {
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Test
+    void concurrentUpdateIsReportedAsConflict() {
+        Block block = fixture.block();
+        Block stale = blockRepository.findById(block.getId()).orElseThrow();
+
+        Block current = blockRepository.findById(block.getId()).orElseThrow();
+        current.setDescription("Modifié par une autre requête");
+        blockRepository.save(current);
+
+        stale.setDescription("Modifié à partir d'une version périmée");
+        ObjectOptimisticLockingFailureException ex = catchThrowableOfType(
+                ObjectOptimisticLockingFailureException.class, () -> blockRepository.save(stale));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/blocks/" + block.getId());
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleOptimisticLockingFailure(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(response.getBody().getPath()).isEqualTo(request.getRequestURI());
+    }
+}
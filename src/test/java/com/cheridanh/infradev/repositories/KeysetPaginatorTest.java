@@ -0,0 +1,173 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.exceptions.InvalidPageRequestException;
+import com.cheridanh.infradev.support.CatalogFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class KeysetPaginatorTest {
+
+    /** Le tri sur {@code completed} ne prend que deux valeurs : les pages ne tiennent que par l'identifiant. */
+    private static final KeysetSpec<Course, Course> SPEC = KeysetSpec.builder(Course.class, Course::getId)
+            .sort("name", String.class, Course::getName)
+            .sort("completed", Boolean.class, Course::getCompleted)
+            .filter("moduleId", "module.id", Long.class)
+            .build();
+
+    private static final int COURSES = 7;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    private Module module;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setUp() {
+        module = fixture.module(fixture.block());
+
+        courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(fixture.course(module, i % 2 == 0));
+        }
+    }
+
+    @Test
+    void ascendingWalkReturnsEveryRowOnceInOrder() {
+        List<Long> expected = courses.stream()
+                .sorted(Comparator.comparing(Course::getName).thenComparing(Course::getId))
+                .map(Course::getId)
+                .toList();
+
+        assertThat(walk("name", 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void descendingWalkReturnsEveryRowOnceInOrder() {
+        List<Long> expected = courses.stream()
+                .sorted(Comparator.comparing(Course::getName).thenComparing(Course::getId).reversed())
+                .map(Course::getId)
+                .toList();
+
+        assertThat(walk("-name", 3)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void tiedSortValuesArePagedByIdWithoutGapOrDuplicate() {
+        List<Long> ascending = courses.stream()
+                .sorted(Comparator.comparing(Course::getCompleted).thenComparing(Course::getId))
+                .map(Course::getId)
+                .toList();
+        List<Long> descending = courses.stream()
+                .sorted(Comparator.comparing(Course::getCompleted).thenComparing(Course::getId).reversed())
+                .map(Course::getId)
+                .toList();
+
+        assertThat(walk("completed", 2)).containsExactlyElementsOf(ascending);
+        assertThat(walk("-completed", 2)).containsExactlyElementsOf(descending);
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        CursorPage<Course> first = keysetPaginator.findPage(SPEC, query("name", 2, null));
+        assertThat(first.metadata().getNextCursor()).isNotNull();
+
+        assertThatThrownBy(() -> keysetPaginator.findPage(SPEC, query("-name", 2, first.metadata().getNextCursor())))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> keysetPaginator.findPage(SPEC, query("name", 2, "pas-un-curseur")))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void unknownSortInvalidFilterValueAndInvalidSizeAreRejected() {
+        assertThatThrownBy(() -> keysetPaginator.findPage(SPEC, PageQuery.of(Map.of("sort", "createdAt"))))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> keysetPaginator.findPage(SPEC, PageQuery.of(Map.of("moduleId", "abc"))))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> PageQuery.of(Map.of("size", "0")))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> PageQuery.of(Map.of("size", String.valueOf(PageQuery.MAX_SIZE + 1))))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void undeclaredFilterIsRejected() {
+        assertThatThrownBy(() -> keysetPaginator.findPage(SPEC, PageQuery.of(Map.of("moduleid", String.valueOf(module.getId())))))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void cacheBusterIsDroppedFromTheQuery() {
+        Map<String, String> params = new HashMap<>();
+        params.put("moduleId", String.valueOf(module.getId()));
+        params.put("_", "1700000000000");
+
+        PageQuery query = PageQuery.of(params);
+        CursorPage<Course> page = keysetPaginator.findPage(SPEC, query);
+
+        assertThat(query).isEqualTo(PageQuery.of(Map.of("moduleId", String.valueOf(module.getId()))));
+        assertThat(page.items()).extracting(Course::getId)
+                .containsExactlyInAnyOrderElementsOf(courses.stream().map(Course::getId).toList());
+    }
+
+    @Test
+    void enumFilterIsParsedIndependentlyOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertThat(KeysetSpec.parse("role", "admin", Role.class)).isEqualTo(Role.ADMIN);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private List<Long> walk(String sort, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Course> page = keysetPaginator.findPage(SPEC, query(sort, size, cursor));
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(size);
+            page.items().forEach(course -> ids.add(course.getId()));
+            cursor = page.metadata().getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private PageQuery query(String sort, int size, String cursor) {
+        Map<String, String> params = new HashMap<>();
+        params.put("moduleId", String.valueOf(module.getId()));
+        params.put("sort", sort);
+        params.put("size", String.valueOf(size));
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
+        return PageQuery.of(params);
+    }
+}
@@ -0,0 +1,83 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.support.CatalogFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ResourceVersionsTest {
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    private Module module;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        module = fixture.module(fixture.block());
+        course = fixture.course(module);
+    }
+
+    @Test
+    void versionIsStableWithoutWrite() {
+        ResourceVersions.Version first = resourceVersions.module(module.getId());
+        ResourceVersions.Version second = resourceVersions.module(module.getId());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void unchangedSaveKeepsModuleVersion() {
+        ResourceVersions.Version before = resourceVersions.module(module.getId());
+
+        // Aucune colonne modifiée : Hibernate n'émet pas d'UPDATE et updated_at ne bouge pas
+        courseRepository.save(courseRepository.findById(course.getId()).orElseThrow());
+
+        assertThat(resourceVersions.module(module.getId()).etag()).isEqualTo(before.etag());
+    }
+
+    @Test
+    void addingCourseChangesModuleVersion() {
+        ResourceVersions.Version before = resourceVersions.module(module.getId());
+
+        fixture.course(module);
+
+        assertThat(resourceVersions.module(module.getId()).etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void updatingCourseChangesModuleVersion() {
+        ResourceVersions.Version before = resourceVersions.module(module.getId());
+
+        Course stored = courseRepository.findById(course.getId()).orElseThrow();
+        stored.setName(stored.getName() + " (modifié)");
+        courseRepository.save(stored);
+
+        assertThat(resourceVersions.module(module.getId()).etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void deletingCourseChangesModuleVersion() {
+        ResourceVersions.Version before = resourceVersions.module(module.getId());
+
+        courseRepository.deleteById(course.getId());
+
+        assertThat(resourceVersions.module(module.getId()).etag()).isNotEqualTo(before.etag());
+    }
+}
@@ -0,0 +1,53 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.CacheRegions;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void findByIdOfReferenceEntityIsServedFromCache() {
+        Block block = fixture.block();
+        Module module = fixture.module(block);
+        CacheRegionStatistics moduleRegion = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getDomainDataRegionStatistics(CacheRegions.MODULE);
+        long hits = moduleRegion.getHitCount();
+
+        statementCounter.reset();
+        assertThat(moduleRepository.findById(module.getId())).isPresent();
+        assertThat(blockRepository.findById(block.getId())).isPresent();
+
+        assertThat(statementCounter.count()).isZero();
+        assertThat(moduleRegion.getHitCount()).isGreaterThan(hits);
+    }
+}
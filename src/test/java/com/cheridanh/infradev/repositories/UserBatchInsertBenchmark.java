@@ -0,0 +1,96 @@
+package com.cheridanh.infradev.repositories;
+
+import com.cheridanh.infradev.InfraDevApplication;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mesure le débit d'insertion d'utilisateurs par lots de {@value #USERS_PER_BATCH}, comme le fait l'import en masse.
+ * Compare une insertion par aller-retour ({@code batch_size = 1}) au batching JDBC rendu possible par
+ * les identifiants réservés par blocs. Un lot par opération : multiplier le débit par {@value #USERS_PER_BATCH}
+ * pour obtenir des lignes par seconde.
+ * <p>
+ * Démarre l'application avec le profil de test (H2 en mémoire). Pour mesurer l'effet des allers-retours réseau,
+ * viser une base MySQL via {@code -Dspring.datasource.url=...} (avec {@code rewriteBatchedStatements=true}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class UserBatchInsertBenchmark {
+
+    private static final int USERS_PER_BATCH = 500;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InfraDevApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertBatch() {
+        List<User> users = new ArrayList<>(USERS_PER_BATCH);
+        for (int i = 0; i < USERS_PER_BATCH; i++) {
+            long n = sequence.incrementAndGet();
+            users.add(User.builder()
+                    .firstName("Bench")
+                    .lastName("Mark")
+                    .email("bench-" + n + "@infradev.test")
+                    .password("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma")
+                    .role(Role.USER)
+                    .build());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            userRepository.flush();
+        });
+        return users.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserBatchInsertBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
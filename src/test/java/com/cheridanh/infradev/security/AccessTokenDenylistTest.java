@@ -0,0 +1,100 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.JwtProperties;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.utils.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccessTokenDenylistTest {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    private AccessTokenDenylist denylist;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        denylist = new AccessTokenDenylist(jwtProperties);
+        userId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+
+    @Test
+    void revokedTokenIsRejectedWithoutAffectingOtherTokens() {
+        VerifiedJwt revoked = issue(userId, 0);
+        VerifiedJwt other = issue(userId, 0);
+
+        denylist.revokeToken(revoked);
+
+        assertThat(denylist.isRevoked(revoked)).isTrue();
+        assertThat(denylist.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void userRevocationRejectsOnlyOlderSecurityVersions() {
+        VerifiedJwt stale = issue(userId, 0);
+        VerifiedJwt current = issue(userId, 1);
+        VerifiedJwt otherUser = issue(userId + 1, 0);
+
+        denylist.revokeUser(userId, 1);
+
+        assertThat(denylist.isRevoked(stale)).isTrue();
+        assertThat(denylist.isRevoked(current)).isFalse();
+        assertThat(denylist.isRevoked(otherUser)).isFalse();
+    }
+
+    @Test
+    void deletedUserRevocationRejectsEveryVersion() {
+        VerifiedJwt token = issue(userId, 7);
+
+        denylist.revokeUser(userId, Integer.MAX_VALUE);
+
+        assertThat(denylist.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void cleanupKeepsActiveRevocationsAcrossFilterRotations() throws InterruptedException {
+        AccessTokenDenylist shortLived = new AccessTokenDenylist(
+                new JwtProperties(jwtProperties.secret(), 1, jwtProperties.refreshExpiration()));
+        VerifiedJwt revoked = issue(userId, 0);
+        VerifiedJwt staleVersion = issue(userId + 1, 0);
+
+        shortLived.revokeToken(revoked);
+        shortLived.revokeUser(userId + 1, 1);
+        Thread.sleep(5);
+        // deux renouvellements : la génération où les entrées ont été ajoutées est abandonnée
+        shortLived.evictExpired();
+        Thread.sleep(5);
+        shortLived.evictExpired();
+
+        // le token expire avec son claim exp, encore loin ; la révocation par utilisateur suit la durée de vie (1 ms)
+        assertThat(shortLived.isRevoked(revoked)).isTrue();
+        assertThat(shortLived.isRevoked(staleVersion)).isFalse();
+    }
+
+    private VerifiedJwt issue(long id, int securityVersion) {
+        User user = User.builder()
+                .id(id)
+                .firstName("Denylist")
+                .lastName("Test")
+                .email("denylist-" + id + "@infradev.test")
+                .role(Role.USER)
+                .securityVersion(securityVersion)
+                .build();
+        return jwtUtil.verify(jwtUtil.generateToken(UserDetailsImpl.build(user)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.cheridanh.infradev.security;
+
+import com.cheridanh.infradev.configs.LoginThrottleProperties;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.exceptions.TooManyRequestsException;
+import com.cheridanh.infradev.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoginThrottleTest {
+
+    private static final int EMAIL_CAPACITY = 3;
+    private static final int IP_CAPACITY = 5;
+    private static final int LOCKOUT_THRESHOLD = 3;
+
+    /**
+     * Recharge négligeable pendant un test : seule la capacité initiale est disponible.
+     */
+    private static final double REFILL_PER_MINUTE = 0.001;
+
+    private static final LoginThrottleProperties PROPERTIES = new LoginThrottleProperties(
+            EMAIL_CAPACITY, REFILL_PER_MINUTE, IP_CAPACITY, REFILL_PER_MINUTE, LOCKOUT_THRESHOLD, 60_000, 60_000);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    private LoginThrottle loginThrottle;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle(PROPERTIES, userRepository, userDetailsCache);
+        email = "throttle-" + UUID.randomUUID() + "@infradev.test";
+        userRepository.save(User.builder()
+                .firstName("Throttle")
+                .lastName("Test")
+                .email(email)
+                .password("hash")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    void emailBucketIsExhaustedWhateverTheAddress() {
+        for (int i = 0; i < EMAIL_CAPACITY; i++) {
+            loginThrottle.acquire(email, "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire(email.toUpperCase(Locale.ROOT), "10.0.1.1"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isPositive());
+        assertThatCode(() -> loginThrottle.acquire("other-" + email, "10.0.1.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void ipBucketIsExhaustedAcrossEmails() {
+        for (int i = 0; i < IP_CAPACITY; i++) {
+            loginThrottle.acquire(i + "-" + email, "10.0.2.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire("next-" + email, "10.0.2.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginThrottle.acquire("next-" + email, "10.0.2.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void accountIsLockedAfterThresholdFailures() {
+        for (int i = 0; i < LOCKOUT_THRESHOLD - 1; i++) {
+            loginThrottle.recordFailure(email);
+        }
+        assertThat(loadPrincipal().isAccountNonLocked()).isTrue();
+
+        loginThrottle.recordFailure(email);
+
+        User locked = userRepository.findByEmail(email).orElseThrow();
+        assertThat(locked.getAccountNonLocked()).isFalse();
+        assertThat(locked.getLockedUntil()).isAfter(LocalDateTime.now());
+        assertThat(UserDetailsImpl.build(locked).isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void failuresWithDifferentCaseAndSpacingLockTheAccount() {
+        loginThrottle.recordFailure(email.toUpperCase(Locale.ROOT));
+        loginThrottle.recordFailure("  " + email + " ");
+        assertThat(loadPrincipal().isAccountNonLocked()).isTrue();
+
+        loginThrottle.recordFailure(" " + email.toUpperCase(Locale.ROOT));
+
+        assertThat(loadPrincipal().isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        for (int i = 0; i < LOCKOUT_THRESHOLD - 1; i++) {
+            loginThrottle.recordFailure(email);
+        }
+        loginThrottle.recordSuccess(email);
+        for (int i = 0; i < LOCKOUT_THRESHOLD - 1; i++) {
+            loginThrottle.recordFailure(email);
+        }
+
+        assertThat(loadPrincipal().isAccountNonLocked()).isTrue();
+    }
+
+    @Test
+    void accountIsUnlockedOnceLockedUntilHasPassed() {
+        userRepository.lockAccount(email, LocalDateTime.now().minusSeconds(1));
+
+        User expired = userRepository.findByEmail(email).orElseThrow();
+
+        assertThat(expired.getAccountNonLocked()).isFalse();
+        assertThat(UserDetailsImpl.build(expired).isAccountNonLocked()).isTrue();
+    }
+
+    @Test
+    void principalHonorsLockedUntil() {
+        User user = User.builder().email(email).role(Role.USER).accountNonLocked(false).build();
+
+        user.setLockedUntil(LocalDateTime.now().plusMinutes(5));
+        assertThat(UserDetailsImpl.build(user).isAccountNonLocked()).isFalse();
+
+        user.setLockedUntil(LocalDateTime.now().minusMinutes(5));
+        assertThat(UserDetailsImpl.build(user).isAccountNonLocked()).isTrue();
+
+        user.setLockedUntil(null);
+        assertThat(UserDetailsImpl.build(user).isAccountNonLocked()).isFalse();
+    }
+
+    private UserDetailsImpl loadPrincipal() {
+        return UserDetailsImpl.build(userRepository.findByEmail(email).orElseThrow());
+    }
+}
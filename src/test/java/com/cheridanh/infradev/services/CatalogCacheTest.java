@@ -0,0 +1,116 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.dtos.request.CourseRequest;
+import com.cheridanh.infradev.dtos.request.ModuleRequest;
+import com.cheridanh.infradev.dtos.response.CourseResponse;
+import com.cheridanh.infradev.dtos.response.ModuleResponse;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.repositories.ResourceVersions;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Block block;
+    private Module module;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        block = fixture.block();
+        module = fixture.module(block);
+        course = fixture.course(module);
+    }
+
+    @Test
+    void cachedReadExecutesNoStatement() {
+        courseService.getCourseById(course.getId());
+
+        statementCounter.reset();
+        CourseResponse cached = courseService.getCourseById(course.getId());
+
+        assertThat(statementCounter.count()).isZero();
+        assertThat(cached.getName()).isEqualTo(course.getName());
+    }
+
+    @Test
+    void renamingModuleEvictsCoursesEmbeddingItsName() {
+        assertThat(courseService.getCourseById(course.getId()).getModuleName()).isEqualTo(module.getName());
+        assertThat(courseService.getCoursesByModuleId(module.getId())).hasSize(1);
+
+        String newName = "Module renommé " + UUID.randomUUID();
+        moduleService.updateModule(module.getId(), new ModuleRequest(newName, null, block.getId()));
+
+        assertThat(courseService.getCourseById(course.getId()).getModuleName()).isEqualTo(newName);
+        assertThat(courseService.getCoursesByModuleId(module.getId()))
+                .singleElement()
+                .satisfies(response -> assertThat(response.getModuleName()).isEqualTo(newName));
+    }
+
+    @Test
+    void creatingCourseEvictsModuleCounts() {
+        assertThat(moduleService.getModuleById(module.getId()).getCourseCount()).isEqualTo(1);
+
+        courseService.createCourse(CourseRequest.builder()
+                .name("Cours " + UUID.randomUUID())
+                .content("Contenu")
+                .moduleId(module.getId())
+                .build());
+
+        ModuleResponse refreshed = moduleService.getModuleById(module.getId());
+        assertThat(refreshed.getCourseCount()).isEqualTo(2);
+        assertThat(refreshed.getCourses()).hasSize(2);
+    }
+
+    @Test
+    void readAtNewVersionIgnoresEntryCachedForPreviousVersion() {
+        ResourceVersions.Version before = resourceVersions.course(course.getId());
+        catalogCache.readAt(before, () -> courseService.getCourseById(course.getId()));
+
+        // Écriture reçue par une autre instance : rien n'est invalidé dans ce cache
+        String renamed = "Cours renommé " + UUID.randomUUID();
+        jdbcTemplate.update("UPDATE courses SET name = ?, updated_at = ? WHERE id = ?",
+                renamed, LocalDateTime.now().plusSeconds(1), course.getId());
+        ResourceVersions.Version after = resourceVersions.course(course.getId());
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(catalogCache.readAt(after, () -> courseService.getCourseById(course.getId())).getName())
+                .isEqualTo(renamed);
+    }
+}
@@ -0,0 +1,109 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LastLoginRecorderTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Login")
+                .lastName("Test")
+                .email("login-" + UUID.randomUUID() + "@infradev.test")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void latestLoginWinsAndUpdatedAtIsLeftUntouched() {
+        LastLoginRecorder recorder = new LastLoginRecorder(jdbcTemplate);
+        LocalDateTime updatedAt = readUpdatedAt();
+
+        recorder.record(user.getId(), now.minusMinutes(1));
+        recorder.record(user.getId(), now);
+        recorder.record(user.getId(), now.minusMinutes(2));
+
+        assertThat(recorder.flush()).isEqualTo(1);
+        assertThat(readLastLogin()).isEqualTo(now);
+        assertThat(readUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(recorder.flush()).isZero();
+    }
+
+    @Test
+    void loginRecordedDuringFlushIsKeptForNextFlush() {
+        LocalDateTime concurrentLogin = now.plusSeconds(5);
+        LastLoginRecorder[] recorder = new LastLoginRecorder[1];
+        JdbcTemplate recordingDuringWrite = new JdbcTemplate(dataSource) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> setter) {
+                recorder[0].record(user.getId(), concurrentLogin);
+                return super.batchUpdate(sql, batchArgs, batchSize, setter);
+            }
+        };
+        recorder[0] = new LastLoginRecorder(recordingDuringWrite);
+
+        recorder[0].record(user.getId(), now);
+
+        assertThat(recorder[0].flush()).isEqualTo(1);
+        assertThat(readLastLogin()).isEqualTo(now);
+        assertThat(recorder[0].flush()).isEqualTo(1);
+        assertThat(readLastLogin()).isEqualTo(concurrentLogin);
+    }
+
+    @Test
+    void entitySaveDoesNotOverwriteRecordedLogin() {
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        LastLoginRecorder recorder = new LastLoginRecorder(jdbcTemplate);
+        recorder.record(user.getId(), now);
+        recorder.flush();
+
+        loaded.setFirstName("Renamed");
+        userRepository.save(loaded);
+
+        assertThat(readLastLogin()).isEqualTo(now);
+    }
+
+    private LocalDateTime readLastLogin() {
+        return jdbcTemplate.queryForObject(
+                "SELECT last_login FROM users WHERE id = ?", LocalDateTime.class, user.getId());
+    }
+
+    private LocalDateTime readUpdatedAt() {
+        return jdbcTemplate.queryForObject(
+                "SELECT updated_at FROM users WHERE id = ?", LocalDateTime.class, user.getId());
+    }
+}
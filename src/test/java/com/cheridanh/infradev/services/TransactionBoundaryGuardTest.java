@@ -0,0 +1,140 @@
+package com.cheridanh.infradev.services;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.entities.Exercise;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Garde-fou des frontières transactionnelles : la session n'est pas ouverte pendant la requête HTTP
+ * ({@code open-in-view: false}), donc chaque méthode de lecture doit retourner une réponse entièrement chargée.
+ * <p>
+ * Les méthodes {@code get*} des services sont appelées hors transaction, comme depuis un contrôleur, puis leurs
+ * réponses sont sérialisées en JSON comme le ferait la couche HTTP : une relation paresseuse laissée dans
+ * un DTO, faute d'être prévue par le plan de chargement, fait échouer le test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBoundaryGuardTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BlockService blockService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ExerciseService exerciseService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private PromoService promoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    private Block block;
+    private Module module;
+    private Course course;
+    private Exercise exercise;
+    private Promotion promotion;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        block = fixture.block();
+        module = fixture.moduleWithQuiz(block, "Questions du quiz");
+        course = fixture.course(module, "Contenu du cours");
+        exercise = fixture.exercise(module, "Énoncé de l'exercice");
+        promotion = fixture.promotion();
+        user = fixture.user(promotion, List.of(block));
+    }
+
+    @Test
+    void openSessionInViewIsDisabled() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void catalogReadsReturnFullyLoadedResponses() {
+        Long quizId = module.getQuiz().getId();
+        Map<String, String> inModule = Map.of("moduleId", String.valueOf(module.getId()));
+
+        assertSerializable(blockService.getAllBlocks(PageQuery.firstPage()));
+        assertSerializable(blockService.getBlockById(block.getId()));
+
+        assertSerializable(moduleService.getAllModules(PageQuery.of(Map.of("blockId", String.valueOf(block.getId())))));
+        assertSerializable(moduleService.getModuleById(module.getId()));
+        assertSerializable(moduleService.getModulesByBlockId(block.getId()));
+
+        assertSerializable(courseService.getAllCourses(PageQuery.of(inModule)));
+        assertSerializable(courseService.getCourseById(course.getId()));
+        assertSerializable(courseService.getCoursesByModuleId(module.getId()));
+        assertReadable(courseService.getCourseContent(course.getId()));
+
+        assertSerializable(exerciseService.getAllExercises(PageQuery.of(inModule)));
+        assertSerializable(exerciseService.getExerciseById(exercise.getId()));
+        assertSerializable(exerciseService.getExercisesByModuleId(module.getId()));
+        assertReadable(exerciseService.getExerciseContent(exercise.getId()));
+
+        assertSerializable(quizService.getAllQuizzes(PageQuery.firstPage()));
+        assertSerializable(quizService.getQuizById(quizId));
+        assertReadable(quizService.getQuizContent(quizId));
+    }
+
+    @Test
+    void userAndPromotionReadsReturnFullyLoadedResponses() {
+        assertSerializable(promoService.getAllPromos(PageQuery.firstPage()));
+        assertSerializable(promoService.getPromoById(promotion.getId()));
+
+        assertSerializable(userService.getAllUsers(PageQuery.of(Map.of("promotionId", String.valueOf(promotion.getId())))));
+        assertSerializable(userService.getUserById(user.getId()));
+    }
+
+    private void assertSerializable(Object response) {
+        assertThatCode(() -> objectMapper.writeValueAsString(response)).doesNotThrowAnyException();
+    }
+
+    private static void assertReadable(ContentStream content) {
+        try (InputStream body = content.body()) {
+            assertThat(body.readAllBytes()).hasSize((int) content.length());
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
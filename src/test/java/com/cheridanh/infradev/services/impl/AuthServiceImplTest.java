@@ -0,0 +1,137 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.LoginRequest;
+import com.cheridanh.infradev.dtos.request.RefreshTokenRequest;
+import com.cheridanh.infradev.dtos.response.AuthResponse;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.exceptions.InvalidTokenException;
+import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.security.UserDetailsCache;
+import com.cheridanh.infradev.services.AuthService;
+import com.cheridanh.infradev.services.RefreshTokenService;
+import com.cheridanh.infradev.services.UserService;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceImplTest {
+
+    private static final String EMAIL = "student@infradev.test";
+    private static final String PASSWORD = "student-password";
+
+    /**
+     * Connexion avec utilisateur absent du cache : chargement de l'utilisateur
+     * et insertion du refresh token, sans toucher aux autres sessions.
+     * La dernière connexion est écrite en différé par {@code LastLoginRecorder}.
+     * La réservation d'un bloc d'identifiants n'a lieu qu'une fois par bloc et n'est pas comptée.
+     */
+    private static final long LOGIN_STATEMENTS = 2;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        if (!userRepository.existsByEmail(EMAIL)) {
+            userRepository.save(User.builder()
+                    .firstName("Student")
+                    .lastName("Test")
+                    .email(EMAIL)
+                    .password(passwordEncoder.encode(PASSWORD))
+                    .role(Role.USER)
+                    .build());
+        }
+        // le contexte est partagé : d'autres tests ont pu connecter cet utilisateur
+        userDetailsCache.evict(EMAIL);
+    }
+
+    @Test
+    void loginExecutesPinnedNumberOfStatements() {
+        // réserve le bloc d'identifiants des refresh tokens
+        authService.login(new LoginRequest(EMAIL, PASSWORD), "127.0.0.1");
+        userDetailsCache.evict(EMAIL);
+        statementCounter.reset();
+
+        AuthResponse response = authService.login(new LoginRequest(EMAIL, PASSWORD), "127.0.0.1");
+
+        assertThat(response.getAccessToken()).isNotBlank();
+        assertThat(response.getRefreshToken()).isNotBlank();
+        assertThat(response.getRole()).isEqualTo(Role.USER.name());
+        assertThat(statementCounter.count()).isEqualTo(LOGIN_STATEMENTS);
+    }
+
+    @Test
+    void loginKeepsOtherSessionsRefreshable() {
+        AuthResponse firstSession = authService.login(new LoginRequest(EMAIL, PASSWORD), "127.0.0.1");
+        authService.login(new LoginRequest(EMAIL, PASSWORD), "127.0.0.1");
+
+        AuthResponse refreshed = authService.refreshToken(new RefreshTokenRequest(firstSession.getRefreshToken()));
+
+        assertThat(refreshed.getRefreshToken()).isNotBlank().isNotEqualTo(firstSession.getRefreshToken());
+    }
+
+    @Test
+    void disabledUserCannotRefresh() {
+        User user = saveUser();
+        String refreshToken = refreshTokenService.createRefreshToken(user).getToken();
+
+        userService.toggleEnabled(user.getId());
+
+        assertThatThrownBy(() -> authService.refreshToken(new RefreshTokenRequest(refreshToken)))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void lockedUserCannotRefreshWithValidToken() {
+        User user = saveUser();
+        String refreshToken = refreshTokenService.createRefreshToken(user).getToken();
+
+        // verrouillage posé hors des services, sans révocation des refresh tokens
+        user.setAccountNonLocked(false);
+        userRepository.save(user);
+
+        assertThatThrownBy(() -> authService.refreshToken(new RefreshTokenRequest(refreshToken)))
+                .isInstanceOf(LockedException.class);
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .firstName("Refresh")
+                .lastName("Test")
+                .email("refresh-" + UUID.randomUUID() + "@infradev.test")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,110 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.CourseRequest;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.CatalogService;
+import com.cheridanh.infradev.services.CourseService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogServiceImplTest {
+
+    /**
+     * Construction de l'arbre : blocs, modules avec leur quiz, cours, exercices.
+     */
+    private static final long TREE_STATEMENTS = 4;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Block block;
+    private Module module;
+
+    @BeforeEach
+    void setUp() {
+        block = fixture.block();
+        module = fixture.moduleWithQuiz(block);
+        fixture.course(module);
+        catalogCache.invalidateAll();
+    }
+
+    @Test
+    void treeIsBuiltWithFixedStatementsThenServedFromCache() {
+        statementCounter.reset();
+        catalogService.getCatalogTree();
+        long built = statementCounter.count();
+
+        statementCounter.reset();
+        catalogService.getCatalogTree();
+        long cached = statementCounter.count();
+
+        assertThat(built).isEqualTo(TREE_STATEMENTS);
+        assertThat(cached).isZero();
+    }
+
+    @Test
+    void treeNestsModuleContentUnderItsBlock() throws IOException {
+        JsonNode moduleNode = findModule(catalogService.getCatalogTree());
+
+        assertThat(moduleNode.get("courses")).hasSize(1);
+        assertThat(moduleNode.get("exercises")).isEmpty();
+        assertThat(moduleNode.get("quiz").get("name").asText()).startsWith("Quiz ");
+    }
+
+    @Test
+    void catalogWriteRebuildsTree() throws IOException {
+        catalogService.getCatalogTree();
+
+        courseService.createCourse(CourseRequest.builder()
+                .name("Cours " + UUID.randomUUID())
+                .content("Contenu")
+                .moduleId(module.getId())
+                .build());
+
+        assertThat(findModule(catalogService.getCatalogTree()).get("courses")).hasSize(2);
+    }
+
+    private JsonNode findModule(byte[] body) throws IOException {
+        JsonNode blocks = objectMapper.readTree(body).get("data").get("blocks");
+        JsonNode blockNode = StreamSupport.stream(blocks.spliterator(), false)
+                .filter(node -> node.get("id").asLong() == block.getId())
+                .findFirst()
+                .orElseThrow();
+        return StreamSupport.stream(blockNode.get("modules").spliterator(), false)
+                .filter(node -> node.get("id").asLong() == module.getId())
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,209 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.CourseRequest;
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ContentStream;
+import com.cheridanh.infradev.dtos.response.CourseResponse;
+import com.cheridanh.infradev.configs.ContentCacheProperties;
+import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.exceptions.InvalidFieldSelectionException;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.CourseService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.cheridanh.infradev.support.StatementAssertions.assertConstantListStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseServiceImplTest {
+
+    /**
+     * Liste des cours : une requête de projection, module joint.
+     */
+    private static final long LIST_STATEMENTS = 1;
+
+    /**
+     * Lecture d'un contenu absent du cache : référence sur la ligne du cours, puis corps compressé.
+     */
+    private static final long CONTENT_STATEMENTS = 2;
+
+    /**
+     * Lecture d'un contenu en cache : référence seule.
+     */
+    private static final long CACHED_CONTENT_STATEMENTS = 1;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private ContentCacheProperties contentCacheProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Module module;
+
+    @BeforeEach
+    void setUp() {
+        module = fixture.module(fixture.block());
+    }
+
+    @Test
+    void listingCoursesExecutesConstantNumberOfStatements() {
+        assertConstantListStatements(statementCounter, LIST_STATEMENTS, i -> fixture.course(module), createdRows -> {
+            catalogCache.invalidateAll();
+            return courseService.getAllCourses(moduleQuery());
+        });
+    }
+
+    @Test
+    void listingCoursesLoadsNoEntity() {
+        for (int i = 0; i < 3; i++) {
+            fixture.course(module);
+        }
+        catalogCache.invalidateAll();
+
+        assertThat(fixture.managedEntitiesAfter(() -> courseService.getAllCourses(moduleQuery()))).isZero();
+    }
+
+    @Test
+    void responseCarriesLengthAndHashInsteadOfContent() {
+        String content = "Leçon ".repeat(1000);
+
+        CourseResponse created = courseService.createCourse(request(content));
+        CourseResponse fetched = courseService.getCourseById(created.getId());
+
+        assertThat(fetched.getContentLength()).isEqualTo(content.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(fetched.getContentHash()).hasSize(64).isEqualTo(created.getContentHash());
+    }
+
+    @Test
+    void contentIsStreamedThenServedFromCache() throws IOException {
+        String content = "Leçon " + UUID.randomUUID();
+        Long id = courseService.createCourse(request(content)).getId();
+
+        statementCounter.reset();
+        String first = read(courseService.getCourseContent(id));
+        long loaded = statementCounter.count();
+
+        statementCounter.reset();
+        String second = read(courseService.getCourseContent(id));
+        long cached = statementCounter.count();
+
+        assertThat(first).isEqualTo(content);
+        assertThat(second).isEqualTo(content);
+        assertThat(loaded).isEqualTo(CONTENT_STATEMENTS);
+        assertThat(cached).isEqualTo(CACHED_CONTENT_STATEMENTS);
+    }
+
+    @Test
+    void updatingContentReplacesBodyAndHash() throws IOException {
+        CourseRequest request = request("Ancien contenu");
+        CourseResponse created = courseService.createCourse(request);
+        read(courseService.getCourseContent(created.getId()));
+
+        request.setContent("Nouveau contenu");
+        CourseResponse updated = courseService.updateCourse(created.getId(), request);
+
+        assertThat(updated.getContentHash()).isNotEqualTo(created.getContentHash());
+        assertThat(read(courseService.getCourseContent(created.getId()))).isEqualTo("Nouveau contenu");
+    }
+
+    @Test
+    void largeContentIsStreamedWithLengthOfStoredBody() throws IOException {
+        String content = "Leçon ".repeat(contentCacheProperties.maxEntrySize() / 4);
+        Long id = courseService.createCourse(request(content)).getId();
+
+        ContentStream stream = courseService.getCourseContent(id);
+
+        assertThat(stream.length()).isEqualTo(content.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(read(stream)).isEqualTo(content);
+    }
+
+    @Test
+    void contentWrittenByPreviousVersionIsServedFromLegacyColumn() throws IOException {
+        Course created = fixture.course(module);
+        jdbcTemplate.update("UPDATE courses SET content = ? WHERE id = ?", "Créé par l'ancienne version", created.getId());
+
+        assertThat(read(courseService.getCourseContent(created.getId()))).isEqualTo("Créé par l'ancienne version");
+    }
+
+    @Test
+    void contentUpdatedByPreviousVersionOverridesStaleBody() throws IOException {
+        Long id = courseService.createCourse(request("Contenu migré")).getId();
+        read(courseService.getCourseContent(id));
+
+        jdbcTemplate.update("UPDATE courses SET content = ? WHERE id = ?", "Modifié par l'ancienne version", id);
+        assertThat(read(courseService.getCourseContent(id))).isEqualTo("Modifié par l'ancienne version");
+
+        CourseRequest request = request("Modifié par la version courante");
+        courseService.updateCourse(id, request);
+        assertThat(read(courseService.getCourseContent(id))).isEqualTo("Modifié par la version courante");
+    }
+
+    @Test
+    void pageIsNarrowedToRequestedFields() {
+        CourseResponse created = courseService.createCourse(request("Contenu"));
+
+        List<CourseResponse> courses = courseService.getAllCourses(PageQuery.of(
+                Map.of("moduleId", module.getId().toString(), "fields", "name"), CourseResponse.FIELDS)).items();
+
+        assertThat(courses).singleElement().satisfies(course -> {
+            assertThat(course.getId()).isEqualTo(created.getId());
+            assertThat(course.getName()).isEqualTo(created.getName());
+            assertThat(course.getModuleName()).isNull();
+            assertThat(course.getContentHash()).isNull();
+            assertThat(course.getCreatedAt()).isNull();
+        });
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> PageQuery.of(Map.of("fields", "name,password"), CourseResponse.FIELDS))
+                .isInstanceOf(InvalidFieldSelectionException.class);
+    }
+
+    private PageQuery moduleQuery() {
+        return PageQuery.of(Map.of("moduleId", module.getId().toString()));
+    }
+
+    private CourseRequest request(String content) {
+        return CourseRequest.builder()
+                .name("Cours " + UUID.randomUUID())
+                .content(content)
+                .moduleId(module.getId())
+                .build();
+    }
+
+    private static String read(ContentStream content) throws IOException {
+        try (InputStream body = content.body()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.ExerciseResponse;
+import com.cheridanh.infradev.entities.Exercise;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.ExerciseService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static com.cheridanh.infradev.support.StatementAssertions.assertConstantListStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExerciseServiceImplTest {
+
+    /**
+     * Liste des exercices : une requête de projection, module joint.
+     */
+    private static final long LIST_STATEMENTS = 1;
+
+    @Autowired
+    private ExerciseService exerciseService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Module module;
+
+    @BeforeEach
+    void setUp() {
+        module = fixture.module(fixture.block());
+    }
+
+    @Test
+    void listingExercisesExecutesConstantNumberOfStatements() {
+        assertConstantListStatements(statementCounter, LIST_STATEMENTS, i -> fixture.exercise(module), createdRows -> {
+            catalogCache.invalidateAll();
+            return exerciseService.getAllExercises(moduleQuery());
+        });
+    }
+
+    @Test
+    void listingExercisesReturnsModuleName() {
+        Exercise exercise = fixture.exercise(module);
+
+        assertThat(exerciseService.getAllExercises(moduleQuery()).items())
+                .singleElement()
+                .satisfies(response -> {
+                    assertThat(response.getId()).isEqualTo(exercise.getId());
+                    assertThat(response.getModuleName()).isEqualTo(module.getName());
+                });
+    }
+
+    private PageQuery moduleQuery() {
+        return PageQuery.of(Map.of("moduleId", module.getId().toString()));
+    }
+}
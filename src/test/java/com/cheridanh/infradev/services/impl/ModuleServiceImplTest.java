@@ -0,0 +1,155 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.dtos.response.ModuleResponse;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.ModuleService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.cheridanh.infradev.support.StatementAssertions.assertConstantListStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ModuleServiceImplTest {
+
+    /**
+     * Liste des modules : la page (avec le bloc de chaque module) puis les compteurs de cours
+     * et d'exercices de toute la page en une requête.
+     */
+    private static final long LIST_STATEMENTS = 2;
+
+    /**
+     * Détail d'un module : le module avec son bloc, son quiz et ses cours, puis ses exercices.
+     */
+    private static final long DETAIL_STATEMENTS = 2;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Block block;
+
+    @BeforeEach
+    void setUp() {
+        block = fixture.block();
+    }
+
+    @Test
+    void listingModulesExecutesConstantNumberOfStatements() {
+        assertConstantListStatements(statementCounter, LIST_STATEMENTS, this::createModule, createdRows -> {
+            catalogCache.invalidateAll();
+            return moduleService.getAllModules(PageQuery.of(Map.of("blockId", String.valueOf(block.getId()))));
+        });
+    }
+
+    @Test
+    void listingModulesReturnsContentCounts() {
+        Module module = createModule(3);
+
+        CursorPage<ModuleResponse> page = moduleService.getAllModules(
+                PageQuery.of(Map.of("blockId", String.valueOf(block.getId()))));
+
+        assertThat(page.items())
+                .filteredOn(response -> response.getId().equals(module.getId()))
+                .singleElement()
+                .satisfies(response -> {
+                    assertThat(response.getCourseCount()).isEqualTo(3);
+                    assertThat(response.getExerciseCount()).isEqualTo(3);
+                    assertThat(response.getBlockName()).isEqualTo(block.getName());
+                    assertThat(response.getHasQuiz()).isTrue();
+                });
+    }
+
+    @Test
+    void narrowedPageContinuesFromCursorWhenSortFieldIsNotRequested() {
+        List<Long> created = List.of(createModule(0).getId(), createModule(0).getId(), createModule(0).getId());
+
+        CursorPage<ModuleResponse> first = moduleService.getAllModules(narrowedQuery(null));
+        assertThat(first.items()).hasSize(2).allSatisfy(module -> {
+            assertThat(module.getName()).isNotNull();
+            assertThat(module.getCreatedAt()).isNull();
+            assertThat(module.getCourseCount()).isNull();
+        });
+        assertThat(first.metadata().getNextCursor()).isNotNull();
+
+        CursorPage<ModuleResponse> second = moduleService.getAllModules(narrowedQuery(first.metadata().getNextCursor()));
+        assertThat(second.items()).hasSize(1);
+        assertThat(second.metadata().getNextCursor()).isNull();
+
+        assertThat(Stream.concat(first.items().stream(), second.items().stream()).map(ModuleResponse::getId))
+                .containsExactlyInAnyOrderElementsOf(created);
+    }
+
+    @Test
+    void moduleDetailExecutesConstantNumberOfStatements() {
+        Module fewContents = createModule(1);
+        Module moreContents = createModule(6);
+
+        assertThat(countDetailStatements(fewContents)).isEqualTo(DETAIL_STATEMENTS);
+        assertThat(countDetailStatements(moreContents)).isEqualTo(DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void moduleDetailReturnsWholeGraph() {
+        Module module = createModule(3);
+
+        ModuleResponse response = moduleService.getModuleById(module.getId());
+
+        assertThat(response.getBlockName()).isEqualTo(block.getName());
+        assertThat(response.getCourses()).hasSize(3);
+        assertThat(response.getExercises()).hasSize(3);
+        assertThat(response.getQuiz()).isNotNull();
+        assertThat(response.getQuiz().getModuleId()).isEqualTo(module.getId());
+    }
+
+    private long countDetailStatements(Module module) {
+        catalogCache.invalidateAll();
+        statementCounter.reset();
+        moduleService.getModuleById(module.getId());
+        return statementCounter.count();
+    }
+
+    private PageQuery narrowedQuery(String cursor) {
+        Map<String, String> params = new HashMap<>();
+        params.put("blockId", String.valueOf(block.getId()));
+        params.put("fields", "name");
+        params.put("sort", "createdAt");
+        params.put("size", "2");
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
+        return PageQuery.of(params, ModuleResponse.FIELDS);
+    }
+
+    private Module createModule(int contentCount) {
+        Module module = fixture.moduleWithQuiz(block);
+        for (int i = 0; i < contentCount; i++) {
+            fixture.course(module);
+            fixture.exercise(module);
+        }
+        return module;
+    }
+}
@@ -0,0 +1,125 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.CursorPage;
+import com.cheridanh.infradev.dtos.response.PromoResponse;
+import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.exceptions.InvalidFieldSelectionException;
+import com.cheridanh.infradev.services.PromoService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.cheridanh.infradev.support.StatementAssertions.assertConstantListStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PromoServiceImplTest {
+
+    /**
+     * Liste des promotions : la page puis le nombre d'utilisateurs de toute la page en une requête groupée.
+     */
+    private static final long LIST_STATEMENTS = 2;
+
+    /**
+     * Détail d'une promotion : la promotion et ses utilisateurs en une jointure.
+     */
+    private static final long DETAIL_STATEMENTS = 1;
+
+    @Autowired
+    private PromoService promoService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    /**
+     * Aucun filtre ne restreint les promotions à celles du test : la page est limitée aux dernières créées,
+     * par identifiant décroissant, pour que les deux mesures lisent des pages de tailles différentes.
+     */
+    @Test
+    void listingPromotionsExecutesConstantNumberOfStatements() {
+        assertConstantListStatements(statementCounter, LIST_STATEMENTS, this::createPromotion,
+                createdRows -> promoService.getAllPromos(
+                        PageQuery.of(Map.of("sort", "-id", "size", String.valueOf(createdRows)))));
+    }
+
+    @Test
+    void listingPromotionsReturnsUserCounts() {
+        Promotion promotion = createPromotion(4);
+
+        // Tri par identifiant décroissant : la promotion créée ici est en tête, quel que soit le contenu de la base.
+        CursorPage<PromoResponse> page = promoService.getAllPromos(PageQuery.of(Map.of("sort", "-id", "size", "1")));
+
+        assertThat(page.items())
+                .filteredOn(response -> response.getId().equals(promotion.getId()))
+                .singleElement()
+                .satisfies(response -> assertThat(response.getUserCount()).isEqualTo(4));
+    }
+
+    @Test
+    void narrowedPageContinuesFromCursorWhenSortFieldIsNotRequested() {
+        Promotion older = createPromotion(0);
+        Promotion newer = createPromotion(0);
+
+        // Tri par date de création décroissante : les deux promotions créées ici sont en tête
+        CursorPage<PromoResponse> first = promoService.getAllPromos(narrowedQuery(null));
+        assertThat(first.items()).singleElement().satisfies(promotion -> {
+            assertThat(promotion.getId()).isEqualTo(newer.getId());
+            assertThat(promotion.getName()).isEqualTo(newer.getName());
+            assertThat(promotion.getCreatedAt()).isNull();
+            assertThat(promotion.getUserCount()).isNull();
+        });
+
+        CursorPage<PromoResponse> second = promoService.getAllPromos(narrowedQuery(first.metadata().getNextCursor()));
+        assertThat(second.items()).singleElement()
+                .satisfies(promotion -> assertThat(promotion.getId()).isEqualTo(older.getId()));
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> PageQuery.of(Map.of("fields", "name,version"), PromoResponse.FIELDS))
+                .isInstanceOf(InvalidFieldSelectionException.class);
+    }
+
+    @Test
+    void promotionDetailLoadsUsersInOneStatement() {
+        Promotion promotion = createPromotion(5);
+
+        statementCounter.reset();
+        PromoResponse response = promoService.getPromoById(promotion.getId());
+
+        assertThat(statementCounter.count()).isEqualTo(DETAIL_STATEMENTS);
+        assertThat(response.getUsers()).hasSize(5);
+        assertThat(response.getUserCount()).isEqualTo(5);
+    }
+
+    private static PageQuery narrowedQuery(String cursor) {
+        Map<String, String> params = new HashMap<>();
+        params.put("fields", "name");
+        params.put("sort", "-createdAt");
+        params.put("size", "1");
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
+        return PageQuery.of(params, PromoResponse.FIELDS);
+    }
+
+    private Promotion createPromotion(int userCount) {
+        Promotion promotion = fixture.promotion();
+        for (int i = 0; i < userCount; i++) {
+            fixture.user(promotion);
+        }
+        return promotion;
+    }
+}
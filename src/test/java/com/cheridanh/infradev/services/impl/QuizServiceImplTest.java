@@ -0,0 +1,59 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.services.CatalogCache;
+import com.cheridanh.infradev.services.QuizService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static com.cheridanh.infradev.support.StatementAssertions.assertConstantListStatements;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuizServiceImplTest {
+
+    /**
+     * Liste des quiz : une requête de projection, module joint.
+     */
+    private static final long LIST_STATEMENTS = 1;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    /**
+     * Aucun filtre ne restreint les quiz à ceux du test : la page est limitée aux derniers créés,
+     * par identifiant décroissant, pour que les deux mesures lisent des pages de tailles différentes.
+     */
+    @Test
+    void listingQuizzesExecutesConstantNumberOfStatements() {
+        // Au-delà du premier, quiz rattachés à un module : la jointure ne doit pas ajouter de requête par ligne
+        assertConstantListStatements(statementCounter, LIST_STATEMENTS,
+                i -> {
+                    if (i == 0) {
+                        fixture.quiz();
+                    } else {
+                        fixture.moduleWithQuiz(fixture.block());
+                    }
+                },
+                createdRows -> {
+                    catalogCache.invalidateAll();
+                    return quizService.getAllQuizzes(
+                            PageQuery.of(Map.of("sort", "-id", "size", String.valueOf(createdRows))));
+                });
+    }
+}
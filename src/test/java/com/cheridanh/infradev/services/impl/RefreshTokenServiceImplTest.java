@@ -0,0 +1,72 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.entities.RefreshToken;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.exceptions.InvalidTokenException;
+import com.cheridanh.infradev.repositories.RefreshTokenRepository;
+import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.services.RefreshTokenService;
+import com.cheridanh.infradev.utils.RefreshTokenGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceImplTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private RefreshToken issued;
+    private RefreshToken rotated;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .firstName("Refresh")
+                .lastName("Test")
+                .email("refresh-" + UUID.randomUUID() + "@infradev.test")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+        issued = refreshTokenService.createRefreshToken(user);
+        rotated = refreshTokenService.rotateRefreshToken(
+                refreshTokenService.validateRefreshToken(issued.getToken()));
+    }
+
+    @Test
+    void forgedOlderGenerationIsRejectedWithoutRevokingFamily() {
+        String forged = RefreshTokenGenerator.encode(issued.getId(), 0, RefreshTokenGenerator.newSecret());
+
+        assertThatThrownBy(() -> refreshTokenService.validateRefreshToken(forged))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThat(refreshTokenRepository.findById(issued.getId())).get()
+                .satisfies(family -> assertThat(family.isRevoked()).isFalse());
+        assertThat(refreshTokenService.validateRefreshToken(rotated.getToken()).getGeneration()).isEqualTo(1);
+    }
+
+    @Test
+    void reusedPreviousGenerationRevokesFamily() {
+        assertThatThrownBy(() -> refreshTokenService.validateRefreshToken(issued.getToken()))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThat(refreshTokenRepository.findById(issued.getId())).get()
+                .satisfies(family -> assertThat(family.isRevoked()).isTrue());
+    }
+}
@@ -0,0 +1,265 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.configs.UserImportProperties;
+import com.cheridanh.infradev.dtos.request.UserImportFormat;
+import com.cheridanh.infradev.dtos.response.UserImportReport;
+import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.exceptions.PayloadTooLargeException;
+import com.cheridanh.infradev.repositories.PromotionRepository;
+import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.security.BoundedPasswordEncoder;
+import com.cheridanh.infradev.services.UserImportService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportServiceImplTest {
+
+    private static final String PASSWORD = "ImportPass1!";
+
+    /**
+     * Supérieure à {@code users.import.max-file-size} dans le profil de test.
+     */
+    private static final int OVERSIZED_FILE_BYTES = 128 * 1024;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserImportProperties properties;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void csvRowsAreImportedWhateverTheColumnOrder() {
+        String csv = """
+                Email,lastName,FIRSTNAME,password
+                %s,Dupont,Alice,%s
+                "%s","Martin, Jr",Bob,%s
+                """.formatted(email("alice"), PASSWORD, email("bob"), PASSWORD);
+
+        UserImportReport report = userImportService.importUsers(stream(csv), UserImportFormat.CSV);
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getProcessed()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isZero();
+        assertThat(userRepository.findByEmail(email("bob"))).get()
+                .satisfies(user -> {
+                    assertThat(user.getFirstName()).isEqualTo("Bob");
+                    assertThat(user.getLastName()).isEqualTo("Martin, Jr");
+                    assertThat(user.getRole()).isEqualTo(Role.USER);
+                });
+    }
+
+    @Test
+    void csvHeaderWithoutRequiredColumnFailsImport() {
+        String csv = """
+                firstName,lastName,email
+                Alice,Dupont,%s
+                """.formatted(email("alice"));
+
+        UserImportReport report = userImportService.importUsers(stream(csv), UserImportFormat.CSV);
+
+        assertThat(report.getStatus()).isEqualTo("FAILED");
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).contains("password"));
+        assertThat(userRepository.existsByEmail(email("alice"))).isFalse();
+    }
+
+    @Test
+    void duplicateEmailsInFileAndInDatabaseAreRejected() {
+        userRepository.save(User.builder()
+                .firstName("Existing")
+                .lastName("User")
+                .email(email("existing"))
+                .password("hash")
+                .role(Role.USER)
+                .build());
+        String ndjson = String.join("\n",
+                row("Alice", email("alice")),
+                row("Alice", email("alice").toUpperCase(Locale.ROOT)),
+                row("Existing", email("existing")));
+
+        UserImportReport report = userImportService.importUsers(stream(ndjson), UserImportFormat.NDJSON);
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getProcessed()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors())
+                .extracting(UserImportReport.RowError::getLine, UserImportReport.RowError::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(2L, "Email présent plusieurs fois dans le fichier"),
+                        tuple(3L, "Email déjà utilisé"));
+    }
+
+    @Test
+    void malformedAndInvalidLinesAreReportedAndSkipped() {
+        String ndjson = String.join("\n",
+                "{\"firstName\": \"Alice\",",
+                row("Bob", "not-an-email"),
+                "",
+                row("Carol", email("carol")));
+
+        UserImportReport report = userImportService.importUsers(stream(ndjson), UserImportFormat.NDJSON);
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getProcessed()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors())
+                .extracting(UserImportReport.RowError::getLine)
+                .containsExactly(1L, 2L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Ligne illisible");
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("L'email doit être valide");
+        assertThat(userRepository.existsByEmail(email("carol"))).isTrue();
+    }
+
+    @Test
+    void backgroundImportIsReportedThroughItsJob() throws Exception {
+        String ndjson = String.join("\n", row("Alice", email("alice")), row("Bob", email("bob")));
+
+        UserImportReport started = userImportService.startImport(stream(ndjson), UserImportFormat.NDJSON);
+        UserImportReport finished = awaitCompletion(started.getJobId());
+
+        assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+        assertThat(finished.getFormat()).isEqualTo(UserImportFormat.NDJSON.name());
+        assertThat(finished.getImported()).isEqualTo(2);
+        assertThat(finished.getFinishedAt()).isNotNull();
+        assertThat(userImportService.getImports())
+                .extracting(UserImportReport::getJobId)
+                .contains(started.getJobId());
+        assertThat(userRepository.existsByEmail(email("bob"))).isTrue();
+    }
+
+    @Test
+    void oversizedBackgroundImportIsRejectedWithoutJob() {
+        byte[] oversized = new byte[OVERSIZED_FILE_BYTES];
+        int jobsBefore = userImportService.getImports().size();
+
+        assertThatThrownBy(() -> userImportService.startImport(
+                new ByteArrayInputStream(oversized), UserImportFormat.NDJSON))
+                .isInstanceOf(PayloadTooLargeException.class);
+
+        assertThat(userImportService.getImports()).hasSize(jobsBefore);
+    }
+
+    @Test
+    void overlappingActivePromotionsResolveToTheLatestStarted() {
+        fixture.activePromotion(LocalDate.now().minusDays(10));
+        Promotion latest = fixture.activePromotion(LocalDate.now());
+
+        UserImportReport report = userImportService.importUsers(
+                stream(row("Alice", email("alice"))), UserImportFormat.NDJSON);
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(userRepository.findByEmail(email("alice"))).get()
+                .satisfies(user -> assertThat(user.getPromotion().getId()).isEqualTo(latest.getId()));
+    }
+
+    @Test
+    void failingPromotionLookupFailsImportInsteadOfLeavingItRunning() throws Exception {
+        PromotionRepository failingPromotions = mock(PromotionRepository.class);
+        when(failingPromotions.findActiveByDate(any()))
+                .thenThrow(new DataAccessResourceFailureException("Base indisponible"));
+        UserImportServiceImpl service = new UserImportServiceImpl(userRepository, failingPromotions,
+                passwordEncoder, transactionTemplate, objectMapper, validator, properties);
+        service.initExecutor();
+        try {
+            String ndjson = row("Alice", email("alice"));
+
+            UserImportReport synchronous = service.importUsers(stream(ndjson), UserImportFormat.NDJSON);
+            UserImportReport background = awaitCompletion(service,
+                    service.startImport(stream(ndjson), UserImportFormat.NDJSON).getJobId());
+
+            assertThat(synchronous.getStatus()).isEqualTo("FAILED");
+            assertThat(background.getStatus()).isEqualTo("FAILED");
+            assertThat(service.getImports()).extracting(UserImportReport::getStatus).containsOnly("FAILED");
+            assertThat(userRepository.existsByEmail(email("alice"))).isFalse();
+        } finally {
+            service.shutdownExecutor();
+        }
+    }
+
+    private UserImportReport awaitCompletion(String jobId) throws InterruptedException {
+        return awaitCompletion(userImportService, jobId);
+    }
+
+    private static UserImportReport awaitCompletion(UserImportService service, String jobId)
+            throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        UserImportReport report = service.getImport(jobId);
+        while (report.getStatus().equals("RUNNING") && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+            report = service.getImport(jobId);
+        }
+        return report;
+    }
+
+    private String email(String name) {
+        return name + "-" + suffix + "@infradev.test";
+    }
+
+    private static String row(String firstName, String email) {
+        return """
+                {"firstName": "%s", "lastName": "Import", "email": "%s", "password": "%s"}\
+                """.formatted(firstName, email, PASSWORD);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
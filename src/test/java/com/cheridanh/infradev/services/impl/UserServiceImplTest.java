@@ -0,0 +1,95 @@
+package com.cheridanh.infradev.services.impl;
+
+import com.cheridanh.infradev.dtos.request.PageQuery;
+import com.cheridanh.infradev.dtos.response.UserResponse;
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.exceptions.InvalidFieldSelectionException;
+import com.cheridanh.infradev.services.UserService;
+import com.cheridanh.infradev.support.CatalogFixture;
+import com.cheridanh.infradev.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.cheridanh.infradev.support.StatementAssertions.assertConstantListStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceImplTest {
+
+    /**
+     * Liste des utilisateurs : une requête de projection, promotion jointe.
+     */
+    private static final long LIST_STATEMENTS = 1;
+
+    /**
+     * Détail d'un utilisateur : l'utilisateur avec sa promotion et ses blocs en une jointure.
+     */
+    private static final long DETAIL_STATEMENTS = 1;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void listingUsersExecutesConstantNumberOfStatements() {
+        Promotion promotion = fixture.promotion();
+
+        assertConstantListStatements(statementCounter, LIST_STATEMENTS, i -> fixture.user(promotion),
+                createdRows -> userService.getAllUsers(promotionQuery(promotion)));
+    }
+
+    @Test
+    void listingUsersLoadsNoEntity() {
+        Promotion promotion = fixture.promotion();
+        for (int i = 0; i < 3; i++) {
+            fixture.user(promotion);
+        }
+
+        assertThat(fixture.managedEntitiesAfter(() -> userService.getAllUsers(promotionQuery(promotion)))).isZero();
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> PageQuery.of(Map.of("fields", "email,password"), UserResponse.FIELDS))
+                .isInstanceOf(InvalidFieldSelectionException.class);
+    }
+
+    @Test
+    void userDetailLoadsPromotionAndBlocksInOneStatement() {
+        User user = createUser(4);
+
+        statementCounter.reset();
+        UserResponse response = userService.getUserById(user.getId());
+
+        assertThat(statementCounter.count()).isEqualTo(DETAIL_STATEMENTS);
+        assertThat(response.getBlocks()).hasSize(4);
+        assertThat(response.getPromotionName()).isEqualTo(user.getPromotion().getName());
+    }
+
+    private static PageQuery promotionQuery(Promotion promotion) {
+        return PageQuery.of(Map.of("promotionId", promotion.getId().toString()));
+    }
+
+    private User createUser(int blockCount) {
+        List<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < blockCount; i++) {
+            blocks.add(fixture.block());
+        }
+        return fixture.user(fixture.promotion(), blocks);
+    }
+}
@@ -0,0 +1,169 @@
+package com.cheridanh.infradev.support;
+
+import com.cheridanh.infradev.entities.Block;
+import com.cheridanh.infradev.entities.Course;
+import com.cheridanh.infradev.entities.Exercise;
+import com.cheridanh.infradev.entities.Module;
+import com.cheridanh.infradev.entities.Promotion;
+import com.cheridanh.infradev.entities.Quiz;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.repositories.BlockRepository;
+import com.cheridanh.infradev.repositories.CourseRepository;
+import com.cheridanh.infradev.repositories.ExerciseRepository;
+import com.cheridanh.infradev.repositories.ModuleRepository;
+import com.cheridanh.infradev.repositories.PromotionRepository;
+import com.cheridanh.infradev.repositories.QuizRepository;
+import com.cheridanh.infradev.repositories.UserRepository;
+import com.cheridanh.infradev.services.ContentStore;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Jeu de données du catalogue, des promotions et des utilisateurs pour les tests d'intégration. Les tests
+ * partagent la même base : chaque nom porte un suffixe aléatoire pour respecter les index uniques sans
+ * nettoyage entre les tests.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogFixture {
+
+    private final BlockRepository blockRepository;
+    private final ModuleRepository moduleRepository;
+    private final CourseRepository courseRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final QuizRepository quizRepository;
+    private final PromotionRepository promotionRepository;
+    private final UserRepository userRepository;
+    private final ContentStore contentStore;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Exécute une lecture dans une transaction, que la lecture rejoint, et compte les entités restées
+     * dans son contexte de persistance.
+     *
+     * @return le nombre d'entités gérées à la fin de la lecture
+     */
+    public int managedEntitiesAfter(Runnable read) {
+        return transactionTemplate.execute(status -> {
+            read.run();
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+    }
+
+    public Block block() {
+        return blockRepository.save(Block.builder().name("Bloc " + suffix()).build());
+    }
+
+    public Module module(Block block) {
+        return moduleRepository.save(Module.builder().name("Module " + suffix()).block(block).build());
+    }
+
+    /**
+     * Crée un module avec son quiz, enregistré en cascade.
+     */
+    public Module moduleWithQuiz(Block block) {
+        return moduleWithQuiz(block, null);
+    }
+
+    /**
+     * Crée un module avec son quiz, enregistré en cascade, dont le contenu est compressé dans un corps séparé.
+     */
+    public Module moduleWithQuiz(Block block, String quizContent) {
+        String suffix = suffix();
+        Quiz quiz = Quiz.builder().name("Quiz " + suffix).build();
+        if (quizContent != null) {
+            contentStore.write(quiz, quizContent);
+        }
+        return moduleRepository.save(Module.builder()
+                .name("Module " + suffix)
+                .block(block)
+                .quiz(quiz)
+                .build());
+    }
+
+    public Course course(Module module) {
+        return course(module, false);
+    }
+
+    public Course course(Module module, boolean completed) {
+        return courseRepository.save(Course.builder()
+                .name("Cours " + suffix())
+                .module(module)
+                .completed(completed)
+                .build());
+    }
+
+    public Course course(Module module, String content) {
+        Course course = Course.builder().name("Cours " + suffix()).module(module).build();
+        contentStore.write(course, content);
+        return courseRepository.save(course);
+    }
+
+    public Exercise exercise(Module module) {
+        return exerciseRepository.save(Exercise.builder().name("Exercice " + suffix()).module(module).build());
+    }
+
+    public Exercise exercise(Module module, String content) {
+        Exercise exercise = Exercise.builder().name("Exercice " + suffix()).module(module).build();
+        contentStore.write(exercise, content);
+        return exerciseRepository.save(exercise);
+    }
+
+    public Quiz quiz() {
+        return quizRepository.save(Quiz.builder().name("Quiz " + suffix()).build());
+    }
+
+    /**
+     * Crée une promotion inactive : elle n'entre pas en concurrence avec la promotion active
+     * à laquelle sont rattachés les nouveaux inscrits.
+     */
+    public Promotion promotion() {
+        return promotion(LocalDate.now().minusMonths(1), false);
+    }
+
+    /**
+     * Crée une promotion active depuis la date donnée, pour un mois.
+     */
+    public Promotion activePromotion(LocalDate startDate) {
+        return promotion(startDate, true);
+    }
+
+    private Promotion promotion(LocalDate startDate, boolean active) {
+        return promotionRepository.save(Promotion.builder()
+                .name("Promo " + suffix())
+                .startDate(startDate)
+                .endDate(startDate.plusMonths(1))
+                .active(active)
+                .build());
+    }
+
+    public User user(Promotion promotion) {
+        return user(promotion, List.of());
+    }
+
+    public User user(Promotion promotion, List<Block> blocks) {
+        return userRepository.save(User.builder()
+                .firstName("Student")
+                .lastName("Test")
+                .email("student-" + suffix() + "@infradev.test")
+                .password("unused")
+                .role(Role.USER)
+                .promotion(promotion)
+                .blocks(new ArrayList<>(blocks))
+                .build());
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.cheridanh.infradev.support;
+
+import com.cheridanh.infradev.dtos.response.CursorPage;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions sur le nombre de requêtes SQL, mesuré par {@link StatementCounter}.
+ */
+public final class StatementAssertions {
+
+    private static final int FEW_ROWS = 1;
+    private static final int MORE_ROWS = 6;
+
+    private StatementAssertions() {
+    }
+
+    /**
+     * Vérifie qu'une page de liste exécute le même nombre de requêtes pour une ligne et pour plusieurs.
+     * <p>
+     * La page est lue après la création d'une ligne, puis après celle de cinq autres. Chaque lecture doit
+     * renvoyer exactement les lignes créées : la page est restreinte à celles du test (filtre déclaré,
+     * ou tri par identifiant décroissant et taille égale au nombre de lignes créées), sans quoi les deux
+     * mesures pourraient lire les mêmes lignes de la base partagée.
+     *
+     * @param statementCounter le compteur de requêtes
+     * @param expected le nombre de requêtes attendu pour chaque lecture
+     * @param createRow crée la ligne de rang donné (à partir de 0)
+     * @param listPage lit la page, connaissant le nombre de lignes créées jusque-là
+     */
+    public static void assertConstantListStatements(StatementCounter statementCounter, long expected,
+                                                    IntConsumer createRow, IntFunction<CursorPage<?>> listPage) {
+        createRow.accept(0);
+        long fewRows = countListStatements(statementCounter, listPage, FEW_ROWS);
+
+        for (int i = FEW_ROWS; i < MORE_ROWS; i++) {
+            createRow.accept(i);
+        }
+        long moreRows = countListStatements(statementCounter, listPage, MORE_ROWS);
+
+        assertThat(fewRows).isEqualTo(expected);
+        assertThat(moreRows).isEqualTo(expected);
+    }
+
+    private static long countListStatements(StatementCounter statementCounter, IntFunction<CursorPage<?>> listPage,
+                                            int createdRows) {
+        statementCounter.reset();
+        CursorPage<?> page = listPage.apply(createdRows);
+        long statements = statementCounter.count();
+        assertThat(page.items()).hasSize(createdRows);
+        return statements;
+    }
+}
@@ -0,0 +1,35 @@
+package com.cheridanh.infradev.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate, à partir de ses statistiques
+ * ({@code hibernate.generate_statistics} activé dans le profil de test).
+ * Indépendant des jeux de données : un test qui ne compte que des requêtes n'a pas besoin de {@link CatalogFixture}.
+ */
+@Component
+public final class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Remet les compteurs à zéro.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * @return le nombre de requêtes préparées depuis la dernière remise à zéro
+     */
+    public long count() {
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,94 @@
+package com.cheridanh.infradev.utils;
+
+import com.cheridanh.infradev.configs.JwtProperties;
+import com.cheridanh.infradev.entities.Role;
+import com.cheridanh.infradev.entities.User;
+import com.cheridanh.infradev.security.UserDetailsImpl;
+import com.cheridanh.infradev.security.VerifiedJwt;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le nombre de tokens vérifiés par seconde et par cœur (un seul thread).
+ * Compare l'ancien chemin du filtre JWT (trois parsings avec un parser reconstruit à chaque appel)
+ * au parsing unique avec le parser partagé de {@link JwtUtil}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+
+    private JwtUtil jwtUtil;
+    private SecretKey signingKey;
+    private UserDetailsImpl userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new JwtProperties(SECRET, 3_600_000, 604_800_000));
+        jwtUtil.initSigningKey();
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        userDetails = UserDetailsImpl.build(User.builder()
+                .id(1L)
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("bench@infradev.fr")
+                .password("unused")
+                .role(Role.USER)
+                .build());
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    /**
+     * Ancien chemin : extractUsername dans le filtre, puis extractUsername et extractExpiration
+     * dans validateToken, chacun reconstruisant un parser.
+     */
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = parseWithNewParser().getSubject();
+        boolean sameUser = parseWithNewParser().getSubject().equals(userDetails.getUsername());
+        boolean notExpired = !parseWithNewParser().getExpiration().before(new Date());
+        return username != null && sameUser && notExpired;
+    }
+
+    /**
+     * Nouveau chemin : un seul parsing avec le parser partagé, puis comparaison du sujet.
+     */
+    @Benchmark
+    public boolean singlePassVerify() {
+        VerifiedJwt verifiedJwt = jwtUtil.verify(token);
+        return jwtUtil.isTokenValidFor(verifiedJwt, userDetails);
+    }
+
+    private Claims parseWithNewParser() {
+        return Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.cheridanh.infradev.utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le débit de création et de validation des refresh tokens sur plusieurs threads.
+ * Compare l'ancien token ({@link UUID#randomUUID()}, générateur partagé) au token de famille généré
+ * par {@link RefreshTokenGenerator} (générateur par thread) et à l'empreinte SHA-256 de son secret.
+ * <p>
+ * Les benchmarks {@code *Secret} isolent le tirage des 32 octets aléatoires : un {@link SecureRandom} par défaut
+ * partagé, un par thread (toujours {@code NativePRNG} sous Linux, derrière un verrou global) et un DRBG
+ * par thread, tel qu'utilisé par {@link RefreshTokenGenerator}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RefreshTokenGeneratorBenchmark {
+
+    private static final int SECRET_BYTES = 32;
+
+    private final SecureRandom sharedRandom = new SecureRandom();
+
+    private String presentedToken;
+
+    /**
+     * Générateurs propres à chaque thread de mesure.
+     */
+    @State(Scope.Thread)
+    public static class ThreadRandoms {
+
+        SecureRandom nativeRandom;
+        SecureRandom drbg;
+
+        @Setup
+        public void setUp() throws NoSuchAlgorithmException {
+            nativeRandom = new SecureRandom();
+            drbg = SecureRandom.getInstance("DRBG");
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        presentedToken = RefreshTokenGenerator.encode(42L, 3, RefreshTokenGenerator.newSecret());
+    }
+
+    /**
+     * Ancienne création : UUID aléatoire stocké en clair.
+     */
+    @Benchmark
+    public String legacyCreate() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Nouvelle création : secret de 256 bits, empreinte à stocker et token encodé.
+     */
+    @Benchmark
+    public void create(Blackhole blackhole) {
+        byte[] secret = RefreshTokenGenerator.newSecret();
+        blackhole.consume(RefreshTokenGenerator.hash(secret));
+        blackhole.consume(RefreshTokenGenerator.encode(42L, 0, secret));
+    }
+
+    /**
+     * Validation : décodage de la famille et de la génération, puis empreinte du secret présenté.
+     */
+    @Benchmark
+    public byte[] validate() {
+        return RefreshTokenGenerator.decode(presentedToken)
+                .map(token -> RefreshTokenGenerator.hash(token.secret()))
+                .orElseThrow();
+    }
+
+    /**
+     * Tirage sur un générateur par défaut partagé entre les threads.
+     */
+    @Benchmark
+    public byte[] sharedNativeSecret() {
+        byte[] secret = new byte[SECRET_BYTES];
+        sharedRandom.nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * Tirage sur un générateur par défaut par thread : {@code NativePRNG} reste sérialisé par son verrou global.
+     */
+    @Benchmark
+    public byte[] threadLocalNativeSecret(ThreadRandoms randoms) {
+        byte[] secret = new byte[SECRET_BYTES];
+        randoms.nativeRandom.nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * Tirage sur un DRBG par thread, sans état partagé.
+     */
+    @Benchmark
+    public byte[] threadLocalDrbgSecret(ThreadRandoms randoms) {
+        byte[] secret = new byte[SECRET_BYTES];
+        randoms.drbg.nextBytes(secret);
+        return secret;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RefreshTokenGeneratorBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}